@@ -36,15 +36,27 @@ public class DataCarrier<T> {
         this("DEFAULT", channelSize, bufferSize);
     }
 
+    public DataCarrier(int channelSize, int bufferSize, BufferType bufferType) {
+        this("DEFAULT", "DEFAULT", channelSize, bufferSize, bufferType);
+    }
+
     public DataCarrier(String name, int channelSize, int bufferSize) {
         this(name, name, channelSize, bufferSize);
     }
 
     public DataCarrier(String name, String envPrefix, int channelSize, int bufferSize) {
+        this(name, envPrefix, channelSize, bufferSize, BufferType.ARRAY);
+    }
+
+    /**
+     * @param bufferType {@link BufferType#RING} makes the idle consumers park until the data comes, rather than
+     * polling the buffer every consume cycle.
+     */
+    public DataCarrier(String name, String envPrefix, int channelSize, int bufferSize, BufferType bufferType) {
         this.name = name;
         this.bufferSize = EnvUtil.getInt(envPrefix + "_BUFFER_SIZE", bufferSize);
         this.channelSize = EnvUtil.getInt(envPrefix + "_CHANNEL_SIZE", channelSize);
-        channels = new Channels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING);
+        channels = new Channels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING, bufferType);
     }
 
     /**
@@ -90,6 +102,20 @@ public class DataCarrier<T> {
         return this.channels.save(data);
     }
 
+    /**
+     * @return the number of data waiting to be consumed in all channels.
+     */
+    public long getDataSize() {
+        return this.channels.getDataSize();
+    }
+
+    /**
+     * @return the number of data all channels could hold.
+     */
+    public long getCapacity() {
+        return this.channels.size();
+    }
+
     /**
      * set consumeDriver to this Carrier. consumer begin to run when {@link DataCarrier#produce} begin to work.
      *
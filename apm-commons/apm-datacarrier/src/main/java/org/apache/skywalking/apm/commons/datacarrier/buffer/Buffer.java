@@ -25,7 +25,7 @@ import org.apache.skywalking.apm.commons.datacarrier.common.AtomicRangeInteger;
 /**
  * Created by wusheng on 2016/10/25.
  */
-public class Buffer<T> {
+public class Buffer<T> implements QueueBuffer<T> {
     private final Object[] buffer;
     private BufferStrategy strategy;
     private AtomicRangeInteger index;
@@ -38,15 +38,15 @@ public class Buffer<T> {
         callbacks = new LinkedList<QueueBlockingCallback<T>>();
     }
 
-    void setStrategy(BufferStrategy strategy) {
+    @Override public void setStrategy(BufferStrategy strategy) {
         this.strategy = strategy;
     }
 
-    void addCallback(QueueBlockingCallback<T> callback) {
+    @Override public void addCallback(QueueBlockingCallback<T> callback) {
         callbacks.add(callback);
     }
 
-    boolean save(T data) {
+    @Override public boolean save(T data) {
         int i = index.getAndIncrement();
         if (buffer[i] != null) {
             switch (strategy) {
@@ -75,23 +75,51 @@ public class Buffer<T> {
         return true;
     }
 
-    public int getBufferSize() {
+    @Override public int getBufferSize() {
         return buffer.length;
     }
 
+    /**
+     * Count the non-empty slots, costs a scan of the buffer.
+     */
+    @Override public int getDataSize() {
+        int dataSize = 0;
+        for (Object data : buffer) {
+            if (data != null) {
+                dataSize++;
+            }
+        }
+        return dataSize;
+    }
+
     public LinkedList<T> obtain() {
         return this.obtain(0, buffer.length);
     }
 
     public LinkedList<T> obtain(int start, int end) {
         LinkedList<T> result = new LinkedList<T>();
+        this.obtain(result, start, end);
+        return result;
+    }
+
+    @Override public void obtain(List<T> consumeList) {
+        this.obtain(consumeList, 0, buffer.length);
+    }
+
+    public void obtain(List<T> consumeList, int start, int end) {
         for (int i = start; i < end; i++) {
             if (buffer[i] != null) {
-                result.add((T)buffer[i]);
+                consumeList.add((T)buffer[i]);
                 buffer[i] = null;
             }
         }
-        return result;
+    }
+
+    /**
+     * The array buffer doesn't signal the consumer, which wakes up after its consume cycle.
+     */
+    @Override public boolean awaitData(Thread consumer) {
+        return true;
     }
 
 }
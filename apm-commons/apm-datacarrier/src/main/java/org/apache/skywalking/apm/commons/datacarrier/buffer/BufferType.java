@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+/**
+ * The implementation of the channel buffer.
+ */
+public enum BufferType {
+    /**
+     * {@link Buffer}, the slots are taken in round robin, the consumers scan all the slots.
+     */
+    ARRAY,
+    /**
+     * {@link RingBuffer}, sequence based, the consumer only reads the published slots, and is woken up by the
+     * producers when idle.
+     */
+    RING,
+    /**
+     * {@link WaitFreeBuffer}, the producers claim the slots without retry, the consumers scan all the slots.
+     */
+    WAIT_FREE
+}
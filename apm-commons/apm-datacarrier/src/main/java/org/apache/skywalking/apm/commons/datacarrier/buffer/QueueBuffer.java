@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+
+/**
+ * QueueBuffer is the buffer of one channel.
+ */
+public interface QueueBuffer<T> {
+    /**
+     * @return false means the data is dropped, based on the {@link BufferStrategy}.
+     */
+    boolean save(T data);
+
+    void setStrategy(BufferStrategy strategy);
+
+    void addCallback(QueueBlockingCallback<T> callback);
+
+    int getBufferSize();
+
+    /**
+     * @return the number of data waiting to be consumed.
+     */
+    int getDataSize();
+
+    /**
+     * Move all the data in buffer into the given list.
+     */
+    void obtain(List<T> consumeList);
+
+    /**
+     * Called by the consumer thread, before it parks because of no data. The buffer should unpark the thread once
+     * there is new data, if it supports, otherwise the consumer wakes up after its consume cycle.
+     *
+     * @return false if there is data already, so the consumer shouldn't park.
+     */
+    boolean awaitData(Thread consumer);
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+import org.apache.skywalking.apm.commons.datacarrier.common.PaddedAtomicLong;
+
+/**
+ * RingBuffer is a bounded multiple producers, single consumer queue.
+ *
+ * The producers claim a sequence by CAS, then publish the data into the slot of the sequence. The consumer takes the
+ * published slots from its own sequence in order, and stops at the first unpublished one, so it never scans the empty
+ * slots. The two sequences are padded to separate cache lines.
+ *
+ * When the consumer is idle, it parks, and the next producer unparks it. When the buffer is full, {@link
+ * BufferStrategy#BLOCKING} producers back off by yielding and parking, rather than sleeping 1ms. {@link
+ * BufferStrategy#OVERRIDE} isn't supported, as the claimed slots can't be taken back, the new data is dropped like
+ * {@link BufferStrategy#IF_POSSIBLE}.
+ *
+ * If several consumer threads share one ring, they take turns to consume.
+ */
+public class RingBuffer<T> implements QueueBuffer<T> {
+    private static final int YIELD_TIMES = 100;
+    private static final long PARK_NANOS = 100 * 1000L;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final int bufferSize;
+    private final PaddedAtomicLong producerSequence = new PaddedAtomicLong(0);
+    private final PaddedAtomicLong consumerSequence = new PaddedAtomicLong(0);
+    private final AtomicBoolean consuming = new AtomicBoolean(false);
+    private volatile Thread waitingConsumer;
+    private BufferStrategy strategy;
+    private List<QueueBlockingCallback<T>> callbacks;
+
+    RingBuffer(int bufferSize, BufferStrategy strategy) {
+        int capacity = 1;
+        while (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<T>(capacity);
+        this.mask = capacity - 1;
+        this.bufferSize = bufferSize;
+        this.strategy = strategy;
+        this.callbacks = new LinkedList<QueueBlockingCallback<T>>();
+    }
+
+    @Override public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override public void addCallback(QueueBlockingCallback<T> callback) {
+        callbacks.add(callback);
+    }
+
+    @Override public boolean save(T data) {
+        long sequence;
+        int retries = 0;
+        while (true) {
+            sequence = producerSequence.get();
+            if (sequence - consumerSequence.get() < bufferSize) {
+                if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+                continue;
+            }
+
+            if (strategy != BufferStrategy.BLOCKING) {
+                return false;
+            }
+            if (retries == 0) {
+                for (QueueBlockingCallback<T> callback : callbacks) {
+                    callback.notify(data);
+                }
+            }
+            if (retries++ < YIELD_TIMES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+
+        slots.set((int)sequence & mask, data);
+
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            waitingConsumer = null;
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    @Override public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * The claimed but not published slots are counted too.
+     */
+    @Override public int getDataSize() {
+        return (int)(producerSequence.get() - consumerSequence.get());
+    }
+
+    @Override public void obtain(List<T> consumeList) {
+        if (!consuming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long sequence = consumerSequence.get();
+            T data;
+            while ((data = slots.get((int)sequence & mask)) != null) {
+                consumeList.add(data);
+                slots.lazySet((int)sequence & mask, null);
+                sequence++;
+            }
+            consumerSequence.lazySet(sequence);
+        } finally {
+            consuming.set(false);
+        }
+    }
+
+    @Override public boolean awaitData(Thread consumer) {
+        waitingConsumer = consumer;
+        return slots.get((int)consumerSequence.get() & mask) == null;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+import org.apache.skywalking.apm.commons.datacarrier.common.PaddedAtomicLong;
+
+/**
+ * WaitFreeBuffer is an array buffer, like {@link Buffer}, but the producer claims the slot by one atomic increment of
+ * an unbounded index, rather than a CAS loop of a range integer, and publishes the data by one CAS of the slot, so
+ * saving never retries, unless the buffer is full and the strategy is {@link BufferStrategy#BLOCKING}.
+ *
+ * The consumer takes the data out by swapping the slots, so several consumers could share one buffer.
+ */
+public class WaitFreeBuffer<T> implements QueueBuffer<T> {
+    private static final long PARK_NANOS = 100 * 1000L;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final PaddedAtomicLong index = new PaddedAtomicLong(0);
+    private BufferStrategy strategy;
+    private List<QueueBlockingCallback<T>> callbacks;
+
+    WaitFreeBuffer(int bufferSize, BufferStrategy strategy) {
+        int capacity = 1;
+        while (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<T>(capacity);
+        this.mask = capacity - 1;
+        this.strategy = strategy;
+        this.callbacks = new LinkedList<QueueBlockingCallback<T>>();
+    }
+
+    @Override public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override public void addCallback(QueueBlockingCallback<T> callback) {
+        callbacks.add(callback);
+    }
+
+    @Override public boolean save(T data) {
+        int i = (int)index.getAndIncrement() & mask;
+        if (slots.compareAndSet(i, null, data)) {
+            return true;
+        }
+
+        switch (strategy) {
+            case BLOCKING:
+                for (QueueBlockingCallback<T> callback : callbacks) {
+                    callback.notify(data);
+                }
+                while (!slots.compareAndSet(i, null, data)) {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                return true;
+            case OVERRIDE:
+                slots.set(i, data);
+                return true;
+            case IF_POSSIBLE:
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return the number of slots, which is the buffer size rounded up to a power of 2.
+     */
+    @Override public int getBufferSize() {
+        return slots.length();
+    }
+
+    @Override public int getDataSize() {
+        int dataSize = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                dataSize++;
+            }
+        }
+        return dataSize;
+    }
+
+    @Override public void obtain(List<T> consumeList) {
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                T data = slots.getAndSet(i, null);
+                if (data != null) {
+                    consumeList.add(data);
+                }
+            }
+        }
+    }
+
+    /**
+     * The producers don't signal the consumer, to keep saving as cheap as possible.
+     */
+    @Override public boolean awaitData(Thread consumer) {
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.common;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * PaddedAtomicLong is an atomic long value, which takes a whole cache line, so the threads updating it don't slow down
+ * the threads reading the fields near it, known as false sharing.
+ */
+public class PaddedAtomicLong {
+    private static final AtomicLongFieldUpdater<PaddedAtomicLong> UPDATER = AtomicLongFieldUpdater.newUpdater(PaddedAtomicLong.class, "value");
+
+    protected long p1, p2, p3, p4, p5, p6, p7;
+    private volatile long value;
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+    public PaddedAtomicLong(long initialValue) {
+        this.value = initialValue;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void set(long newValue) {
+        value = newValue;
+    }
+
+    /**
+     * Set the value without a store-load barrier, readers see it a little later.
+     */
+    public void lazySet(long newValue) {
+        UPDATER.lazySet(this, newValue);
+    }
+
+    /**
+     * A single atomic add on the platforms supporting it, so it never retries like a CAS loop.
+     */
+    public long getAndIncrement() {
+        return UPDATER.getAndIncrement(this);
+    }
+
+    public boolean compareAndSet(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+
+    /**
+     * Keep the padding fields from being optimized out.
+     */
+    public long sumPadding() {
+        return p1 + p2 + p3 + p4 + p5 + p6 + p7 + p9 + p10 + p11 + p12 + p13 + p14 + p15;
+    }
+}
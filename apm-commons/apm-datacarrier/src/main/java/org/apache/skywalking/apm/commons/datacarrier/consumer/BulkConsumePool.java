@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.commons.datacarrier.EnvUtil;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
 
@@ -29,25 +30,56 @@ import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
  *
  * In typical case, the number of {@link MultipleChannelsConsumer} should be less than the number of channels.
  *
+ * In the work stealing mode, the targets aren't bound to threads, every {@link WorkStealingConsumer} consumes any
+ * target which isn't being consumed, so the threads are shared by the hot targets, rather than the lowest payload
+ * thread at the time the target was added. Every idle thread checks all the targets each consume cycle, so the work
+ * stealing mode is for the {@link org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType#RING} buffers only,
+ * which tell the emptiness without scanning the slots.
+ *
  * @author wusheng
  */
 public class BulkConsumePool implements ConsumerPool {
     private List<MultipleChannelsConsumer> allConsumers;
+    private List<WorkStealingConsumer> stealingConsumers;
+    private volatile ArrayList<ConsumeTarget> targets;
+    private final AtomicInteger runningStealingConsumers;
     private volatile boolean isStarted = false;
 
     public BulkConsumePool(String name, int size, long consumeCycle) {
+        this(name, size, consumeCycle, false);
+    }
+
+    public BulkConsumePool(String name, int size, long consumeCycle, boolean workStealing) {
         size = EnvUtil.getInt(name + "_THREAD", size);
-        allConsumers = new ArrayList<MultipleChannelsConsumer>(size);
+        allConsumers = new ArrayList<MultipleChannelsConsumer>();
+        stealingConsumers = new ArrayList<WorkStealingConsumer>();
+        targets = new ArrayList<ConsumeTarget>();
+        runningStealingConsumers = new AtomicInteger(0);
         for (int i = 0; i < size; i++) {
-            MultipleChannelsConsumer multipleChannelsConsumer = new MultipleChannelsConsumer("DataCarrier." + name + ".BulkConsumePool." + i + ".Thread", consumeCycle);
-            multipleChannelsConsumer.setDaemon(true);
-            allConsumers.add(multipleChannelsConsumer);
+            String threadName = "DataCarrier." + name + ".BulkConsumePool." + i + ".Thread";
+            if (workStealing) {
+                WorkStealingConsumer stealingConsumer = new WorkStealingConsumer(threadName, this, i, consumeCycle);
+                stealingConsumer.setDaemon(true);
+                stealingConsumers.add(stealingConsumer);
+            } else {
+                MultipleChannelsConsumer multipleChannelsConsumer = new MultipleChannelsConsumer(threadName, consumeCycle);
+                multipleChannelsConsumer.setDaemon(true);
+                allConsumers.add(multipleChannelsConsumer);
+            }
         }
     }
 
     @Override synchronized public void add(String name, Channels channels, IConsumer consumer) {
-        MultipleChannelsConsumer multipleChannelsConsumer = getLowestPayload();
-        multipleChannelsConsumer.addNewTarget(channels, consumer);
+        ConsumeTarget target = new ConsumeTarget(name, channels, consumer);
+        // Recreate the new list to avoid change list while the list is used in consuming.
+        ArrayList<ConsumeTarget> newList = new ArrayList<ConsumeTarget>(targets);
+        newList.add(target);
+        targets = newList;
+
+        if (allConsumers.size() > 0) {
+            MultipleChannelsConsumer multipleChannelsConsumer = getLowestPayload();
+            multipleChannelsConsumer.addNewTarget(target);
+        }
     }
 
     /**
@@ -66,6 +98,24 @@ public class BulkConsumePool implements ConsumerPool {
         return winner;
     }
 
+    /**
+     * @return all the targets of this pool, to read their queue depth and consume latency.
+     */
+    public List<ConsumeTarget> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Called by each {@link WorkStealingConsumer} after its last consuming, the last one notifies all the consumers.
+     */
+    void onConsumerExit() {
+        if (runningStealingConsumers.decrementAndGet() == 0) {
+            for (ConsumeTarget target : targets) {
+                target.onExit();
+            }
+        }
+    }
+
     /**
      * @param channels
      * @return
@@ -78,15 +128,22 @@ public class BulkConsumePool implements ConsumerPool {
         for (MultipleChannelsConsumer consumer : allConsumers) {
             consumer.shutdown();
         }
+        for (WorkStealingConsumer consumer : stealingConsumers) {
+            consumer.shutdown();
+        }
     }
 
-    @Override public void begin(Channels channels) {
+    @Override synchronized public void begin(Channels channels) {
         if (isStarted) {
             return;
         }
         for (MultipleChannelsConsumer consumer : allConsumers) {
             consumer.start();
         }
+        runningStealingConsumers.set(stealingConsumers.size());
+        for (WorkStealingConsumer consumer : stealingConsumers) {
+            consumer.start();
+        }
         isStarted = true;
     }
 
@@ -97,15 +154,21 @@ public class BulkConsumePool implements ConsumerPool {
         private String name;
         private int size;
         private long consumeCycle;
+        private boolean workStealing;
 
         public Creator(String name, int poolSize, long consumeCycle) {
+            this(name, poolSize, consumeCycle, false);
+        }
+
+        public Creator(String name, int poolSize, long consumeCycle, boolean workStealing) {
             this.name = name;
             this.size = poolSize;
             this.consumeCycle = consumeCycle;
+            this.workStealing = workStealing;
         }
 
         @Override public ConsumerPool call() {
-            return new BulkConsumePool(name, size, consumeCycle);
+            return new BulkConsumePool(name, size, consumeCycle, workStealing);
         }
 
         public static int recommendMaxSize() {
@@ -93,7 +93,7 @@ public class ConsumeDriver<T> implements IDriver {
 
     private void allocateBuffer2Thread() {
         int channelSize = this.channels.getChannelSize();
-        if (channelSize < consumerThreads.length) {
+        if (channelSize < consumerThreads.length && this.channels.getBuffer(0) instanceof Buffer) {
             /**
              * if consumerThreads.length > channelSize
              * each channel will be process by several consumers.
@@ -109,7 +109,7 @@ public class ConsumeDriver<T> implements IDriver {
 
             for (int channelIndex = 0; channelIndex < channelSize; channelIndex++) {
                 ArrayList<Integer> threadAllocationPerChannel = threadAllocation[channelIndex];
-                Buffer<T> channel = this.channels.getBuffer(channelIndex);
+                QueueBuffer<T> channel = this.channels.getBuffer(channelIndex);
                 int bufferSize = channel.getBufferSize();
                 int step = bufferSize / threadAllocationPerChannel.size();
                 for (int i = 0; i < threadAllocationPerChannel.size(); i++) {
@@ -126,10 +126,12 @@ public class ConsumeDriver<T> implements IDriver {
              *
              * if consumerThreads.length == channelSize
              * each consumer will process one channel.
+             *
+             * if consumerThreads.length > channelSize, and the channels are {@link RingBuffer}s,
+             * the consumers of one channel take turns to consume the whole ring.
              */
-            for (int channelIndex = 0; channelIndex < channelSize; channelIndex++) {
-                int consumerIndex = channelIndex % consumerThreads.length;
-                consumerThreads[consumerIndex].addDataSource(channels.getBuffer(channelIndex));
+            for (int consumerIndex = 0; consumerIndex < Math.max(channelSize, consumerThreads.length); consumerIndex++) {
+                consumerThreads[consumerIndex % consumerThreads.length].addDataSource(channels.getBuffer(consumerIndex % channelSize));
             }
         }
 
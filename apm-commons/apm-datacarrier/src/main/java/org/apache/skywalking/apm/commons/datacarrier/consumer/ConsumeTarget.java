@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+
+/**
+ * ConsumeTarget is the channels of one DataCarrier with its {@link IConsumer}, consumed by the threads of a {@link
+ * BulkConsumePool}. Only one thread consumes the target at a time, so the data of one channel keeps the order.
+ */
+public class ConsumeTarget {
+    private final String name;
+    private final Channels channels;
+    private final IConsumer consumer;
+    private final AtomicBoolean consuming;
+    private volatile long consumeLatency;
+
+    ConsumeTarget(String name, Channels channels, IConsumer consumer) {
+        this.name = name;
+        this.channels = channels;
+        this.consumer = consumer;
+        this.consuming = new AtomicBoolean(false);
+    }
+
+    /**
+     * Consume all the data of the channels, if no other thread is consuming this target.
+     *
+     * @param consumeList to hold the data, which is cleared after consuming.
+     * @return true if some data has been consumed.
+     */
+    boolean consume(List consumeList) {
+        if (!consuming.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            for (int i = 0; i < channels.getChannelSize(); i++) {
+                channels.getBuffer(i).obtain(consumeList);
+            }
+
+            if (consumeList.isEmpty()) {
+                return false;
+            }
+            long startTime = System.nanoTime();
+            try {
+                consumer.consume(consumeList);
+            } catch (Throwable t) {
+                consumer.onError(consumeList, t);
+            } finally {
+                consumeList.clear();
+                consumeLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            }
+            return true;
+        } finally {
+            consuming.set(false);
+        }
+    }
+
+    /**
+     * @return true if all the channels are empty, and would wake up the given thread once data comes, if they
+     * support.
+     */
+    boolean awaitData(Thread consumerThread) {
+        for (int i = 0; i < channels.getChannelSize(); i++) {
+            if (!channels.getBuffer(i).awaitData(consumerThread)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void onExit() {
+        consumer.onExit();
+    }
+
+    long capacity() {
+        return channels.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of data waiting in the channels.
+     */
+    public long getDataSize() {
+        return channels.getDataSize();
+    }
+
+    /**
+     * @return the milliseconds of the last {@link IConsumer#consume(List)}.
+     */
+    public long getConsumeLatency() {
+        return consumeLatency;
+    }
+}
@@ -49,6 +49,10 @@ public enum ConsumerPoolFactory {
         return pools.get(poolName);
     }
 
+    public synchronized Map<String, ConsumerPool> getAll() {
+        return new HashMap<String, ConsumerPool>(pools);
+    }
+
     /**
      * Default pool provides the same capabilities as DataCarrier#consume(IConsumer, 1), which alloc one thread for one
      * DataCarrier.
@@ -19,9 +19,10 @@
 
 package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
-import java.util.LinkedList;
-import java.util.List;
-import org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.*;
 
 /**
  * Created by wusheng on 2016/10/25.
@@ -31,6 +32,7 @@ public class ConsumerThread<T> extends Thread {
     private IConsumer<T> consumer;
     private List<DataSource> dataSources;
     private long consumeCycle;
+    private final List<T> consumeList;
 
     ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
         super(threadName);
@@ -38,6 +40,7 @@ public class ConsumerThread<T> extends Thread {
         running = false;
         dataSources = new LinkedList<DataSource>();
         this.consumeCycle = consumeCycle;
+        this.consumeList = new ArrayList<T>(1500);
     }
 
     /**
@@ -47,7 +50,7 @@ public class ConsumerThread<T> extends Thread {
      * @param start
      * @param end
      */
-    void addDataSource(Buffer<T> sourceBuffer, int start, int end) {
+    void addDataSource(QueueBuffer<T> sourceBuffer, int start, int end) {
         this.dataSources.add(new DataSource(sourceBuffer, start, end));
     }
 
@@ -56,7 +59,7 @@ public class ConsumerThread<T> extends Thread {
      *
      * @param sourceBuffer
      */
-    void addDataSource(Buffer<T> sourceBuffer) {
+    void addDataSource(QueueBuffer<T> sourceBuffer) {
         this.dataSources.add(new DataSource(sourceBuffer, 0, sourceBuffer.getBufferSize()));
     }
 
@@ -67,11 +70,8 @@ public class ConsumerThread<T> extends Thread {
         while (running) {
             boolean hasData = consume();
 
-            if (!hasData) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
-                }
+            if (!hasData && awaitData()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(consumeCycle));
             }
         }
 
@@ -83,47 +83,60 @@ public class ConsumerThread<T> extends Thread {
     }
 
     private boolean consume() {
-        boolean hasData = false;
-        LinkedList<T> consumeList = new LinkedList<T>();
         for (DataSource dataSource : dataSources) {
-            LinkedList<T> data = dataSource.obtain();
-            if (data.size() == 0) {
-                continue;
-            }
-            consumeList.addAll(data);
-            hasData = true;
+            dataSource.obtain(consumeList);
+        }
+
+        if (consumeList.isEmpty()) {
+            return false;
         }
+        try {
+            consumer.consume(consumeList);
+        } catch (Throwable t) {
+            consumer.onError(consumeList, t);
+        } finally {
+            consumeList.clear();
+        }
+        return true;
+    }
 
-        if (consumeList.size() > 0) {
-            try {
-                consumer.consume(consumeList);
-            } catch (Throwable t) {
-                consumer.onError(consumeList, t);
+    /**
+     * @return true if all the sources are empty, and would wake up this thread once data comes, if they support.
+     */
+    private boolean awaitData() {
+        for (DataSource dataSource : dataSources) {
+            if (!dataSource.sourceBuffer.awaitData(this)) {
+                return false;
             }
         }
-        return hasData;
+        return true;
     }
 
     void shutdown() {
         running = false;
+        LockSupport.unpark(this);
     }
 
     /**
-     * DataSource is a refer to {@link Buffer}.
+     * DataSource is a refer to {@link QueueBuffer}. Only the {@link Buffer} could be split by range.
      */
     class DataSource {
-        private Buffer<T> sourceBuffer;
+        private QueueBuffer<T> sourceBuffer;
         private int start;
         private int end;
 
-        DataSource(Buffer<T> sourceBuffer, int start, int end) {
+        DataSource(QueueBuffer<T> sourceBuffer, int start, int end) {
             this.sourceBuffer = sourceBuffer;
             this.start = start;
             this.end = end;
         }
 
-        LinkedList<T> obtain() {
-            return sourceBuffer.obtain(start, end);
+        void obtain(List<T> consumeList) {
+            if (sourceBuffer instanceof Buffer) {
+                ((Buffer<T>)sourceBuffer).obtain(consumeList, start, end);
+            } else {
+                sourceBuffer.obtain(consumeList);
+            }
         }
     }
 }
@@ -19,7 +19,8 @@
 package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
 import java.util.*;
-import org.apache.skywalking.apm.commons.datacarrier.buffer.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * MultipleChannelsConsumer represent a single consumer thread, but support multiple channels with their {@link
@@ -29,14 +30,16 @@ import org.apache.skywalking.apm.commons.datacarrier.buffer.*;
  */
 public class MultipleChannelsConsumer extends Thread {
     private volatile boolean running;
-    private volatile ArrayList<Group> consumeTargets;
+    private volatile ArrayList<ConsumeTarget> consumeTargets;
     private volatile long size;
     private final long consumeCycle;
+    private final List consumeList;
 
     public MultipleChannelsConsumer(String threadName, long consumeCycle) {
         super(threadName);
-        this.consumeTargets = new ArrayList<Group>();
+        this.consumeTargets = new ArrayList<ConsumeTarget>();
         this.consumeCycle = consumeCycle;
+        this.consumeList = new ArrayList(1500);
     }
 
     @Override
@@ -45,62 +48,53 @@ public class MultipleChannelsConsumer extends Thread {
 
         while (running) {
             boolean hasData = false;
-            for (Group target : consumeTargets) {
-                hasData = hasData || consume(target);
+            for (ConsumeTarget target : consumeTargets) {
+                if (target.consume(consumeList)) {
+                    hasData = true;
+                }
             }
 
-            if (!hasData) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
-                }
+            if (!hasData && awaitData()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(consumeCycle));
             }
 
         }
 
         // consumer thread is going to stop
         // consume the last time
-        for (Group target : consumeTargets) {
-            consume(target);
+        for (ConsumeTarget target : consumeTargets) {
+            target.consume(consumeList);
 
-            target.consumer.onExit();
+            target.onExit();
         }
     }
 
-    private boolean consume(Group target) {
-        boolean hasData;
-        LinkedList consumeList = new LinkedList();
-        for (int i = 0; i < target.channels.getChannelSize(); i++) {
-            Buffer buffer = target.channels.getBuffer(i);
-            consumeList.addAll(buffer.obtain());
-        }
-
-        if (hasData = consumeList.size() > 0) {
-            try {
-                target.consumer.consume(consumeList);
-            } catch (Throwable t) {
-                target.consumer.onError(consumeList, t);
+    /**
+     * @return true if all the channels are empty, and would wake up this thread once data comes, if they support.
+     */
+    private boolean awaitData() {
+        for (ConsumeTarget target : consumeTargets) {
+            if (!target.awaitData(this)) {
+                return false;
             }
         }
-        return hasData;
+        return true;
     }
 
     /**
      * Add a new target channels.
      *
-     * @param channels
-     * @param consumer
+     * @param target
      */
-    public void addNewTarget(Channels channels, IConsumer consumer) {
-        Group group = new Group(channels, consumer);
+    void addNewTarget(ConsumeTarget target) {
         // Recreate the new list to avoid change list while the list is used in consuming.
-        ArrayList<Group> newList = new ArrayList<Group>();
-        for (Group target : consumeTargets) {
-            newList.add(target);
+        ArrayList<ConsumeTarget> newList = new ArrayList<ConsumeTarget>();
+        for (ConsumeTarget consumeTarget : consumeTargets) {
+            newList.add(consumeTarget);
         }
-        newList.add(group);
+        newList.add(target);
         consumeTargets = newList;
-        size += channels.size();
+        size += target.capacity();
     }
 
     public long size() {
@@ -109,15 +103,6 @@ public class MultipleChannelsConsumer extends Thread {
 
     void shutdown() {
         running = false;
-    }
-
-    private class Group {
-        private Channels channels;
-        private IConsumer consumer;
-
-        public Group(Channels channels, IConsumer consumer) {
-            this.channels = channels;
-            this.consumer = consumer;
-        }
+        LockSupport.unpark(this);
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * WorkStealingConsumer is a consumer thread of the work stealing {@link BulkConsumePool}. It isn't bound to any
+ * target, but takes every target which has data and isn't being consumed by the other threads, so a hot target
+ * doesn't wait behind the others of the same thread.
+ */
+public class WorkStealingConsumer extends Thread {
+    private volatile boolean running;
+    private final BulkConsumePool pool;
+    private final long consumeCycle;
+    private final List consumeList;
+    private int startIndex;
+
+    WorkStealingConsumer(String threadName, BulkConsumePool pool, int index, long consumeCycle) {
+        super(threadName);
+        this.pool = pool;
+        this.consumeCycle = consumeCycle;
+        this.consumeList = new ArrayList(1500);
+        this.startIndex = index;
+    }
+
+    @Override
+    public void run() {
+        running = true;
+
+        while (running) {
+            List<ConsumeTarget> targets = pool.getTargets();
+            if (!consume(targets) && awaitData(targets)) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(consumeCycle));
+            }
+        }
+
+        // consumer thread is going to stop
+        // consume the last time
+        consume(pool.getTargets());
+        pool.onConsumerExit();
+    }
+
+    /**
+     * Go through the targets, from a different one each round, to avoid all the threads racing for the same target.
+     */
+    private boolean consume(List<ConsumeTarget> targets) {
+        boolean hasData = false;
+        int size = targets.size();
+        for (int i = 0; i < size; i++) {
+            if (targets.get((startIndex + i) % size).consume(consumeList)) {
+                hasData = true;
+            }
+        }
+        startIndex = size == 0 ? 0 : (startIndex + 1) % size;
+        return hasData;
+    }
+
+    private boolean awaitData(List<ConsumeTarget> targets) {
+        for (ConsumeTarget target : targets) {
+            if (!target.awaitData(this)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+    }
+}
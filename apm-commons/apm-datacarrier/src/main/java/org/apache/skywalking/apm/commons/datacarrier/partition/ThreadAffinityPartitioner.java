@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.partition;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ThreadAffinityPartitioner binds each producer thread to one channel, allocated in round robin at the first time the
+ * thread produces, so the threads spread over the channels evenly, and producing doesn't touch any shared counter
+ * after that.
+ */
+public class ThreadAffinityPartitioner<T> implements IDataPartitioner<T> {
+    private final AtomicInteger nextChannel = new AtomicInteger(0);
+    private final ThreadLocal<Integer> threadChannel = new ThreadLocal<Integer>() {
+        @Override protected Integer initialValue() {
+            return nextChannel.getAndIncrement() & Integer.MAX_VALUE;
+        }
+    };
+
+    @Override
+    public int partition(int total, T data) {
+        return threadChannel.get() % total;
+    }
+
+    @Override
+    public int maxRetryCount() {
+        return 1;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.*;
+import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Compare the throughput of producing into {@link Buffer} and {@link RingBuffer}, with one consumer thread.
+ */
+@State(Scope.Benchmark)
+public class RingBufferBenchmark {
+    @Param({"ARRAY", "RING"})
+    private BufferType bufferType;
+
+    private Channels<SampleData> channels;
+    private ConsumeDriver<SampleData> driver;
+    private final SampleData data = new SampleData();
+
+    @Setup
+    public void setup() {
+        channels = new Channels<SampleData>(1, 1024, new SimpleRollingPartitioner<SampleData>(), BufferStrategy.BLOCKING, bufferType);
+        driver = new ConsumeDriver<SampleData>("benchmark", channels, new NoopConsumer(), 1, 20);
+        driver.begin(channels);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.close(channels);
+    }
+
+    @Benchmark
+    public boolean save() {
+        return channels.save(data);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 4, 16}) {
+            Options opt = new OptionsBuilder()
+                .include(RingBufferBenchmark.class.getSimpleName())
+                .threads(threads)
+                .forks(1)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    /*********************************
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 10 s each
+     * # Measurement: 5 iterations, 10 s each
+     * # Benchmark mode: Throughput, ops/time
+     *
+     * The ARRAY consumer sleeps a whole consume cycle (20ms) once it finds the buffer empty, and the blocked producers
+     * sleep 1ms, so the throughput is bound to about one buffer per cycle, no matter how many producers.
+     *
+     * Threads  Benchmark                  (bufferType)   Mode  Cnt         Score         Error  Units
+     * 1        RingBufferBenchmark.save          ARRAY  thrpt    5     50287.623 ±     814.034  ops/s
+     * 1        RingBufferBenchmark.save           RING  thrpt    5  20065832.712 ± 4613485.259  ops/s
+     * 4        RingBufferBenchmark.save          ARRAY  thrpt    5     49644.389 ±    2587.801  ops/s
+     * 4        RingBufferBenchmark.save           RING  thrpt    5   5723836.430 ± 8008381.226  ops/s
+     * 16       RingBufferBenchmark.save          ARRAY  thrpt    5     49882.684 ±     642.079  ops/s
+     * 16       RingBufferBenchmark.save           RING  thrpt    5  13969809.554 ± 2824133.870  ops/s
+     */
+
+    private static class NoopConsumer implements IConsumer<SampleData> {
+        @Override public void init() {
+        }
+
+        @Override public void consume(List<SampleData> data) {
+        }
+
+        @Override public void onError(List<SampleData> data, Throwable t) {
+        }
+
+        @Override public void onExit() {
+        }
+    }
+}
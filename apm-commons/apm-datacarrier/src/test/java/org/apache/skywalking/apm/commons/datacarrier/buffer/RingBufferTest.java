@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.*;
+
+public class RingBufferTest {
+    @Test
+    public void testSaveAndObtain() {
+        RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(5, BufferStrategy.IF_POSSIBLE);
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5; i++) {
+                Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+            }
+            Assert.assertFalse(buffer.save(new SampleData().setIntValue(5)));
+
+            buffer.obtain(consumeList);
+            Assert.assertEquals(5, consumeList.size());
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(i, consumeList.get(i).getIntValue());
+            }
+            consumeList.clear();
+        }
+
+        buffer.obtain(consumeList);
+        Assert.assertTrue(consumeList.isEmpty());
+    }
+
+    @Test
+    public void testAwaitData() {
+        RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(5, BufferStrategy.BLOCKING);
+        Assert.assertTrue(buffer.awaitData(Thread.currentThread()));
+
+        buffer.save(new SampleData());
+        Assert.assertFalse(buffer.awaitData(Thread.currentThread()));
+    }
+
+    @Test(timeout = 10000)
+    public void testUnparkConsumer() throws InterruptedException {
+        final RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(5, BufferStrategy.BLOCKING);
+        final List<SampleData> consumeList = new ArrayList<SampleData>();
+        Thread consumer = new Thread() {
+            @Override public void run() {
+                while (buffer.awaitData(this)) {
+                    LockSupport.parkNanos(this, TimeUnit.MINUTES.toNanos(1));
+                }
+                buffer.obtain(consumeList);
+            }
+        };
+        consumer.start();
+        while (consumer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+
+        buffer.save(new SampleData().setName("wakeup"));
+        consumer.join();
+        Assert.assertEquals(1, consumeList.size());
+        Assert.assertEquals("wakeup", consumeList.get(0).getName());
+    }
+
+    @Test(timeout = 10000)
+    public void testBlockingWhenFull() throws InterruptedException {
+        final RingBuffer<SampleData> buffer = new RingBuffer<SampleData>(2, BufferStrategy.BLOCKING);
+        buffer.save(new SampleData());
+        buffer.save(new SampleData());
+        Thread producer = new Thread() {
+            @Override public void run() {
+                buffer.save(new SampleData().setIntValue(3));
+            }
+        };
+        producer.start();
+        Thread.sleep(100);
+        Assert.assertTrue(producer.isAlive());
+
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        buffer.obtain(consumeList);
+        producer.join();
+        consumeList.clear();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(1, consumeList.size());
+        Assert.assertEquals(3, consumeList.get(0).getIntValue());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.*;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.*;
+
+public class WaitFreeBufferTest {
+    @Test
+    public void testSaveAndObtain() {
+        WaitFreeBuffer<SampleData> buffer = new WaitFreeBuffer<SampleData>(3, BufferStrategy.IF_POSSIBLE);
+        Assert.assertEquals(4, buffer.getBufferSize());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+        Assert.assertFalse(buffer.save(new SampleData().setIntValue(4)));
+        Assert.assertEquals(4, buffer.getDataSize());
+
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(4, consumeList.size());
+        Assert.assertEquals(0, buffer.getDataSize());
+
+        Assert.assertTrue(buffer.save(new SampleData().setIntValue(5)));
+        consumeList.clear();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(1, consumeList.size());
+        Assert.assertEquals(5, consumeList.get(0).getIntValue());
+    }
+
+    @Test
+    public void testOverride() {
+        WaitFreeBuffer<SampleData> buffer = new WaitFreeBuffer<SampleData>(2, BufferStrategy.OVERRIDE);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+
+        List<SampleData> consumeList = new ArrayList<SampleData>();
+        buffer.obtain(consumeList);
+        Assert.assertEquals(2, consumeList.size());
+        Assert.assertEquals(2, consumeList.get(0).getIntValue());
+        Assert.assertEquals(3, consumeList.get(1).getIntValue());
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
 import java.util.*;
+import java.util.concurrent.*;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.*;
 import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
 import org.junit.*;
@@ -88,4 +89,61 @@ public class BulkConsumePoolTest {
         Assert.assertEquals(5, result1.size());
         Assert.assertEquals(2, result2.size());
     }
+
+    @Test
+    public void testWorkStealing() throws InterruptedException {
+        BulkConsumePool pool = new BulkConsumePool("testStealingPool", 2, 20, true);
+        final CountDownLatch slowConsuming = new CountDownLatch(1);
+        Channels slow = new Channels(1, 10, new SimpleRollingPartitioner(), BufferStrategy.BLOCKING);
+        pool.add("slow", slow, new SampleListConsumer(new ArrayList<Object>()) {
+            @Override public void consume(List data) {
+                slowConsuming.countDown();
+                try {
+                    Thread.sleep(3000);
+                } catch (InterruptedException e) {
+                }
+            }
+        });
+        final ArrayList<Object> result = new ArrayList<Object>();
+        Channels fast = new Channels(1, 10, new SimpleRollingPartitioner(), BufferStrategy.BLOCKING);
+        pool.add("fast", fast, new SampleListConsumer(result));
+        pool.begin(slow);
+
+        slow.save(new Object());
+        Assert.assertTrue(slowConsuming.await(1, TimeUnit.SECONDS));
+        slow.save(new Object());
+        fast.save(new Object());
+        fast.save(new Object());
+        Thread.sleep(500);
+
+        Assert.assertEquals(2, result.size());
+        List<ConsumeTarget> targets = pool.getTargets();
+        Assert.assertEquals("slow", targets.get(0).getName());
+        Assert.assertEquals(1, targets.get(0).getDataSize());
+        Assert.assertEquals(0, targets.get(1).getDataSize());
+    }
+
+    private static class SampleListConsumer implements IConsumer {
+        private final List<Object> result;
+
+        private SampleListConsumer(List<Object> result) {
+            this.result = result;
+        }
+
+        @Override public void init() {
+
+        }
+
+        @Override public void consume(List data) {
+            result.addAll(data);
+        }
+
+        @Override public void onError(List data, Throwable t) {
+
+        }
+
+        @Override public void onExit() {
+
+        }
+    }
 }
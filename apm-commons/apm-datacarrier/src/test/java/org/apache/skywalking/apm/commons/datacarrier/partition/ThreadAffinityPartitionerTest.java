@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.partition;
+
+import java.util.*;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.*;
+
+public class ThreadAffinityPartitionerTest {
+    @Test
+    public void testPartition() throws InterruptedException {
+        final ThreadAffinityPartitioner<SampleData> partitioner = new ThreadAffinityPartitioner<SampleData>();
+        final int partition = partitioner.partition(3, new SampleData());
+        Assert.assertEquals(partition, partitioner.partition(3, new SampleData()));
+
+        final Set<Integer> partitions = Collections.synchronizedSet(new HashSet<Integer>());
+        partitions.add(partition);
+        for (int i = 0; i < 2; i++) {
+            Thread producer = new Thread() {
+                @Override public void run() {
+                    partitions.add(partitioner.partition(3, new SampleData()));
+                }
+            };
+            producer.start();
+            producer.join();
+        }
+        Assert.assertEquals(3, partitions.size());
+    }
+}
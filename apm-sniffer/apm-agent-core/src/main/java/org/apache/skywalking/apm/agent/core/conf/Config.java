@@ -57,6 +57,20 @@ public class Config {
          */
         public static int SAMPLE_N_PER_3_SECS = -1;
 
+        /**
+         * Positive means the adaptive sampling is on, and {@link #SAMPLE_N_PER_3_SECS} is ignored. The agent samples
+         * {@link #SAMPLE_SEGMENTS_PER_SECOND} {@link TraceSegment}s per second tops, and less when the segments are
+         * backlogged in the uplink.
+         */
+        public static int SAMPLE_SEGMENTS_PER_SECOND = -1;
+
+        /**
+         * In the adaptive sampling, every endpoint could be sampled {@link #SAMPLE_PER_ENDPOINT_PER_SECOND} times per
+         * second even if the {@link #SAMPLE_SEGMENTS_PER_SECOND} is used up, so the rarely accessed endpoints are still
+         * sampled. It shrinks with the {@link #SAMPLE_SEGMENTS_PER_SECOND} when the uplink is backlogged.
+         */
+        public static int SAMPLE_PER_ENDPOINT_PER_SECOND = 1;
+
         /**
          * If the operation name of the first span is included in this set, this segment should be ignored.
          */
@@ -58,11 +58,12 @@ public class TracingContext implements AbstractTracerContext {
     private TraceSegment segment;
 
     /**
-     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This {@link LinkedList} is the in-memory
-     * storage-structure. <p> I use {@link LinkedList#removeLast()}, {@link LinkedList#addLast(Object)} and {@link
-     * LinkedList#last} instead of {@link #pop()}, {@link #push(AbstractSpan)}, {@link #peek()}
+     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This array is the in-memory
+     * storage-structure, grows when the stack is deeper than its length, {@link #activeSpanStackDepth} is the top.
+     * Operated by {@link #pop()}, {@link #push(AbstractSpan)}, {@link #peek()}
      */
-    private LinkedList<AbstractSpan> activeSpanStack = new LinkedList<AbstractSpan>();
+    private AbstractSpan[] activeSpanStack = new AbstractSpan[8];
+    private int activeSpanStackDepth;
 
     /**
      * A counter for the next span.
@@ -70,11 +71,18 @@ public class TracingContext implements AbstractTracerContext {
     private int spanIdGenerator;
 
     /**
-     * The counter indicates
+     * The operation name of the first span, for the sampling. The span itself keeps only the id once the name is
+     * registered.
      */
-    private AtomicInteger asyncSpanCounter;
+    private String firstSpanOperationName;
+
+    /**
+     * The counter indicates the number of async spans not finished. The counter and lock are created only when the
+     * context runs in async mode.
+     */
+    private volatile AtomicInteger asyncSpanCounter;
     private volatile boolean isRunningInAsyncMode;
-    private ReentrantLock asyncFinishLock;
+    private volatile ReentrantLock asyncFinishLock;
 
     /**
      * Initialize all fields with default value.
@@ -85,9 +93,7 @@ public class TracingContext implements AbstractTracerContext {
         if (samplingService == null) {
             samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
         }
-        asyncSpanCounter = new AtomicInteger(0);
         isRunningInAsyncMode = false;
-        asyncFinishLock = new ReentrantLock();
     }
 
     /**
@@ -241,39 +247,31 @@ public class TracingContext implements AbstractTracerContext {
      * @return span instance. Ref to {@link EntrySpan}
      */
     @Override
-    public AbstractSpan createEntrySpan(final String operationName) {
+    public AbstractSpan createEntrySpan(String operationName) {
         if (isLimitMechanismWorking()) {
             NoopSpan span = new NoopSpan();
             return push(span);
         }
         AbstractSpan entrySpan;
-        final AbstractSpan parentSpan = peek();
-        final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
+        AbstractSpan parentSpan = peek();
+        int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
+        int operationId = DictionaryManager.findEndpointSection().findOnlyId(segment.getServiceId(), operationName);
+        if (parentSpan == null || (parentSpan.isEntry() && parentSpan.getSpanId() == 0)) {
+            firstSpanOperationName = operationName;
+        }
         if (parentSpan != null && parentSpan.isEntry()) {
-            entrySpan = (AbstractTracingSpan)DictionaryManager.findEndpointSection()
-                .findOnly(segment.getServiceId(), operationName)
-                .doInCondition(new PossibleFound.FoundAndObtain() {
-                    @Override public Object doProcess(int operationId) {
-                        return parentSpan.setOperationId(operationId);
-                    }
-                }, new PossibleFound.NotFoundAndObtain() {
-                    @Override public Object doProcess() {
-                        return parentSpan.setOperationName(operationName);
-                    }
-                });
+            if (DictionaryUtil.isNull(operationId)) {
+                entrySpan = parentSpan.setOperationName(operationName);
+            } else {
+                entrySpan = parentSpan.setOperationId(operationId);
+            }
             return entrySpan.start();
         } else {
-            entrySpan = (AbstractTracingSpan)DictionaryManager.findEndpointSection()
-                .findOnly(segment.getServiceId(), operationName)
-                .doInCondition(new PossibleFound.FoundAndObtain() {
-                    @Override public Object doProcess(int operationId) {
-                        return new EntrySpan(spanIdGenerator++, parentSpanId, operationId);
-                    }
-                }, new PossibleFound.NotFoundAndObtain() {
-                    @Override public Object doProcess() {
-                        return new EntrySpan(spanIdGenerator++, parentSpanId, operationName);
-                    }
-                });
+            if (DictionaryUtil.isNull(operationId)) {
+                entrySpan = new EntrySpan(spanIdGenerator++, parentSpanId, operationName);
+            } else {
+                entrySpan = new EntrySpan(spanIdGenerator++, parentSpanId, operationId);
+            }
             entrySpan.start();
             return push(entrySpan);
         }
@@ -286,13 +284,16 @@ public class TracingContext implements AbstractTracerContext {
      * @return the span represents a local logic block. Ref to {@link LocalSpan}
      */
     @Override
-    public AbstractSpan createLocalSpan(final String operationName) {
+    public AbstractSpan createLocalSpan(String operationName) {
         if (isLimitMechanismWorking()) {
             NoopSpan span = new NoopSpan();
             return push(span);
         }
         AbstractSpan parentSpan = peek();
-        final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
+        int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
+        if (parentSpan == null) {
+            firstSpanOperationName = operationName;
+        }
         /**
          * From v6.0.0-beta, local span doesn't do op name register.
          * All op name register is related to entry and exit spans only.
@@ -311,61 +312,31 @@ public class TracingContext implements AbstractTracerContext {
      * @see ExitSpan
      */
     @Override
-    public AbstractSpan createExitSpan(final String operationName, final String remotePeer) {
+    public AbstractSpan createExitSpan(String operationName, String remotePeer) {
         AbstractSpan exitSpan;
         AbstractSpan parentSpan = peek();
         if (parentSpan != null && parentSpan.isExit()) {
             exitSpan = parentSpan;
         } else {
-            final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
-            exitSpan = (AbstractSpan)DictionaryManager.findNetworkAddressSection()
-                .find(remotePeer).doInCondition(
-                    new PossibleFound.FoundAndObtain() {
-                        @Override
-                        public Object doProcess(final int peerId) {
-                            if (isLimitMechanismWorking()) {
-                                return new NoopExitSpan(peerId);
-                            }
-
-                            return DictionaryManager.findEndpointSection()
-                                .findOnly(segment.getServiceId(), operationName)
-                                .doInCondition(
-                                    new PossibleFound.FoundAndObtain() {
-                                        @Override
-                                        public Object doProcess(int operationId) {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationId, peerId);
-                                        }
-                                    }, new PossibleFound.NotFoundAndObtain() {
-                                        @Override
-                                        public Object doProcess() {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationName, peerId);
-                                        }
-                                    });
-                        }
-                    },
-                    new PossibleFound.NotFoundAndObtain() {
-                        @Override
-                        public Object doProcess() {
-                            if (isLimitMechanismWorking()) {
-                                return new NoopExitSpan(remotePeer);
-                            }
-
-                            return DictionaryManager.findEndpointSection()
-                                .findOnly(segment.getServiceId(), operationName)
-                                .doInCondition(
-                                    new PossibleFound.FoundAndObtain() {
-                                        @Override
-                                        public Object doProcess(int operationId) {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationId, remotePeer);
-                                        }
-                                    }, new PossibleFound.NotFoundAndObtain() {
-                                        @Override
-                                        public Object doProcess() {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationName, remotePeer);
-                                        }
-                                    });
-                        }
-                    });
+            int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
+            if (parentSpan == null) {
+                firstSpanOperationName = operationName;
+            }
+            int peerId = DictionaryManager.findNetworkAddressSection().findId(remotePeer);
+            if (isLimitMechanismWorking()) {
+                exitSpan = DictionaryUtil.isNull(peerId) ? new NoopExitSpan(remotePeer) : new NoopExitSpan(peerId);
+            } else {
+                int operationId = DictionaryManager.findEndpointSection().findOnlyId(segment.getServiceId(), operationName);
+                if (DictionaryUtil.isNull(peerId)) {
+                    exitSpan = DictionaryUtil.isNull(operationId) ?
+                        new ExitSpan(spanIdGenerator++, parentSpanId, operationName, remotePeer) :
+                        new ExitSpan(spanIdGenerator++, parentSpanId, operationId, remotePeer);
+                } else {
+                    exitSpan = DictionaryUtil.isNull(operationId) ?
+                        new ExitSpan(spanIdGenerator++, parentSpanId, operationName, peerId) :
+                        new ExitSpan(spanIdGenerator++, parentSpanId, operationId, peerId);
+                }
+            }
             push(exitSpan);
         }
         exitSpan.start();
@@ -410,11 +381,19 @@ public class TracingContext implements AbstractTracerContext {
             finish();
         }
 
-        return activeSpanStack.isEmpty();
+        return activeSpanStackDepth == 0;
     }
 
     @Override public AbstractTracerContext awaitFinishAsync() {
-        isRunningInAsyncMode = true;
+        if (!isRunningInAsyncMode) {
+            synchronized (this) {
+                if (!isRunningInAsyncMode) {
+                    asyncSpanCounter = new AtomicInteger(0);
+                    asyncFinishLock = new ReentrantLock();
+                    isRunningInAsyncMode = true;
+                }
+            }
+        }
         asyncSpanCounter.addAndGet(1);
         return this;
     }
@@ -428,19 +407,15 @@ public class TracingContext implements AbstractTracerContext {
     }
 
     private boolean checkFinishConditions() {
-        if (isRunningInAsyncMode) {
-            asyncFinishLock.lock();
+        if (!isRunningInAsyncMode) {
+            return activeSpanStackDepth == 0;
         }
+        asyncFinishLock.lock();
         try {
-            if (activeSpanStack.isEmpty() && asyncSpanCounter.get() == 0) {
-                return true;
-            }
+            return activeSpanStackDepth == 0 && asyncSpanCounter.get() == 0;
         } finally {
-            if (isRunningInAsyncMode) {
-                asyncFinishLock.unlock();
-            }
+            asyncFinishLock.unlock();
         }
-        return false;
     }
 
     /**
@@ -456,7 +431,7 @@ public class TracingContext implements AbstractTracerContext {
          * @see {@link #createSpan(String, long, boolean)}
          */
         if (!segment.hasRef() && segment.isSingleSpanSegment()) {
-            if (!samplingService.trySampling()) {
+            if (!samplingService.trySampling(firstSpanOperationName)) {
                 finishedSegment.setIgnore(true);
             }
         }
@@ -505,7 +480,9 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack', and remove it.
      */
     private AbstractSpan pop() {
-        return activeSpanStack.removeLast();
+        AbstractSpan span = activeSpanStack[--activeSpanStackDepth];
+        activeSpanStack[activeSpanStackDepth] = null;
+        return span;
     }
 
     /**
@@ -514,7 +491,10 @@ public class TracingContext implements AbstractTracerContext {
      * @param span
      */
     private AbstractSpan push(AbstractSpan span) {
-        activeSpanStack.addLast(span);
+        if (activeSpanStackDepth == activeSpanStack.length) {
+            activeSpanStack = Arrays.copyOf(activeSpanStack, activeSpanStack.length * 2);
+        }
+        activeSpanStack[activeSpanStackDepth++] = span;
         return span;
     }
 
@@ -522,14 +502,17 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack' only.
      */
     private AbstractSpan peek() {
-        if (activeSpanStack.isEmpty()) {
+        if (activeSpanStackDepth == 0) {
             return null;
         }
-        return activeSpanStack.getLast();
+        return activeSpanStack[activeSpanStackDepth - 1];
     }
 
     private AbstractSpan first() {
-        return activeSpanStack.getFirst();
+        if (activeSpanStackDepth == 0) {
+            throw new NoSuchElementException();
+        }
+        return activeSpanStack[0];
     }
 
     private boolean isLimitMechanismWorking() {
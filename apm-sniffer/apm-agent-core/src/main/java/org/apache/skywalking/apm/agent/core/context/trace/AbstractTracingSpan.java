@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import java.util.*;
 import org.apache.skywalking.apm.agent.core.context.*;
 import org.apache.skywalking.apm.agent.core.context.tag.*;
@@ -143,7 +145,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public AbstractTracingSpan log(Throwable t) {
         if (logs == null) {
-            logs = new LinkedList<LogDataEntity>();
+            logs = new ArrayList<LogDataEntity>(4);
         }
         logs.add(new LogDataEntity.Builder()
             .add(new KeyValuePair("event", "error"))
@@ -163,7 +165,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public AbstractTracingSpan log(long timestampMicroseconds, Map<String, ?> fields) {
         if (logs == null) {
-            logs = new LinkedList<LogDataEntity>();
+            logs = new ArrayList<LogDataEntity>(4);
         }
         LogDataEntity.Builder builder = new LogDataEntity.Builder();
         for (Map.Entry<String, ?> entry : fields.entrySet()) {
@@ -312,9 +314,119 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         return spanBuilder;
     }
 
+    /**
+     * @return the size of the {@link SpanObjectV2}, in the same format of {@link #transform()}.
+     */
+    public int computeSize() {
+        int size = ProtobufUtil.computeInt32Size(1, spanId);
+        size += ProtobufUtil.computeInt32Size(2, parentSpanId);
+        size += ProtobufUtil.computeInt64Size(3, startTime);
+        size += ProtobufUtil.computeInt64Size(4, endTime);
+        if (this.refs != null) {
+            for (TraceSegmentRef ref : this.refs) {
+                size += ProtobufUtil.computeMessageSize(5, ref.computeSize());
+            }
+        }
+        if (operationId != DictionaryUtil.nullValue()) {
+            size += ProtobufUtil.computeInt32Size(6, operationId);
+        } else {
+            size += ProtobufUtil.computeStringSize(7, operationName);
+        }
+        size += computePeerSize();
+        size += ProtobufUtil.computeInt32Size(10, spanType());
+        if (this.layer != null) {
+            size += ProtobufUtil.computeInt32Size(11, this.layer.getCode());
+        }
+        if (componentId != DictionaryUtil.nullValue()) {
+            size += ProtobufUtil.computeInt32Size(12, componentId);
+        } else {
+            size += ProtobufUtil.computeStringSize(13, componentName);
+        }
+        if (errorOccurred) {
+            size += CodedOutputStream.computeBoolSize(14, true);
+        }
+        if (this.tags != null) {
+            for (TagValuePair tag : this.tags) {
+                size += ProtobufUtil.computeMessageSize(15, tag.computeSize());
+            }
+        }
+        if (this.logs != null) {
+            for (LogDataEntity log : this.logs) {
+                size += ProtobufUtil.computeMessageSize(16, log.computeSize());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Write the span in the format of {@link SpanObjectV2}, the fields are in the order of field number, so the bytes
+     * are the same as {@link #transform()}.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        ProtobufUtil.writeInt32(output, 1, spanId);
+        ProtobufUtil.writeInt32(output, 2, parentSpanId);
+        ProtobufUtil.writeInt64(output, 3, startTime);
+        ProtobufUtil.writeInt64(output, 4, endTime);
+        if (this.refs != null) {
+            for (TraceSegmentRef ref : this.refs) {
+                ProtobufUtil.writeMessageHeader(output, 5, ref.computeSize());
+                ref.writeTo(output);
+            }
+        }
+        if (operationId != DictionaryUtil.nullValue()) {
+            ProtobufUtil.writeInt32(output, 6, operationId);
+        } else {
+            ProtobufUtil.writeString(output, 7, operationName);
+        }
+        writePeerTo(output);
+        ProtobufUtil.writeInt32(output, 10, spanType());
+        if (this.layer != null) {
+            ProtobufUtil.writeInt32(output, 11, this.layer.getCode());
+        }
+        if (componentId != DictionaryUtil.nullValue()) {
+            ProtobufUtil.writeInt32(output, 12, componentId);
+        } else {
+            ProtobufUtil.writeString(output, 13, componentName);
+        }
+        if (errorOccurred) {
+            output.writeBool(14, true);
+        }
+        if (this.tags != null) {
+            for (TagValuePair tag : this.tags) {
+                tag.writeTo(output, 15);
+            }
+        }
+        if (this.logs != null) {
+            for (LogDataEntity log : this.logs) {
+                ProtobufUtil.writeMessageHeader(output, 16, log.computeSize());
+                log.writeTo(output);
+            }
+        }
+    }
+
+    /**
+     * The peer fields, 8 and 9, only exist in the spans with peer.
+     */
+    protected int computePeerSize() {
+        return 0;
+    }
+
+    protected void writePeerTo(CodedOutputStream output) throws IOException {
+    }
+
+    private int spanType() {
+        if (isEntry()) {
+            return SpanType.Entry_VALUE;
+        } else if (isExit()) {
+            return SpanType.Exit_VALUE;
+        } else {
+            return SpanType.Local_VALUE;
+        }
+    }
+
     @Override public void ref(TraceSegmentRef ref) {
         if (refs == null) {
-            refs = new LinkedList<TraceSegmentRef>();
+            refs = new ArrayList<TraceSegmentRef>(2);
         }
         if (!refs.contains(ref)) {
             refs.add(ref);
@@ -18,9 +18,12 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
+import org.apache.skywalking.apm.agent.core.context.util.ProtobufUtil;
 import org.apache.skywalking.apm.network.language.agent.v2.Log;
 
 /**
@@ -32,6 +35,10 @@ import org.apache.skywalking.apm.network.language.agent.v2.Log;
 public class LogDataEntity {
     private long timestamp = 0;
     private List<KeyValuePair> logs;
+    /**
+     * The log doesn't change after built, its size is computed once.
+     */
+    private int memoizedSize = -1;
 
     private LogDataEntity(long timestamp, List<KeyValuePair> logs) {
         this.timestamp = timestamp;
@@ -69,4 +76,26 @@ public class LogDataEntity {
         logMessageBuilder.setTime(timestamp);
         return logMessageBuilder.build();
     }
+
+    /**
+     * @return the size of the {@link Log}, in the same format of {@link #transform()}.
+     */
+    public int computeSize() {
+        if (memoizedSize >= 0) {
+            return memoizedSize;
+        }
+        int size = ProtobufUtil.computeInt64Size(1, timestamp);
+        for (KeyValuePair log : logs) {
+            size += ProtobufUtil.computeMessageSize(2, log.computeSize());
+        }
+        memoizedSize = size;
+        return size;
+    }
+
+    public void writeTo(CodedOutputStream output) throws IOException {
+        ProtobufUtil.writeInt64(output, 1, timestamp);
+        for (KeyValuePair log : logs) {
+            log.writeTo(output, 2);
+        }
+    }
 }
@@ -18,9 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import org.apache.skywalking.apm.agent.core.context.util.ProtobufUtil;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryManager;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
-import org.apache.skywalking.apm.agent.core.dictionary.PossibleFound;
 import org.apache.skywalking.apm.network.language.agent.v2.SpanObjectV2;
 
 /**
@@ -86,24 +88,30 @@ public abstract class StackBasedTracingSpan extends AbstractTracingSpan {
         return spanBuilder;
     }
 
+    @Override
+    protected int computePeerSize() {
+        if (peerId != DictionaryUtil.nullValue()) {
+            return ProtobufUtil.computeInt32Size(8, peerId);
+        } else {
+            return ProtobufUtil.computeStringSize(9, peer);
+        }
+    }
+
+    @Override
+    protected void writePeerTo(CodedOutputStream output) throws IOException {
+        if (peerId != DictionaryUtil.nullValue()) {
+            ProtobufUtil.writeInt32(output, 8, peerId);
+        } else {
+            ProtobufUtil.writeString(output, 9, peer);
+        }
+    }
+
     @Override
     public boolean finish(TraceSegment owner) {
         if (--stackDepth == 0) {
             if (this.operationId == DictionaryUtil.nullValue()) {
-                this.operationId = (Integer)DictionaryManager.findEndpointSection()
-                    .findOrPrepare4Register(owner.getServiceId(), operationName, this.isEntry(), this.isExit())
-                    .doInCondition(
-                        new PossibleFound.FoundAndObtain() {
-                            @Override public Object doProcess(int value) {
-                                return value;
-                            }
-                        },
-                        new PossibleFound.NotFoundAndObtain() {
-                            @Override public Object doProcess() {
-                                return DictionaryUtil.nullValue();
-                            }
-                        }
-                    );
+                this.operationId = DictionaryManager.findEndpointSection()
+                    .findOrPrepare4RegisterId(owner.getServiceId(), operationName, this.isEntry(), this.isExit());
             }
             return super.finish(owner);
         } else {
@@ -112,19 +120,12 @@ public abstract class StackBasedTracingSpan extends AbstractTracingSpan {
     }
 
     @Override public AbstractSpan setPeer(final String remotePeer) {
-        DictionaryManager.findNetworkAddressSection().find(remotePeer).doInCondition(
-            new PossibleFound.Found() {
-                @Override
-                public void doProcess(int remotePeerId) {
-                    peerId = remotePeerId;
-                }
-            }, new PossibleFound.NotFound() {
-                @Override
-                public void doProcess() {
-                    peer = remotePeer;
-                }
-            }
-        );
+        int remotePeerId = DictionaryManager.findNetworkAddressSection().findId(remotePeer);
+        if (DictionaryUtil.isNull(remotePeerId)) {
+            peer = remotePeer;
+        } else {
+            peerId = remotePeerId;
+        }
         return this;
     }
 }
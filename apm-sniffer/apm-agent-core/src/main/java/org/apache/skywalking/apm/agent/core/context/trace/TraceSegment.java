@@ -19,7 +19,9 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
-import java.util.LinkedList;
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
 import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
@@ -27,6 +29,7 @@ import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceIds;
 import org.apache.skywalking.apm.agent.core.context.ids.GlobalIdGenerator;
 import org.apache.skywalking.apm.agent.core.context.ids.ID;
 import org.apache.skywalking.apm.agent.core.context.ids.NewDistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.util.ProtobufUtil;
 import org.apache.skywalking.apm.network.language.agent.*;
 import org.apache.skywalking.apm.network.language.agent.v2.SegmentObject;
 
@@ -72,12 +75,18 @@ public class TraceSegment {
 
     private boolean isSizeLimited = false;
 
+    /**
+     * The sizes of the spans, computed by {@link #computeSize()} and used by {@link #writeTo(CodedOutputStream)}, so
+     * the size of a span is only computed once, as the memoizedSize of the generated protobuf messages.
+     */
+    private int[] spanSizes;
+
     /**
      * Create a default/empty trace segment, with current time as start time, and generate a new segment id.
      */
     public TraceSegment() {
         this.traceSegmentId = GlobalIdGenerator.generate();
-        this.spans = new LinkedList<AbstractTracingSpan>();
+        this.spans = new ArrayList<AbstractTracingSpan>();
         this.relatedGlobalTraces = new DistributedTraceIds();
         this.relatedGlobalTraces.append(new NewDistributedTraceId());
     }
@@ -89,7 +98,7 @@ public class TraceSegment {
      */
     public void ref(TraceSegmentRef refSegment) {
         if (refs == null) {
-            refs = new LinkedList<TraceSegmentRef>();
+            refs = new ArrayList<TraceSegmentRef>(2);
         }
         if (!refs.contains(refSegment)) {
             refs.add(refSegment);
@@ -154,7 +163,8 @@ public class TraceSegment {
     }
 
     /**
-     * This is a high CPU cost method, only called when sending to collector or test cases.
+     * This is a high CPU cost method, only called in test cases. The segment is sent to collector through {@link
+     * #writeTo(CodedOutputStream)}, see TraceSegmentSerializer.
      *
      * @return the segment as GRPC service parameter
      */
@@ -182,6 +192,46 @@ public class TraceSegment {
         return upstreamBuilder.build();
     }
 
+    /**
+     * @return the size of the {@link SegmentObject}, in the same format of {@link #transform()}.
+     */
+    public int computeSize() {
+        int size = ProtobufUtil.computeMessageSize(1, traceSegmentId.computeSize());
+        spanSizes = new int[this.spans.size()];
+        for (int i = 0; i < spanSizes.length; i++) {
+            spanSizes[i] = this.spans.get(i).computeSize();
+            size += ProtobufUtil.computeMessageSize(2, spanSizes[i]);
+        }
+        size += ProtobufUtil.computeInt32Size(3, RemoteDownstreamConfig.Agent.SERVICE_ID);
+        size += ProtobufUtil.computeInt32Size(4, RemoteDownstreamConfig.Agent.SERVICE_INSTANCE_ID);
+        if (this.isSizeLimited) {
+            size += CodedOutputStream.computeBoolSize(5, true);
+        }
+        return size;
+    }
+
+    /**
+     * Write the segment in the format of {@link SegmentObject} directly, which is the cheap way of {@link
+     * #transform()}. The output should have at least {@link #computeSize()} bytes, and the span sizes computed by it
+     * are reused.
+     */
+    public void writeTo(CodedOutputStream output) throws IOException {
+        if (spanSizes == null || spanSizes.length != this.spans.size()) {
+            computeSize();
+        }
+        ProtobufUtil.writeMessageHeader(output, 1, traceSegmentId.computeSize());
+        traceSegmentId.writeTo(output);
+        for (int i = 0; i < spanSizes.length; i++) {
+            ProtobufUtil.writeMessageHeader(output, 2, spanSizes[i]);
+            this.spans.get(i).writeTo(output);
+        }
+        ProtobufUtil.writeInt32(output, 3, RemoteDownstreamConfig.Agent.SERVICE_ID);
+        ProtobufUtil.writeInt32(output, 4, RemoteDownstreamConfig.Agent.SERVICE_INSTANCE_ID);
+        if (this.isSizeLimited) {
+            output.writeBool(5, true);
+        }
+    }
+
     @Override
     public String toString() {
         return "TraceSegment{" +
@@ -19,6 +19,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.util;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import org.apache.skywalking.apm.network.common.KeyStringValuePair;
 
 /**
@@ -51,4 +53,15 @@ public class KeyValuePair {
         }
         return keyValueBuilder.build();
     }
+
+    /**
+     * @return the size of the KeyStringValuePair, in the same format of {@link #transform()}.
+     */
+    public int computeSize() {
+        return ProtobufUtil.computeKeyValueSize(key, value);
+    }
+
+    public void writeTo(CodedOutputStream output, int fieldNumber) throws IOException {
+        ProtobufUtil.writeKeyValue(output, fieldNumber, key, value);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import org.apache.skywalking.apm.util.StringUtil;
+
+/**
+ * Helpers to write the tracing data in protobuf format directly, without the generated builders. Same as the generated
+ * code of proto3, the fields in default value, 0, false or empty string, are not written.
+ */
+public class ProtobufUtil {
+    /**
+     * @param size of the nested message.
+     * @return the size of the nested message field, including the tag and the length.
+     */
+    public static int computeMessageSize(int fieldNumber, int size) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    /**
+     * Write the tag and length of the nested message, the message itself should be written right after.
+     */
+    public static void writeMessageHeader(CodedOutputStream output, int fieldNumber,
+        int size) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+    }
+
+    public static int computeStringSize(int fieldNumber, String value) {
+        return StringUtil.isEmpty(value) ? 0 : CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+
+    public static void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+        if (!StringUtil.isEmpty(value)) {
+            output.writeString(fieldNumber, value);
+        }
+    }
+
+    public static int computeInt32Size(int fieldNumber, int value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt32Size(fieldNumber, value);
+    }
+
+    public static void writeInt32(CodedOutputStream output, int fieldNumber, int value) throws IOException {
+        if (value != 0) {
+            output.writeInt32(fieldNumber, value);
+        }
+    }
+
+    public static int computeInt64Size(int fieldNumber, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(fieldNumber, value);
+    }
+
+    public static void writeInt64(CodedOutputStream output, int fieldNumber, long value) throws IOException {
+        if (value != 0) {
+            output.writeInt64(fieldNumber, value);
+        }
+    }
+
+    /**
+     * @return the size of a KeyStringValuePair message, not including the tag and length.
+     */
+    public static int computeKeyValueSize(String key, String value) {
+        return computeStringSize(1, key) + computeStringSize(2, value);
+    }
+
+    public static void writeKeyValue(CodedOutputStream output, int fieldNumber, String key,
+        String value) throws IOException {
+        writeMessageHeader(output, fieldNumber, computeKeyValueSize(key, value));
+        writeString(output, 1, key);
+        writeString(output, 2, value);
+    }
+}
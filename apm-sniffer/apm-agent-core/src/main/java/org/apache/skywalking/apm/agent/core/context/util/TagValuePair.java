@@ -17,6 +17,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.util;
 
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
 import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
 import org.apache.skywalking.apm.network.common.KeyStringValuePair;
 
@@ -46,6 +48,17 @@ public class TagValuePair {
         return keyValueBuilder.build();
     }
 
+    /**
+     * @return the size of the KeyStringValuePair, in the same format of {@link #transform()}.
+     */
+    public int computeSize() {
+        return ProtobufUtil.computeKeyValueSize(key.key(), value);
+    }
+
+    public void writeTo(CodedOutputStream output, int fieldNumber) throws IOException {
+        ProtobufUtil.writeKeyValue(output, fieldNumber, key.key(), value);
+    }
+
     public boolean sameWith(AbstractTag tag) {
         return key.isCanOverwrite() && key.getId() == tag.getId();
     }
@@ -45,28 +45,51 @@ public enum EndpointNameDictionary {
 
     public PossibleFound findOrPrepare4Register(int serviceId, String endpointName,
         boolean isEntry, boolean isExit) {
-        return find0(serviceId, endpointName, isEntry, isExit, true);
+        return toPossibleFound(findOrPrepare4RegisterId(serviceId, endpointName, isEntry, isExit));
     }
 
     public PossibleFound findOnly(int serviceId, String endpointName) {
+        return toPossibleFound(findOnlyId(serviceId, endpointName));
+    }
+
+    /**
+     * Same as {@link #findOrPrepare4Register(int, String, boolean, boolean)}, but without the {@link PossibleFound}
+     * wrapper.
+     *
+     * @return the endpoint id, or {@link DictionaryUtil#nullValue()} if not found.
+     */
+    public int findOrPrepare4RegisterId(int serviceId, String endpointName, boolean isEntry, boolean isExit) {
+        return find0(serviceId, endpointName, isEntry, isExit, true);
+    }
+
+    /**
+     * Same as {@link #findOnly(int, String)}, but without the {@link PossibleFound} wrapper.
+     *
+     * @return the endpoint id, or {@link DictionaryUtil#nullValue()} if not found.
+     */
+    public int findOnlyId(int serviceId, String endpointName) {
         return find0(serviceId, endpointName, false, false, false);
     }
 
-    private PossibleFound find0(int serviceId, String endpointName,
+    private PossibleFound toPossibleFound(int operationId) {
+        return DictionaryUtil.isNull(operationId) ? new NotFound() : new Found(operationId);
+    }
+
+    private int find0(int serviceId, String endpointName,
         boolean isEntry, boolean isExit, boolean registerWhenNotFound) {
         if (endpointName == null || endpointName.length() == 0) {
-            return new NotFound();
+            return DictionaryUtil.nullValue();
         }
         OperationNameKey key = new OperationNameKey(serviceId, endpointName, isEntry, isExit);
         Integer operationId = endpointDictionary.get(key);
         if (operationId != null) {
-            return new Found(operationId);
+            return operationId;
         } else {
             if (registerWhenNotFound &&
                 endpointDictionary.size() + unRegisterEndpoints.size() < ENDPOINT_NAME_BUFFER_SIZE) {
                 unRegisterEndpoints.add(key);
             }
-            return new NotFound();
+            return DictionaryUtil.nullValue();
         }
     }
 
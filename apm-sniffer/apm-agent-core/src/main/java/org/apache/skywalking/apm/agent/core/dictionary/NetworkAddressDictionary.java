@@ -42,14 +42,24 @@ public enum NetworkAddressDictionary {
     private Set<String> unRegisterServices = new ConcurrentSet<String>();
 
     public PossibleFound find(String networkAddress) {
+        int applicationId = findId(networkAddress);
+        return DictionaryUtil.isNull(applicationId) ? new NotFound() : new Found(applicationId);
+    }
+
+    /**
+     * Same as {@link #find(String)}, but without the {@link PossibleFound} wrapper.
+     *
+     * @return the address id, or {@link DictionaryUtil#nullValue()} if not found.
+     */
+    public int findId(String networkAddress) {
         Integer applicationId = applicationDictionary.get(networkAddress);
         if (applicationId != null) {
-            return new Found(applicationId);
+            return applicationId;
         } else {
             if (applicationDictionary.size() + unRegisterServices.size() < SERVICE_CODE_BUFFER_SIZE) {
                 unRegisterServices.add(networkAddress);
             }
-            return new NotFound();
+            return DictionaryUtil.nullValue();
         }
     }
 
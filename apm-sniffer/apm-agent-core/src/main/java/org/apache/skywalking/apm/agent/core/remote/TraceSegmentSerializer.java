@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.network.language.agent.UpstreamSegment;
+
+/**
+ * The <code>TraceSegmentSerializer</code> writes the {@link TraceSegment} into protobuf bytes directly, rather than
+ * building the SegmentObject and SpanObjectV2 messages by {@link TraceSegment#transform()}. The buffer is reused
+ * between segments, so it should only be used by one thread, the consumer thread of {@link TraceSegmentServiceClient}.
+ */
+public class TraceSegmentSerializer {
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * @return the same message as {@link TraceSegment#transform()}.
+     */
+    public UpstreamSegment serialize(TraceSegment segment) throws IOException {
+        UpstreamSegment.Builder upstreamBuilder = UpstreamSegment.newBuilder();
+        for (DistributedTraceId distributedTraceId : segment.getRelatedGlobalTraces()) {
+            upstreamBuilder.addGlobalTraceIds(distributedTraceId.toUniqueId());
+        }
+
+        int size = segment.computeSize();
+        if (buffer.length < size) {
+            buffer = new byte[Math.max(size, buffer.length * 2)];
+        }
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer, 0, size);
+        segment.writeTo(output);
+        output.checkNoSpaceLeft();
+
+        upstreamBuilder.setSegment(ByteString.copyFrom(buffer, 0, size));
+        return upstreamBuilder.build();
+    }
+}
@@ -26,8 +26,9 @@ import org.apache.skywalking.apm.agent.core.context.*;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.*;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
-import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.*;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.partition.ThreadAffinityPartitioner;
 import org.apache.skywalking.apm.network.common.Commands;
 import org.apache.skywalking.apm.network.language.agent.*;
 import org.apache.skywalking.apm.network.language.agent.v2.TraceSegmentReportServiceGrpc;
@@ -47,6 +48,7 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     private long segmentUplinkedCounter;
     private long segmentAbandonedCounter;
     private volatile DataCarrier<TraceSegment> carrier;
+    private final TraceSegmentSerializer serializer = new TraceSegmentSerializer();
     private volatile TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub;
     private volatile GRPCChannelStatus status = GRPCChannelStatus.DISCONNECT;
 
@@ -60,7 +62,8 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         lastLogTime = System.currentTimeMillis();
         segmentUplinkedCounter = 0;
         segmentAbandonedCounter = 0;
-        carrier = new DataCarrier<TraceSegment>(CHANNEL_SIZE, BUFFER_SIZE);
+        carrier = new DataCarrier<TraceSegment>(CHANNEL_SIZE, BUFFER_SIZE, BufferType.WAIT_FREE);
+        carrier.setPartitioner(new ThreadAffinityPartitioner<TraceSegment>());
         carrier.setBufferStrategy(BufferStrategy.IF_POSSIBLE);
         carrier.consume(this, 1);
     }
@@ -107,7 +110,7 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
             try {
                 for (TraceSegment segment : data) {
-                    UpstreamSegment upstreamSegment = segment.transform();
+                    UpstreamSegment upstreamSegment = serializer.serialize(segment);
                     upstreamSegmentStreamObserver.onNext(upstreamSegment);
                 }
                 upstreamSegmentStreamObserver.onCompleted();
@@ -161,6 +164,17 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         }
     }
 
+    /**
+     * @return the number of segments waiting to be sent. When the channel isn't connected, nothing could be sent, so
+     * the whole buffer is counted.
+     */
+    public long getUplinkBacklog() {
+        if (!CONNECTED.equals(status) || carrier == null) {
+            return (long)CHANNEL_SIZE * BUFFER_SIZE;
+        }
+        return carrier.getDataSize();
+    }
+
     @Override
     public void statusChanged(GRPCChannelStatus status) {
         if (CONNECTED.equals(status)) {
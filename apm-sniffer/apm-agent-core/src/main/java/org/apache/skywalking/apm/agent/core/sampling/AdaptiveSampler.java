@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The <code>AdaptiveSampler</code> samples the segments by the tokens, which are refilled every second by {@link
+ * #adjust(long)}.
+ * <p>
+ * The tokens of the global budget are split into stripes, and a thread takes the tokens from the stripe of its own
+ * first, so the threads don't race on one counter. The budget is halved when the uplink backlog is over the half of
+ * its capacity, and grows back step by step to the max rate when the backlog is low.
+ * <p>
+ * Every endpoint has its own bucket, which is taken before the global budget, so the rarely accessed endpoints are
+ * sampled even when the hot endpoints use up the global budget. The segments sampled by the endpoint buckets take the
+ * global tokens too, if there are, and the size of the buckets shrinks with the budget when the backlog is high. The
+ * buckets not used in {@link #IDLE_WINDOWS} seconds are evicted.
+ */
+public class AdaptiveSampler {
+    /**
+     * The endpoints beyond this only take the global budget, in case of the endpoint names with parameters.
+     */
+    private static final int MAX_ENDPOINT_BUCKETS = 1000;
+    private static final int IDLE_WINDOWS = 60;
+    /**
+     * One stripe per cache line, 16 ints.
+     */
+    private static final int STRIPE_PADDING = 16;
+    private static final int MAX_STRIPES = 64;
+
+    private final int maxRate;
+    private final int endpointRate;
+    private final long backlogCapacity;
+    private final int stripeMask;
+    private final AtomicIntegerArray stripes;
+    private final ConcurrentHashMap<String, EndpointBucket> endpointBuckets;
+    private volatile int rate;
+    private volatile int endpointLimit;
+    private volatile int window;
+    /**
+     * The window in which all the stripes are found empty, the later threads fail fast rather than scan the stripes.
+     */
+    private volatile int exhaustedWindow = -1;
+
+    /**
+     * @param maxRate the max sampled segments per second of the global budget
+     * @param endpointRate the sampled segments per second of every endpoint, even if the global budget is used up
+     * @param backlogCapacity the capacity of the uplink buffer
+     */
+    public AdaptiveSampler(int maxRate, int endpointRate, long backlogCapacity) {
+        this.maxRate = maxRate;
+        this.endpointRate = endpointRate;
+        this.backlogCapacity = backlogCapacity;
+        int stripeSize = 1;
+        while (stripeSize < Runtime.getRuntime().availableProcessors() && stripeSize < MAX_STRIPES) {
+            stripeSize <<= 1;
+        }
+        this.stripeMask = stripeSize - 1;
+        this.stripes = new AtomicIntegerArray(stripeSize * STRIPE_PADDING);
+        this.endpointBuckets = new ConcurrentHashMap<String, EndpointBucket>();
+        this.rate = maxRate;
+        this.endpointLimit = endpointRate;
+        refill();
+    }
+
+    /**
+     * @param endpointName the operation name of the first span, could be null.
+     * @return true if the segment should be sampled.
+     */
+    public boolean trySampling(String endpointName) {
+        if (endpointName != null && endpointRate > 0) {
+            EndpointBucket bucket = endpointBuckets.get(endpointName);
+            if (bucket == null && endpointBuckets.size() < MAX_ENDPOINT_BUCKETS) {
+                bucket = new EndpointBucket();
+                EndpointBucket previous = endpointBuckets.putIfAbsent(endpointName, bucket);
+                if (previous != null) {
+                    bucket = previous;
+                }
+            }
+            if (bucket != null && bucket.tryAcquire(window, endpointLimit)) {
+                tryAcquire();
+                return true;
+            }
+        }
+        return tryAcquire();
+    }
+
+    /**
+     * The segment is sampled anyway, take a token from the global budget if there is.
+     */
+    public void forceSampled() {
+        tryAcquire();
+    }
+
+    /**
+     * Called every second, adjust the rate by the backlog, refill the tokens, and evict the idle endpoint buckets.
+     *
+     * @param backlog the number of segments waiting to be sent.
+     */
+    public void adjust(long backlog) {
+        if (backlog * 2 > backlogCapacity) {
+            rate = Math.max(1, rate / 2);
+        } else if (backlog * 10 < backlogCapacity) {
+            rate = Math.min(maxRate, rate + Math.max(1, maxRate / 10));
+        }
+        endpointLimit = (int)((long)endpointRate * rate / maxRate);
+        refill();
+        window++;
+        if (window % IDLE_WINDOWS == 0) {
+            evictIdleBuckets();
+        }
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    private void refill() {
+        int stripeSize = stripeMask + 1;
+        int tokens = rate / stripeSize;
+        int remainder = rate % stripeSize;
+        for (int i = 0; i < stripeSize; i++) {
+            stripes.set(i * STRIPE_PADDING, i < remainder ? tokens + 1 : tokens);
+        }
+    }
+
+    int getEndpointBucketSize() {
+        return endpointBuckets.size();
+    }
+
+    private void evictIdleBuckets() {
+        Iterator<EndpointBucket> iterator = endpointBuckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (window - iterator.next().lastWindow() >= IDLE_WINDOWS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        int currentWindow = window;
+        if (exhaustedWindow == currentWindow) {
+            return false;
+        }
+        int start = (int)Thread.currentThread().getId();
+        for (int i = 0; i <= stripeMask; i++) {
+            int index = ((start + i) & stripeMask) * STRIPE_PADDING;
+            int tokens;
+            while ((tokens = stripes.get(index)) > 0) {
+                if (stripes.compareAndSet(index, tokens, tokens - 1)) {
+                    return true;
+                }
+            }
+        }
+        exhaustedWindow = currentWindow;
+        return false;
+    }
+
+    /**
+     * The window and the used tokens in the window are in one long, the window in the high 32 bits, so they are
+     * updated together by one CAS.
+     */
+    private static class EndpointBucket {
+        private final AtomicLong state = new AtomicLong();
+
+        private int lastWindow() {
+            return (int)(state.get() >>> 32);
+        }
+
+        private boolean tryAcquire(int window, int limit) {
+            while (true) {
+                long current = state.get();
+                int used = (int)(current >>> 32) == window ? (int)current : 0;
+                if (used >= limit) {
+                    return false;
+                }
+                if (state.compareAndSet(current, ((long)window << 32) | (used + 1))) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -27,10 +27,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
 import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 
 /**
@@ -39,6 +41,9 @@ import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
  * send all of them to collector, if SAMPLING is on.
  * <p>
  * By default, SAMPLING is on, and  {@link Config.Agent#SAMPLE_N_PER_3_SECS }
+ * <p>
+ * If {@link Config.Agent#SAMPLE_SEGMENTS_PER_SECOND} is set, the {@link AdaptiveSampler} takes charge, which follows
+ * the uplink backlog of {@link TraceSegmentServiceClient}.
  *
  * @author wusheng
  */
@@ -47,7 +52,8 @@ public class SamplingService implements BootService {
     private static final ILog logger = LogManager.getLogger(SamplingService.class);
 
     private volatile boolean on = false;
-    private volatile AtomicInteger samplingFactorHolder;
+    private final AtomicInteger samplingFactorHolder = new AtomicInteger(0);
+    private volatile AdaptiveSampler adaptiveSampler;
     private volatile ScheduledFuture<?> scheduledFuture;
 
     @Override
@@ -64,25 +70,41 @@ public class SamplingService implements BootService {
              */
             scheduledFuture.cancel(true);
         }
-        if (Config.Agent.SAMPLE_N_PER_3_SECS > 0) {
+        if (Config.Agent.SAMPLE_SEGMENTS_PER_SECOND > 0) {
+            on = true;
+            adaptiveSampler = new AdaptiveSampler(Config.Agent.SAMPLE_SEGMENTS_PER_SECOND,
+                Config.Agent.SAMPLE_PER_ENDPOINT_PER_SECOND, (long)Config.Buffer.CHANNEL_SIZE * Config.Buffer.BUFFER_SIZE);
+            schedule(new Runnable() {
+                @Override
+                public void run() {
+                    adjustAdaptiveSampler();
+                }
+            }, 1, 1);
+            logger.debug("Agent adaptive sampling mechanism started. Sample {} traces per second tops.", Config.Agent.SAMPLE_SEGMENTS_PER_SECOND);
+        } else if (Config.Agent.SAMPLE_N_PER_3_SECS > 0) {
             on = true;
+            adaptiveSampler = null;
             this.resetSamplingFactor();
-            ScheduledExecutorService service = Executors
-                .newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("SamplingService"));
-            scheduledFuture = service.scheduleAtFixedRate(new RunnableWithExceptionProtection(new Runnable() {
+            schedule(new Runnable() {
                 @Override
                 public void run() {
                     resetSamplingFactor();
                 }
-            }, new RunnableWithExceptionProtection.CallbackWhenException() {
-                @Override public void handle(Throwable t) {
-                    logger.error("unexpected exception.", t);
-                }
-            }), 0, 3, TimeUnit.SECONDS);
+            }, 0, 3);
             logger.debug("Agent sampling mechanism started. Sample {} traces in 3 seconds.", Config.Agent.SAMPLE_N_PER_3_SECS);
         }
     }
 
+    private void schedule(Runnable runnable, long initialDelay, long period) {
+        ScheduledExecutorService service = Executors
+            .newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("SamplingService"));
+        scheduledFuture = service.scheduleAtFixedRate(new RunnableWithExceptionProtection(runnable, new RunnableWithExceptionProtection.CallbackWhenException() {
+            @Override public void handle(Throwable t) {
+                logger.error("unexpected exception.", t);
+            }
+        }), initialDelay, period, TimeUnit.SECONDS);
+    }
+
     @Override
     public void onComplete() throws Throwable {
 
@@ -99,7 +121,19 @@ public class SamplingService implements BootService {
      * @return true, if sampling mechanism is on, and getDefault the sampling factor successfully.
      */
     public boolean trySampling() {
+        return trySampling(null);
+    }
+
+    /**
+     * @param operationName of the first span, the adaptive sampling keeps a few segments for every operation name.
+     * @return true, if sampling mechanism is on, and getDefault the sampling factor successfully.
+     */
+    public boolean trySampling(String operationName) {
         if (on) {
+            AdaptiveSampler sampler = adaptiveSampler;
+            if (sampler != null) {
+                return sampler.trySampling(operationName);
+            }
             int factor = samplingFactorHolder.get();
             if (factor < Config.Agent.SAMPLE_N_PER_3_SECS) {
                 boolean success = samplingFactorHolder.compareAndSet(factor, factor + 1);
@@ -119,11 +153,21 @@ public class SamplingService implements BootService {
      */
     public void forceSampled() {
         if (on) {
-            samplingFactorHolder.incrementAndGet();
+            AdaptiveSampler sampler = adaptiveSampler;
+            if (sampler != null) {
+                sampler.forceSampled();
+            } else {
+                samplingFactorHolder.incrementAndGet();
+            }
         }
     }
 
     private void resetSamplingFactor() {
-        samplingFactorHolder = new AtomicInteger(0);
+        samplingFactorHolder.set(0);
+    }
+
+    private void adjustAdaptiveSampler() {
+        long backlog = ServiceManager.INSTANCE.findService(TraceSegmentServiceClient.class).getUplinkBacklog();
+        adaptiveSampler.adjust(backlog);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
+import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.network.language.agent.UpstreamSegment;
+import org.apache.skywalking.apm.network.language.agent.v2.SegmentObject;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(TracingSegmentRunner.class)
+public class TraceSegmentSerializerTest {
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @SegmentStoragePoint
+    private SegmentStorage storage;
+
+    @Before
+    public void setUp() {
+        RemoteDownstreamConfig.Agent.SERVICE_ID = 1;
+        RemoteDownstreamConfig.Agent.SERVICE_INSTANCE_ID = 1;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Test
+    public void testSameAsTransform() throws Exception {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        ContextManager.createExitSpan("/testParentExitSpan", contextCarrier, "127.0.0.1:8080");
+        ContextManager.stopSpan();
+
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntrySpan", contextCarrier);
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        Tags.HTTP.METHOD.set(entrySpan, "GET");
+        Tags.URL.set(entrySpan, "127.0.0.1:8080");
+        SpanLayer.asHttp(entrySpan);
+
+        AbstractSpan localSpan = ContextManager.createLocalSpan("/testLocalSpan");
+        localSpan.setComponent("test-component");
+        localSpan.log(new RuntimeException("test"));
+        final ContextSnapshot snapshot = ContextManager.capture();
+        ContextManager.stopSpan();
+
+        ContextCarrier injectContextCarrier = new ContextCarrier();
+        AbstractSpan exitSpan = ContextManager.createExitSpan("/testExitSpan", injectContextCarrier, "127.0.0.1:12800");
+        exitSpan.errorOccurred();
+        Tags.DB_STATEMENT.set(exitSpan, "select * from \u4e2d\u6587");
+        ContextManager.stopSpan();
+
+        ContextManager.stopSpan();
+
+        Thread asyncThread = new Thread() {
+            @Override public void run() {
+                ContextManager.createLocalSpan("/testAsyncSpan");
+                ContextManager.continued(snapshot);
+                ContextManager.stopSpan();
+            }
+        };
+        asyncThread.start();
+        asyncThread.join();
+
+        List<TraceSegment> segments = storage.getTraceSegments();
+        assertThat(segments.size(), is(3));
+        TraceSegmentSerializer serializer = new TraceSegmentSerializer();
+        for (TraceSegment segment : segments) {
+            UpstreamSegment expected = segment.transform();
+            assertThat(serializer.serialize(segment), is(expected));
+            // the buffer is reused, the data of the previous serialization doesn't matter.
+            assertThat(serializer.serialize(segment), is(expected));
+        }
+
+        SegmentObject segmentObject = SegmentObject.parseFrom(serializer.serialize(segments.get(1)).getSegment());
+        assertThat(segmentObject.getSpansCount(), is(3));
+        assertThat(segmentObject.getSpans(0).getLogsCount(), is(1));
+        assertThat(segmentObject.getSpans(1).getIsError(), is(true));
+        assertThat(segmentObject.getSpans(2).getRefsCount(), is(1));
+
+        segmentObject = SegmentObject.parseFrom(serializer.serialize(segments.get(2)).getSegment());
+        assertThat(segmentObject.getSpans(0).getRefsCount(), is(1));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveSamplerTest {
+
+    @Test
+    public void testGlobalBudget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(10, 0, 1000);
+        Assert.assertEquals(10, countSampled(sampler, null, 100));
+
+        sampler.adjust(0);
+        Assert.assertEquals(10, countSampled(sampler, null, 100));
+    }
+
+    @Test
+    public void testEndpointBucket() {
+        AdaptiveSampler sampler = new AdaptiveSampler(5, 1, 1000);
+        Assert.assertEquals(5, countSampled(sampler, "/hot", 100));
+        Assert.assertEquals(1, countSampled(sampler, "/rare", 100));
+
+        sampler.adjust(0);
+        Assert.assertEquals(1, countSampled(sampler, "/rare", 1));
+        Assert.assertEquals(4, countSampled(sampler, "/hot", 100));
+    }
+
+    @Test
+    public void testEndpointBucketShrinksWithBacklog() {
+        AdaptiveSampler sampler = new AdaptiveSampler(4, 2, 1000);
+        sampler.adjust(600);
+        Assert.assertEquals(2, sampler.getRate());
+        Assert.assertEquals(2, countSampled(sampler, "/hot", 100));
+        Assert.assertEquals(1, countSampled(sampler, "/rare", 100));
+
+        sampler.adjust(600);
+        sampler.adjust(600);
+        Assert.assertEquals(1, sampler.getRate());
+        Assert.assertEquals(1, countSampled(sampler, "/hot", 100));
+        Assert.assertEquals(0, countSampled(sampler, "/rare", 100));
+    }
+
+    @Test
+    public void testEvictIdleEndpointBuckets() {
+        AdaptiveSampler sampler = new AdaptiveSampler(5, 1, 1000);
+        countSampled(sampler, "/rare", 1);
+        for (int i = 0; i < 30; i++) {
+            sampler.adjust(0);
+        }
+        countSampled(sampler, "/hot", 1);
+        Assert.assertEquals(2, sampler.getEndpointBucketSize());
+
+        for (int i = 0; i < 30; i++) {
+            sampler.adjust(0);
+        }
+        Assert.assertEquals(1, sampler.getEndpointBucketSize());
+    }
+
+    @Test
+    public void testAdjustByBacklog() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 0, 1000);
+        sampler.adjust(600);
+        Assert.assertEquals(50, sampler.getRate());
+        Assert.assertEquals(50, countSampled(sampler, null, 100));
+        sampler.adjust(600);
+        Assert.assertEquals(25, sampler.getRate());
+
+        sampler.adjust(300);
+        Assert.assertEquals(25, sampler.getRate());
+
+        sampler.adjust(50);
+        Assert.assertEquals(35, sampler.getRate());
+        for (int i = 0; i < 10; i++) {
+            sampler.adjust(0);
+        }
+        Assert.assertEquals(100, sampler.getRate());
+    }
+
+    @Test
+    public void testForceSampled() {
+        AdaptiveSampler sampler = new AdaptiveSampler(3, 0, 1000);
+        sampler.forceSampled();
+        sampler.forceSampled();
+        Assert.assertEquals(1, countSampled(sampler, null, 100));
+    }
+
+    private int countSampled(AdaptiveSampler sampler, String endpointName, int times) {
+        int sampled = 0;
+        for (int i = 0; i < times; i++) {
+            if (sampler.trySampling(endpointName)) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}
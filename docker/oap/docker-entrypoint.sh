@@ -152,6 +152,16 @@ core:
     hourMetricsDataTTL: \${SW_CORE_HOUR_METRIC_DATA_TTL:36} # Unit is hour
     dayMetricsDataTTL: \${SW_CORE_DAY_METRIC_DATA_TTL:45} # Unit is day
     monthMetricsDataTTL: \${SW_CORE_MONTH_METRIC_DATA_TTL:18} # Unit is month
+    # The max number of metrics kept in memory by each persistent worker after being persisted, which avoids reading
+    # them back from the storage before the next update. 0 means disabled.
+    metricsPersistedCacheSize: \${SW_CORE_METRICS_PERSISTED_CACHE_SIZE:10000}
+    # The max number of metrics read from the storage in one request, before being combined and persisted.
+    metricsPersistedReadBatchSize: \${SW_CORE_METRICS_PERSISTED_READ_BATCH_SIZE:1000}
+    # Flush the persistence workers every persistentPeriod seconds. The workers are prepared by persistentPrepareThreads
+    # threads in parallel. In pipelined mode, the bulk execution of one period overlaps with the prepare stage of the next.
+    persistentPeriod: \${SW_CORE_PERSISTENT_PERIOD:3}
+    persistentPrepareThreads: \${SW_CORE_PERSISTENT_PREPARE_THREADS:2}
+    persistentPipelined: \${SW_CORE_PERSISTENT_PIPELINED:false}
 EOT
 
     # generate storage
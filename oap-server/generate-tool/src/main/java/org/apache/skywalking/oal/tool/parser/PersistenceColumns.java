@@ -25,7 +25,7 @@ public class PersistenceColumns {
     private List<PersistenceField> longFields = new LinkedList<>();
     private List<PersistenceField> doubleFields = new LinkedList<>();
     private List<PersistenceField> intFields = new LinkedList<>();
-    private List<PersistenceField> intLongValuePairListFields = new LinkedList<>();
+    private List<PersistenceField> intKeyLongValueMapFields = new LinkedList<>();
 
     public void addStringField(String fieldName) {
         stringFields.add(new PersistenceField(fieldName));
@@ -43,8 +43,8 @@ public class PersistenceColumns {
         intFields.add(new PersistenceField(fieldName));
     }
 
-    public void addIntLongValuePairelistField(String fieldName) {
-        intLongValuePairListFields.add(new PersistenceField(fieldName));
+    public void addIntKeyLongValueMapField(String fieldName) {
+        intKeyLongValueMapFields.add(new PersistenceField(fieldName));
     }
 
     public List<PersistenceField> getStringFields() {
@@ -63,7 +63,7 @@ public class PersistenceColumns {
         return intFields;
     }
 
-    public List<PersistenceField> getIntLongValuePairListFields() {
-        return intLongValuePairListFields;
+    public List<PersistenceField> getIntKeyLongValueMapFields() {
+        return intKeyLongValueMapFields;
     }
 }
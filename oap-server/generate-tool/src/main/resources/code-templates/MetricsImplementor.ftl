@@ -133,8 +133,8 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
 <#list serializeFields.intFields as field>
         remoteBuilder.addDataIntegers(${field.getter}());
 </#list>
-<#list serializeFields.intLongValuePairListFields as field>
-        ${field.getter}().forEach(element -> remoteBuilder.addDataIntLongPairList(element.serialize()));
+<#list serializeFields.intKeyLongValueMapFields as field>
+        remoteBuilder.addDataIntKeyLongValuePairs(${field.getter}().serialize());
 </#list>
 
         return remoteBuilder;
@@ -157,11 +157,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
         ${field.setter}(remoteData.getDataIntegers(${field?index}));
 </#list>
 
-<#list serializeFields.intLongValuePairListFields as field>
-        setDetailGroup(new IntKeyLongValueArray(30));
-        remoteData.getDataIntLongPairListList().forEach(element -> {
-            getDetailGroup().add(new IntKeyLongValue(element.getKey(), element.getValue()));
-        });
+<#list serializeFields.intKeyLongValueMapFields as field>
+        ${field.setter}(new IntKeyLongValueMap());
+        ${field.getter}().deserialize(remoteData.getDataIntKeyLongValuePairs(${field?index}));
 </#list>
 
     }
@@ -179,9 +177,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
     <#elseif field.typeName == "java.lang.String" || field.typeName == "long" || field.typeName == "int" || field.typeName == "double" || field.typeName == "float">
         metrics.${field.fieldSetter}(this.${field.fieldGetter}());
     <#else>
-        ${field.typeName} newValue = new ${field.typeName}();
-        newValue.copyFrom(this.${field.fieldGetter}());
-        metrics.${field.fieldSetter}(newValue);
+        ${field.typeName} ${field.fieldName}NewValue = new ${field.typeName}();
+        ${field.fieldName}NewValue.copyFrom(this.${field.fieldGetter}());
+        metrics.${field.fieldSetter}(${field.fieldName}NewValue);
     </#if>
 </#list>
 <#list persistentFields as field>
@@ -190,9 +188,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
     <#elseif field.typeName == "java.lang.String" || field.typeName == "long" || field.typeName == "int" || field.typeName == "double" || field.typeName == "float">
         metrics.${field.fieldSetter}(this.${field.fieldGetter}());
     <#else>
-        ${field.typeName} newValue = new ${field.typeName}();
-        newValue.copyFrom(this.${field.fieldGetter}());
-        metrics.${field.fieldSetter}(newValue);
+        ${field.typeName} ${field.fieldName}NewValue = new ${field.typeName}();
+        ${field.fieldName}NewValue.copyFrom(this.${field.fieldGetter}());
+        metrics.${field.fieldSetter}(${field.fieldName}NewValue);
     </#if>
 </#list>
         return metrics;
@@ -207,9 +205,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
     <#elseif field.typeName == "java.lang.String" || field.typeName == "long" || field.typeName == "int" || field.typeName == "double" || field.typeName == "float">
         metrics.${field.fieldSetter}(this.${field.fieldGetter}());
     <#else>
-        ${field.typeName} newValue = new ${field.typeName}();
-        newValue.copyFrom(this.${field.fieldGetter}());
-        metrics.${field.fieldSetter}(newValue);
+        ${field.typeName} ${field.fieldName}NewValue = new ${field.typeName}();
+        ${field.fieldName}NewValue.copyFrom(this.${field.fieldGetter}());
+        metrics.${field.fieldSetter}(${field.fieldName}NewValue);
     </#if>
 </#list>
 <#list persistentFields as field>
@@ -218,9 +216,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
     <#elseif field.typeName == "java.lang.String" || field.typeName == "long" || field.typeName == "int" || field.typeName == "double" || field.typeName == "float">
         metrics.${field.fieldSetter}(this.${field.fieldGetter}());
     <#else>
-        ${field.typeName} newValue = new ${field.typeName}();
-        newValue.copyFrom(this.${field.fieldGetter}());
-        metrics.${field.fieldSetter}(newValue);
+        ${field.typeName} ${field.fieldName}NewValue = new ${field.typeName}();
+        ${field.fieldName}NewValue.copyFrom(this.${field.fieldGetter}());
+        metrics.${field.fieldSetter}(${field.fieldName}NewValue);
     </#if>
 </#list>
         return metrics;
@@ -235,9 +233,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
     <#elseif field.typeName == "java.lang.String" || field.typeName == "long" || field.typeName == "int" || field.typeName == "double" || field.typeName == "float">
         metrics.${field.fieldSetter}(this.${field.fieldGetter}());
     <#else>
-        ${field.typeName} newValue = new ${field.typeName}();
-        newValue.copyFrom(this.${field.fieldGetter}());
-        metrics.${field.fieldSetter}(newValue);
+        ${field.typeName} ${field.fieldName}NewValue = new ${field.typeName}();
+        ${field.fieldName}NewValue.copyFrom(this.${field.fieldGetter}());
+        metrics.${field.fieldSetter}(${field.fieldName}NewValue);
     </#if>
 </#list>
 <#list persistentFields as field>
@@ -246,9 +244,9 @@ public class ${metricsName}Metrics extends ${metricsClassName} implements WithMe
     <#elseif field.typeName == "java.lang.String" || field.typeName == "long" || field.typeName == "int" || field.typeName == "double" || field.typeName == "float">
         metrics.${field.fieldSetter}(this.${field.fieldGetter}());
     <#else>
-        ${field.typeName} newValue = new ${field.typeName}();
-        newValue.copyFrom(this.${field.fieldGetter}());
-        metrics.${field.fieldSetter}(newValue);
+        ${field.typeName} ${field.fieldName}NewValue = new ${field.typeName}();
+        ${field.fieldName}NewValue.copyFrom(this.${field.fieldGetter}());
+        metrics.${field.fieldSetter}(${field.fieldName}NewValue);
     </#if>
 </#list>
         return metrics;
@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.core.alarm.provider;
 import java.util.*;
 import java.util.concurrent.*;
 import org.apache.skywalking.oap.server.core.alarm.*;
+import org.apache.skywalking.oap.server.core.analysis.metrics.PercentileMetrics;
 import org.joda.time.*;
 import org.slf4j.*;
 
@@ -46,6 +47,11 @@ public class AlarmCore {
             List<RunningRule> runningRules = runningContext.computeIfAbsent(metricsName, key -> new ArrayList<>());
 
             runningRules.add(runningRule);
+
+            // The Pxx metrics could be a rank of the percentile metrics.
+            if (PercentileMetrics.rankIndexOf(metricsName) >= 0) {
+                runningContext.computeIfAbsent(PercentileMetrics.percentileNameOf(metricsName), key -> new ArrayList<>()).add(runningRule);
+            }
         });
     }
 
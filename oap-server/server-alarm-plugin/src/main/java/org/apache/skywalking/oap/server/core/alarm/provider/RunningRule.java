@@ -48,6 +48,10 @@ public class RunningRule {
     private String ruleName;
     private int period;
     private String metricsName;
+    /**
+     * The index of the rank in {@link PercentileMetrics#RANKS}, if the metrics name is like the Pxx metrics.
+     */
+    private final int rankIndex;
     private final Threshold threshold;
     private final OP op;
     private final int countThreshold;
@@ -60,6 +64,7 @@ public class RunningRule {
 
     public RunningRule(AlarmRule alarmRule) {
         metricsName = alarmRule.getMetricsName();
+        rankIndex = PercentileMetrics.rankIndexOf(metricsName);
         this.ruleName = alarmRule.getAlarmRuleName();
 
         // Init the empty window for alarming rule.
@@ -84,7 +89,7 @@ public class RunningRule {
      * @param metrics
      */
     public void in(MetaInAlarm meta, Metrics metrics) {
-        if (!meta.getMetricsName().equals(metricsName)) {
+        if (!meta.getMetricsName().equals(metricsName) && !isRankOf(meta, metrics)) {
             //Don't match rule, exit.
             return;
         }
@@ -96,7 +101,7 @@ public class RunningRule {
         }
 
         if (valueType == null) {
-            if (metrics instanceof LongValueHolder) {
+            if (metrics instanceof LongValueHolder || isRankOf(meta, metrics)) {
                 valueType = MetricsValueType.LONG;
                 threshold.setType(MetricsValueType.LONG);
             } else if (metrics instanceof IntValueHolder) {
@@ -124,6 +129,18 @@ public class RunningRule {
         }
     }
 
+    private boolean isRankOf(MetaInAlarm meta, Metrics metrics) {
+        return rankIndex >= 0 && metrics instanceof PercentileMetrics
+            && meta.getMetricsName().equals(PercentileMetrics.percentileNameOf(metricsName));
+    }
+
+    private long longValueOf(Metrics metrics) {
+        if (metrics instanceof PercentileMetrics) {
+            return ((PercentileMetrics)metrics).getRankValue(rankIndex);
+        }
+        return ((LongValueHolder)metrics).getValue();
+    }
+
     /**
      * Move the buffer window to give time.
      *
@@ -273,7 +290,7 @@ public class RunningRule {
 
                 switch (valueType) {
                     case LONG:
-                        long lvalue = ((LongValueHolder)metrics).getValue();
+                        long lvalue = longValueOf(metrics);
                         long lexpected = RunningRule.this.threshold.getLongThreshold();
                         switch (op) {
                             case GREATER:
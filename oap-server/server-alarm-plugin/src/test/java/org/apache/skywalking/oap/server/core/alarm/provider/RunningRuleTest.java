@@ -181,7 +181,35 @@ public class RunningRuleTest {
         Assert.assertNotEquals(0, runningRule.check().size()); //alarm
     }
 
+    @Test
+    public void testAlarmOfPercentileRank() {
+        AlarmRule alarmRule = new AlarmRule();
+        alarmRule.setAlarmRuleName("service_p90_rule");
+        alarmRule.setMetricsName("service_p90");
+        alarmRule.setOp(">");
+        alarmRule.setThreshold("1000");
+        alarmRule.setCount(2);
+        alarmRule.setPeriod(15);
+
+        RunningRule runningRule = new RunningRule(alarmRule);
+
+        runningRule.in(getMetaInAlarm(123, "service_percentile"), getPercentileMetrics(201808301434L, 2000, 800));
+        runningRule.in(getMetaInAlarm(123, "service_percentile"), getPercentileMetrics(201808301436L, 1500, 900));
+        runningRule.in(getMetaInAlarm(123, "endpoint_percentile"), getPercentileMetrics(201808301437L, 1500, 900));
+        runningRule.moveTo(TIME_BUCKET_FORMATTER.parseLocalDateTime("201808301440"));
+
+        Assert.assertEquals(0, runningRule.check().size());
+        Assert.assertEquals(1, runningRule.check().size());
+
+        LinkedList<Metrics> metricsBuffer = Whitebox.getInternalState(Whitebox.<Map<MetaInAlarm, RunningRule.Window>>getInternalState(runningRule, "windows").get(getMetaInAlarm(123)), "values");
+        Assert.assertEquals(2, metricsBuffer.stream().filter(Objects::nonNull).count());
+    }
+
     private MetaInAlarm getMetaInAlarm(int id) {
+        return getMetaInAlarm(id, "endpoint_percent");
+    }
+
+    private MetaInAlarm getMetaInAlarm(int id, String metricsName) {
         return new MetaInAlarm() {
             @Override public int getScopeId() {
                 return DefaultScopeDefine.SERVICE;
@@ -192,7 +220,7 @@ public class RunningRuleTest {
             }
 
             @Override public String getMetricsName() {
-                return "endpoint_percent";
+                return metricsName;
             }
 
             @Override public int getId0() {
@@ -221,6 +249,49 @@ public class RunningRuleTest {
         return mockMetrics;
     }
 
+    /**
+     * @param p90 the value of rank 90, p99 is double of it.
+     * @param p75 the value of rank 75.
+     */
+    private Metrics getPercentileMetrics(long timeBucket, long p90, long p75) {
+        MockPercentileMetrics mockMetrics = new MockPercentileMetrics();
+        mockMetrics.getPercentileValues().put(1, p75);
+        mockMetrics.getPercentileValues().put(2, p90);
+        mockMetrics.getPercentileValues().put(4, p90 * 2);
+        mockMetrics.setTimeBucket(timeBucket);
+        return mockMetrics;
+    }
+
+    private class MockPercentileMetrics extends PercentileMetrics {
+        @Override public String id() {
+            return null;
+        }
+
+        @Override public Metrics toHour() {
+            return null;
+        }
+
+        @Override public Metrics toDay() {
+            return null;
+        }
+
+        @Override public Metrics toMonth() {
+            return null;
+        }
+
+        @Override public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override public int remoteHashCode() {
+            return 0;
+        }
+    }
+
     private class MockMetrics extends Metrics implements IntValueHolder {
         private int value;
 
@@ -43,6 +43,45 @@ public class CoreModuleConfig extends ModuleConfig {
     @Setter private int hourMetricsDataTTL;
     @Setter private int dayMetricsDataTTL;
     @Setter private int monthMetricsDataTTL;
+    @Setter private int metricsPersistedCacheSize = 10000;
+    @Setter private int metricsPersistedReadBatchSize = 1000;
+    @Setter private int persistentPeriod = 3;
+    @Setter private int persistentPrepareThreads = 2;
+    @Setter private boolean persistentPipelined = false;
+    @Setter private long inventoryResolvePeriod = 200;
+    @Setter private int inventoryResolveBatchSize = 1000;
+    @Setter private long inventoryAbsentCacheTTL = 3000;
+    @Setter private int registerSequenceBlockSize = 1000;
+    @Setter private int remoteChannelSize = 1;
+    @Setter private int remoteBufferSize = 3000;
+    @Setter private int remoteBatchSize = 500;
+    /**
+     * How the L1 aggregated metrics choose the OAP node of the L2 aggregation, HashCode or ConsistentHash. All the
+     * nodes must use the same one, otherwise the same metrics are aggregated and persisted by several nodes.
+     */
+    @Setter private String metricsRemoteSelector = "HashCode";
+    /**
+     * The gRPC compression between OAP nodes, none or gzip.
+     */
+    @Setter private String remoteCompression = "none";
+    /**
+     * The byte array columns, such as the data binary of segment, larger than it are stored in gzip. Not positive
+     * means no compression.
+     */
+    @Setter private int storageBinaryCompressThreshold = 1024;
+    /**
+     * The max number of time bucket results cached for the metrics and topology queries, 0 means no cache. The
+     * buckets ended queryResultCacheSettledTime seconds ago are cached until evicted, others for
+     * queryResultCacheUnsettledTTL seconds.
+     */
+    @Setter private long queryResultCacheSize = 100000;
+    @Setter private int queryResultCacheSettledTime = 120;
+    @Setter private int queryResultCacheUnsettledTTL = 10;
+    /**
+     * The minutes of service relations kept in memory, the global topology of them isn't queried from storage. 0 means
+     * always querying storage.
+     */
+    @Setter private int topologyGraphWindow = 30;
 
     CoreModuleConfig() {
         this.downsampling = new ArrayList<>();
@@ -18,30 +18,39 @@
 
 package org.apache.skywalking.oap.server.core;
 
+import io.grpc.CompressorRegistry;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.core.analysis.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.servicerelation.ServiceRelationGraph;
+import org.apache.skywalking.oap.server.core.analysis.worker.*;
 import org.apache.skywalking.oap.server.core.annotation.AnnotationScan;
 import org.apache.skywalking.oap.server.core.cache.*;
 import org.apache.skywalking.oap.server.core.cluster.*;
 import org.apache.skywalking.oap.server.core.config.*;
 import org.apache.skywalking.oap.server.core.query.*;
 import org.apache.skywalking.oap.server.core.register.service.*;
+import org.apache.skywalking.oap.server.core.register.worker.InventoryStreamProcessor;
 import org.apache.skywalking.oap.server.core.remote.*;
 import org.apache.skywalking.oap.server.core.remote.client.*;
 import org.apache.skywalking.oap.server.core.remote.define.*;
 import org.apache.skywalking.oap.server.core.remote.health.HealthCheckServiceHandler;
+import org.apache.skywalking.oap.server.core.remote.selector.Selector;
 import org.apache.skywalking.oap.server.core.server.*;
 import org.apache.skywalking.oap.server.core.source.*;
 import org.apache.skywalking.oap.server.core.storage.PersistenceTimer;
 import org.apache.skywalking.oap.server.core.storage.model.StorageModels;
 import org.apache.skywalking.oap.server.core.storage.model.*;
 import org.apache.skywalking.oap.server.core.storage.ttl.DataTTLKeeperTimer;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBinary;
 import org.apache.skywalking.oap.server.core.worker.*;
 import org.apache.skywalking.oap.server.library.module.*;
 import org.apache.skywalking.oap.server.library.server.ServerException;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCServer;
 import org.apache.skywalking.oap.server.library.server.jetty.JettyServer;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 /**
  * @author peng-yongsheng
@@ -52,6 +61,7 @@ public class CoreModuleProvider extends ModuleProvider {
     private GRPCServer grpcServer;
     private JettyServer jettyServer;
     private RemoteClientManager remoteClientManager;
+    private QueryResultCache queryResultCache;
     private final AnnotationScan annotationScan;
     private final StorageModels storageModels;
     private final StreamDataMapping streamDataMapping;
@@ -89,6 +99,8 @@ public class CoreModuleProvider extends ModuleProvider {
             throw new ModuleStartException(e.getMessage(), e);
         }
 
+        StorageBinary.INSTANCE.setCompressThreshold(moduleConfig.getStorageBinaryCompressThreshold());
+
         grpcServer = new GRPCServer(moduleConfig.getGRPCHost(), moduleConfig.getGRPCPort());
         if (moduleConfig.getMaxConcurrentCallsPerConnection() > 0) {
             grpcServer.setMaxConcurrentCallsPerConnection(moduleConfig.getMaxConcurrentCallsPerConnection());
@@ -129,14 +141,16 @@ public class CoreModuleProvider extends ModuleProvider {
         this.registerServiceImplementation(ServiceInstanceInventoryCache.class, new ServiceInstanceInventoryCache(getManager()));
         this.registerServiceImplementation(IServiceInstanceInventoryRegister.class, new ServiceInstanceInventoryRegister(getManager()));
 
-        this.registerServiceImplementation(EndpointInventoryCache.class, new EndpointInventoryCache(getManager()));
+        this.registerServiceImplementation(EndpointInventoryCache.class, new EndpointInventoryCache(getManager(), moduleConfig));
         this.registerServiceImplementation(IEndpointInventoryRegister.class, new EndpointInventoryRegister(getManager()));
 
-        this.registerServiceImplementation(NetworkAddressInventoryCache.class, new NetworkAddressInventoryCache(getManager()));
+        this.registerServiceImplementation(NetworkAddressInventoryCache.class, new NetworkAddressInventoryCache(getManager(), moduleConfig));
         this.registerServiceImplementation(INetworkAddressInventoryRegister.class, new NetworkAddressInventoryRegister(getManager()));
 
-        this.registerServiceImplementation(TopologyQueryService.class, new TopologyQueryService(getManager()));
-        this.registerServiceImplementation(MetricQueryService.class, new MetricQueryService(getManager()));
+        queryResultCache = new QueryResultCache(moduleConfig.getQueryResultCacheSize(), TimeUnit.SECONDS.toMillis(moduleConfig.getQueryResultCacheSettledTime()),
+            TimeUnit.SECONDS.toMillis(moduleConfig.getQueryResultCacheUnsettledTTL()));
+        this.registerServiceImplementation(TopologyQueryService.class, new TopologyQueryService(getManager(), queryResultCache));
+        this.registerServiceImplementation(MetricQueryService.class, new MetricQueryService(getManager(), queryResultCache));
         this.registerServiceImplementation(TraceQueryService.class, new TraceQueryService(getManager()));
         this.registerServiceImplementation(LogQueryService.class, new LogQueryService(getManager()));
         this.registerServiceImplementation(MetadataQueryService.class, new MetadataQueryService(getManager()));
@@ -144,9 +158,27 @@ public class CoreModuleProvider extends ModuleProvider {
         this.registerServiceImplementation(AlarmQueryService.class, new AlarmQueryService(getManager()));
         this.registerServiceImplementation(TopNRecordsQueryService.class, new TopNRecordsQueryService(getManager()));
 
+        MetricsStreamProcessor.getInstance().setPersistedCacheSize(moduleConfig.getMetricsPersistedCacheSize());
+        MetricsStreamProcessor.getInstance().setPersistedReadBatchSize(moduleConfig.getMetricsPersistedReadBatchSize());
+        String metricsRemoteSelector = moduleConfig.getMetricsRemoteSelector();
+        if (Selector.HashCode.name().equals(metricsRemoteSelector)) {
+            MetricsStreamProcessor.getInstance().setRemoteSelector(Selector.HashCode);
+        } else if (Selector.ConsistentHash.name().equals(metricsRemoteSelector)) {
+            MetricsStreamProcessor.getInstance().setRemoteSelector(Selector.ConsistentHash);
+        } else {
+            throw new ModuleStartException("Unsupported metrics remote selector: " + metricsRemoteSelector, null);
+        }
+        InventoryStreamProcessor.getInstance().setSequenceBlockSize(moduleConfig.getRegisterSequenceBlockSize());
         annotationScan.registerListener(new StreamAnnotationListener(getManager()));
 
-        this.remoteClientManager = new RemoteClientManager(getManager());
+        String remoteCompression = moduleConfig.getRemoteCompression();
+        if (StringUtil.isEmpty(remoteCompression) || "none".equals(remoteCompression)) {
+            remoteCompression = null;
+        } else if (CompressorRegistry.getDefaultInstance().lookupCompressor(remoteCompression) == null) {
+            throw new ModuleStartException("Unsupported remote compression: " + remoteCompression, null);
+        }
+        this.remoteClientManager = new RemoteClientManager(getManager(), moduleConfig.getRemoteChannelSize(),
+            moduleConfig.getRemoteBufferSize(), moduleConfig.getRemoteBatchSize(), remoteCompression);
         this.registerServiceImplementation(RemoteClientManager.class, remoteClientManager);
     }
 
@@ -163,6 +195,8 @@ public class CoreModuleProvider extends ModuleProvider {
         } catch (IOException | IllegalAccessException | InstantiationException e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
+
+        ServiceRelationGraph.INSTANCE.start(getManager(), moduleConfig.getTopologyGraphWindow(), !CoreModuleConfig.Role.Receiver.name().equalsIgnoreCase(moduleConfig.getRole()));
     }
 
     @Override public void notifyAfterCompleted() throws ModuleStartException {
@@ -178,12 +212,17 @@ public class CoreModuleProvider extends ModuleProvider {
             this.getManager().find(ClusterModule.NAME).provider().getService(ClusterRegister.class).registerRemote(gRPCServerInstance);
         }
 
-        PersistenceTimer.INSTANCE.start(getManager());
+        PersistenceTimer.INSTANCE.start(getManager(), moduleConfig);
 
         DataTTLKeeperTimer.INSTANCE.setDataTTL(moduleConfig.getDataTTL());
         DataTTLKeeperTimer.INSTANCE.start(getManager());
 
-        CacheUpdateTimer.INSTANCE.start(getManager());
+        CacheUpdateTimer.INSTANCE.start(getManager(), moduleConfig);
+
+        ConsumePoolMetricsTimer.INSTANCE.start(getManager());
+        MetricsAggregateFlushTimer.INSTANCE.start();
+
+        queryResultCache.setMetricsCreator(getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
     }
 
     @Override
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+
+/**
+ * StripedMergeDataCache is a lock-free aggregation table. Every writer thread combines metrics into its own shard, so
+ * writers never wait for each other or for the flush.
+ *
+ * {@link #flush()} seals the shards and merges the sealed ones into a snapshot. A sealed shard is never touched by
+ * writers again, so the snapshot is stable. When a shard is being written at the time of flush, it is sealed by its
+ * owner on the next write, and goes out with the following flush.
+ */
+public class StripedMergeDataCache<METRICS extends Metrics> {
+
+    private final AtomicLong cycle = new AtomicLong(0);
+    private final List<Shard<METRICS>> shards = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<Map<METRICS, METRICS>> sealed = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Shard<METRICS>> localShard = ThreadLocal.withInitial(() -> {
+        Shard<METRICS> shard = new Shard<>(cycle.get());
+        shards.add(shard);
+        return shard;
+    });
+
+    /**
+     * Combine the given metrics into the shard of current thread.
+     */
+    public void accept(METRICS metrics) {
+        Shard<METRICS> shard = localShard.get();
+        Map<METRICS, METRICS> data = shard.checkOut();
+        try {
+            long current = cycle.get();
+            if (shard.cycle != current) {
+                shard.cycle = current;
+                data = seal(data);
+            }
+
+            METRICS existed = data.get(metrics);
+            if (existed == null) {
+                data.put(metrics, metrics);
+            } else {
+                existed.combine(metrics);
+            }
+        } finally {
+            shard.checkIn(data);
+        }
+    }
+
+    /**
+     * Seal all shards which are not being written, and merge everything sealed so far.
+     *
+     * @return the merged metrics, owned by the caller exclusively.
+     */
+    public Collection<METRICS> flush() {
+        cycle.incrementAndGet();
+        for (Shard<METRICS> shard : shards) {
+            Map<METRICS, METRICS> data = shard.trySteal();
+            if (data != null) {
+                seal(data);
+            }
+        }
+
+        Map<METRICS, METRICS> snapshot = sealed.poll();
+        if (snapshot == null) {
+            return Collections.emptyList();
+        }
+        Map<METRICS, METRICS> part;
+        while ((part = sealed.poll()) != null) {
+            for (METRICS metrics : part.values()) {
+                METRICS existed = snapshot.get(metrics);
+                if (existed == null) {
+                    snapshot.put(metrics, metrics);
+                } else {
+                    existed.combine(metrics);
+                }
+            }
+        }
+        return snapshot.values();
+    }
+
+    private Map<METRICS, METRICS> seal(Map<METRICS, METRICS> data) {
+        if (data.isEmpty()) {
+            return data;
+        }
+        sealed.offer(data);
+        return new HashMap<>();
+    }
+
+    /**
+     * The shard holds its map in an {@link AtomicReference}. Only the owner thread sets it to null, while writing, so
+     * the flush could take the map away only when the owner is not using it.
+     */
+    private static class Shard<METRICS> {
+        private final AtomicReference<Map<METRICS, METRICS>> data = new AtomicReference<>(new HashMap<>());
+        private long cycle;
+
+        private Shard(long cycle) {
+            this.cycle = cycle;
+        }
+
+        private Map<METRICS, METRICS> checkOut() {
+            return data.getAndSet(null);
+        }
+
+        private void checkIn(Map<METRICS, METRICS> map) {
+            data.set(map);
+        }
+
+        private Map<METRICS, METRICS> trySteal() {
+            Map<METRICS, METRICS> map = data.get();
+            if (map != null && !map.isEmpty() && data.compareAndSet(map, new HashMap<>())) {
+                return map;
+            }
+            return null;
+        }
+    }
+}
@@ -20,15 +20,13 @@ package org.apache.skywalking.oap.server.core.analysis.manual.segment;
 
 import java.util.*;
 import lombok.*;
-import org.apache.skywalking.apm.util.StringUtil;
-import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.analysis.Stream;
 import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.analysis.worker.RecordStreamProcessor;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
-import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBinary;
 
 /**
  * @author peng-yongsheng
@@ -82,11 +80,7 @@ public class SegmentRecord extends Record {
             map.put(LATENCY, storageData.getLatency());
             map.put(IS_ERROR, storageData.getIsError());
             map.put(TIME_BUCKET, storageData.getTimeBucket());
-            if (CollectionUtils.isEmpty(storageData.getDataBinary())) {
-                map.put(DATA_BINARY, Const.EMPTY_STRING);
-            } else {
-                map.put(DATA_BINARY, new String(Base64.getEncoder().encode(storageData.getDataBinary())));
-            }
+            map.put(DATA_BINARY, StorageBinary.INSTANCE.encode(storageData.getDataBinary()));
             map.put(VERSION, storageData.getVersion());
             return map;
         }
@@ -104,11 +98,7 @@ public class SegmentRecord extends Record {
             record.setLatency(((Number)dbMap.get(LATENCY)).intValue());
             record.setIsError(((Number)dbMap.get(IS_ERROR)).intValue());
             record.setTimeBucket(((Number)dbMap.get(TIME_BUCKET)).longValue());
-            if (StringUtil.isEmpty((String)dbMap.get(DATA_BINARY))) {
-                record.setDataBinary(new byte[] {});
-            } else {
-                record.setDataBinary(Base64.getDecoder().decode((String)dbMap.get(DATA_BINARY)));
-            }
+            record.setDataBinary(StorageBinary.INSTANCE.decode(dbMap.get(DATA_BINARY)));
             record.setVersion(((Number)dbMap.get(VERSION)).intValue());
             return record;
         }
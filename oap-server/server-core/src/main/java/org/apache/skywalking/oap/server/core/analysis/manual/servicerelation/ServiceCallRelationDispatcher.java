@@ -46,6 +46,7 @@ public class ServiceCallRelationDispatcher implements SourceDispatcher<ServiceRe
         metrics.setDestServiceId(source.getDestServiceId());
         metrics.setComponentId(source.getComponentId());
         metrics.buildEntityId();
+        ServiceRelationGraph.INSTANCE.send(metrics);
         MetricsStreamProcessor.getInstance().in(metrics);
     }
 
@@ -56,6 +57,7 @@ public class ServiceCallRelationDispatcher implements SourceDispatcher<ServiceRe
         metrics.setDestServiceId(source.getDestServiceId());
         metrics.setComponentId(source.getComponentId());
         metrics.buildEntityId();
+        ServiceRelationGraph.INSTANCE.send(metrics);
         MetricsStreamProcessor.getInstance().in(metrics);
     }
 }
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.analysis.manual.servicerelation;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.analysis.Downsampling;
+import org.apache.skywalking.oap.server.core.analysis.manual.RelationDefineUtil;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.query.entity.Call;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager;
+import org.apache.skywalking.oap.server.core.source.DetectPoint;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.joda.time.DateTime;
+
+/**
+ * ServiceRelationGraph keeps the service relations of the recent minutes in memory, so the global topology of them is
+ * built without the aggregations in storage.
+ *
+ * Every node sends the relations dispatched by itself to all the OAP nodes, once per relation and minute, then every
+ * aggregator node has the relations of the whole cluster. The minutes before the graph started are not complete, the
+ * topology of them is still queried from storage. So are the minutes around the joining or leaving of any OAP node, as
+ * the nodes notice the new member at different times, and the relations sent before are not sent to it again.
+ *
+ * The worker of the graph is a new remote worker, the nodes of the older versions don't know its id, and log an error
+ * for every relation sent to them. Upgrade all the OAP nodes of the cluster together.
+ */
+public enum ServiceRelationGraph {
+    INSTANCE;
+
+    private final ConcurrentSkipListMap<Long, Window> sent = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Window> received = new ConcurrentSkipListMap<>();
+    private volatile ServiceRelationGraphWorker worker;
+    private volatile RemoteClientManager clientManager;
+    private volatile long clientsVersion;
+    private volatile int windowMinutes;
+    private volatile boolean answerable;
+    private volatile long firstCompleteTimeBucket = Long.MAX_VALUE;
+
+    /**
+     * The worker is created whatever the config is, to keep the worker ids same in all the nodes. Start it after the
+     * stream workers created, the ids of them are not changed by it.
+     *
+     * @param windowMinutes the number of the recent minutes kept, 0 means no graph.
+     * @param answerable false for the receiver role nodes, which don't receive the relations of others.
+     */
+    public void start(ModuleDefineHolder moduleDefineHolder, int windowMinutes, boolean answerable) {
+        this.clientManager = moduleDefineHolder.find(CoreModule.NAME).provider().getService(RemoteClientManager.class);
+        this.clientsVersion = clientManager.getClientsVersion();
+        this.worker = new ServiceRelationGraphWorker(moduleDefineHolder);
+        configure(windowMinutes, answerable);
+    }
+
+    void configure(int windowMinutes, boolean answerable) {
+        this.windowMinutes = windowMinutes;
+        this.answerable = answerable && windowMinutes > 0;
+        this.firstCompleteTimeBucket = minuteTimeBucket(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1));
+    }
+
+    /**
+     * Called by the dispatcher, the relation is sent to all nodes for the first time of its minute. It is sent again
+     * next time if the broadcast failed.
+     */
+    public void send(Metrics relation) {
+        ServiceRelationGraphWorker worker = this.worker;
+        if (worker != null && windowMinutes > 0) {
+            checkMembership();
+            if (!contains(sent, relation) && worker.broadcast(relation)) {
+                record(sent, relation);
+            }
+        }
+    }
+
+    void receive(Metrics relation) {
+        if (windowMinutes > 0) {
+            record(received, relation);
+        }
+    }
+
+    /**
+     * @return true if all the minutes of the duration are in the graph.
+     */
+    public boolean covers(Downsampling downsampling, long startTB, long endTB) {
+        checkMembership();
+        return answerable && Downsampling.Minute.equals(downsampling) && startTB <= endTB
+            && startTB >= firstCompleteTimeBucket && startTB >= oldestTimeBucket();
+    }
+
+    public List<Call.CallDetail> loadServerSideServiceRelations(long startTB, long endTB) {
+        return load(startTB, endTB, DetectPoint.SERVER);
+    }
+
+    public List<Call.CallDetail> loadClientSideServiceRelations(long startTB, long endTB) {
+        return load(startTB, endTB, DetectPoint.CLIENT);
+    }
+
+    private List<Call.CallDetail> load(long startTB, long endTB, DetectPoint detectPoint) {
+        Set<String> entityIds = new HashSet<>();
+        received.subMap(startTB, true, endTB, true).values().forEach(window -> entityIds.addAll(window.of(detectPoint)));
+
+        List<Call.CallDetail> calls = new ArrayList<>(entityIds.size());
+        entityIds.forEach(entityId -> {
+            RelationDefineUtil.RelationDefine relationDefine = RelationDefineUtil.splitEntityId(entityId);
+            Call.CallDetail call = new Call.CallDetail();
+            call.setSource(relationDefine.getSource());
+            call.setTarget(relationDefine.getDest());
+            call.setComponentId(relationDefine.getComponentId());
+            call.setDetectPoint(detectPoint);
+            call.generateID();
+            calls.add(call);
+        });
+        return calls;
+    }
+
+    /**
+     * Once the OAP nodes changed, the minutes from the one after next are complete. The other nodes notice the change
+     * in the refresh period of the clients, which is shorter than a minute. The relations sent before belong to the
+     * minutes in front, so they are not sent again.
+     */
+    private void checkMembership() {
+        RemoteClientManager clientManager = this.clientManager;
+        if (clientManager == null) {
+            return;
+        }
+        long version = clientManager.getClientsVersion();
+        if (version != clientsVersion) {
+            clientsVersion = version;
+            membershipChanged();
+        }
+    }
+
+    void membershipChanged() {
+        firstCompleteTimeBucket = minuteTimeBucket(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2));
+    }
+
+    private boolean contains(ConcurrentSkipListMap<Long, Window> windows, Metrics relation) {
+        Window window = windows.get(relation.getTimeBucket());
+        if (window == null) {
+            return false;
+        } else if (relation instanceof ServiceRelationServerSideMetrics) {
+            return window.server.contains(((ServiceRelationServerSideMetrics)relation).getEntityId());
+        } else if (relation instanceof ServiceRelationClientSideMetrics) {
+            return window.client.contains(((ServiceRelationClientSideMetrics)relation).getEntityId());
+        }
+        return false;
+    }
+
+    /**
+     * @return false if the relation is recorded before, or is older than the window.
+     */
+    private boolean record(ConcurrentSkipListMap<Long, Window> windows, Metrics relation) {
+        if (relation instanceof ServiceRelationServerSideMetrics) {
+            Window window = windowOf(windows, relation.getTimeBucket());
+            return window != null && window.server.add(((ServiceRelationServerSideMetrics)relation).getEntityId());
+        } else if (relation instanceof ServiceRelationClientSideMetrics) {
+            Window window = windowOf(windows, relation.getTimeBucket());
+            return window != null && window.client.add(((ServiceRelationClientSideMetrics)relation).getEntityId());
+        }
+        return false;
+    }
+
+    private Window windowOf(ConcurrentSkipListMap<Long, Window> windows, long timeBucket) {
+        Window window = windows.get(timeBucket);
+        if (window == null) {
+            long oldestTimeBucket = oldestTimeBucket();
+            if (timeBucket < oldestTimeBucket) {
+                return null;
+            }
+            window = windows.computeIfAbsent(timeBucket, key -> new Window());
+            windows.headMap(oldestTimeBucket).clear();
+        }
+        return window;
+    }
+
+    private long oldestTimeBucket() {
+        return minuteTimeBucket(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(windowMinutes - 1));
+    }
+
+    private long minuteTimeBucket(long timestamp) {
+        return Long.valueOf(new DateTime(timestamp).toString("yyyyMMddHHmm"));
+    }
+
+    /**
+     * The entity ids of the relations in one minute.
+     */
+    private static class Window {
+        private final Set<String> server = ConcurrentHashMap.newKeySet();
+        private final Set<String> client = ConcurrentHashMap.newKeySet();
+
+        private Set<String> of(DetectPoint detectPoint) {
+            return DetectPoint.SERVER.equals(detectPoint) ? server : client;
+        }
+    }
+}
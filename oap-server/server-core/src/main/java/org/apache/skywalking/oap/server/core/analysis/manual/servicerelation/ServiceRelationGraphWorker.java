@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.analysis.manual.servicerelation;
+
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.RemoteSenderService;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.slf4j.*;
+
+/**
+ * Broadcast the service relations to all the OAP nodes, and receive them into the {@link ServiceRelationGraph}.
+ */
+public class ServiceRelationGraphWorker extends AbstractWorker<Metrics> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceRelationGraphWorker.class);
+
+    private final RemoteSenderService remoteSender;
+
+    ServiceRelationGraphWorker(ModuleDefineHolder moduleDefineHolder) {
+        super(moduleDefineHolder);
+        this.remoteSender = moduleDefineHolder.find(CoreModule.NAME).provider().getService(RemoteSenderService.class);
+    }
+
+    @Override public void in(Metrics relation) {
+        ServiceRelationGraph.INSTANCE.receive(relation);
+    }
+
+    /**
+     * @return false if the relation is not pushed to all the current clients.
+     */
+    boolean broadcast(Metrics relation) {
+        try {
+            remoteSender.broadcast(getWorkerId(), relation);
+            return true;
+        } catch (Throwable e) {
+            logger.error(e.getMessage(), e);
+            return false;
+        }
+    }
+}
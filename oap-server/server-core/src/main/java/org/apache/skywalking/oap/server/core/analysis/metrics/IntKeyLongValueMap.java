@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.IntKeyLongValuePairs;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
+
+/**
+ * IntKeyLongValueMap is an open addressing hash map, from int key to long value, based on primitive arrays. The
+ * histogram based metrics keep their buckets in it, so no object is created per bucket, and merging two maps doesn't
+ * allocate unless the table grows.
+ *
+ * In remote and storage, it is serialized as {@link IntKeyLongValuePairs}, a packed protobuf message. The storage data
+ * is the base64 of the message, the storage supporting binary column saves the message itself by {@link #toBytes()}.
+ * The text format of {@link IntKeyLongValueArray}, such as 1,2|3,4, is still readable.
+ *
+ * {@link Integer#MIN_VALUE} is reserved as the empty slot marker, can't be used as a key.
+ */
+public class IntKeyLongValueMap implements StorageDataType {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    public IntKeyLongValueMap() {
+        this(8);
+    }
+
+    public IntKeyLongValueMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public IntKeyLongValueMap(String data) {
+        this();
+        toObject(data);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int key) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    public void put(int key, long value) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    public void increase(int key, long delta) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+        } else {
+            insert(slot, key, delta);
+        }
+    }
+
+    /**
+     * Add all values of the given map into this one, key by key.
+     */
+    public void merge(IntKeyLongValueMap map) {
+        for (int i = 0; i < map.keys.length; i++) {
+            if (map.keys[i] != EMPTY) {
+                increase(map.keys[i], map.values[i]);
+            }
+        }
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public int[] sortedKeys() {
+        int[] sorted = new int[size];
+        int index = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                sorted[index++] = key;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public void forEach(IntLongConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    public IntKeyLongValuePairs serialize() {
+        IntKeyLongValuePairs.Builder builder = IntKeyLongValuePairs.newBuilder();
+        forEach((key, value) -> builder.addKeys(key).addValues(value));
+        return builder.build();
+    }
+
+    public void deserialize(IntKeyLongValuePairs pairs) {
+        for (int i = 0; i < pairs.getKeysCount(); i++) {
+            put(pairs.getKeys(i), pairs.getValues(i));
+        }
+    }
+
+    public byte[] toBytes() {
+        return serialize().toByteArray();
+    }
+
+    public void fromBytes(byte[] data) {
+        if (data == null) {
+            return;
+        }
+        try {
+            deserialize(IntKeyLongValuePairs.parseFrom(data));
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException("Illegal binary data of IntKeyLongValueMap.", e);
+        }
+    }
+
+    @Override public String toStorageData() {
+        return Base64.getEncoder().encodeToString(toBytes());
+    }
+
+    @Override public void toObject(String data) {
+        if (data == null || data.isEmpty()) {
+            return;
+        }
+
+        if (data.contains(Const.KEY_VALUE_SPLIT)) {
+            for (String keyValue : data.split(Const.ARRAY_PARSER_SPLIT)) {
+                String[] keyValuePair = keyValue.split(Const.KEY_VALUE_SPLIT);
+                put(Integer.parseInt(keyValuePair[0]), Long.parseLong(keyValuePair[1]));
+            }
+        } else {
+            fromBytes(Base64.getDecoder().decode(data));
+        }
+    }
+
+    @Override public void copyFrom(Object source) {
+        IntKeyLongValueMap map = (IntKeyLongValueMap)source;
+        if (map.keys.length > keys.length) {
+            allocate(map.keys.length);
+        } else {
+            clear();
+        }
+        merge(map);
+    }
+
+    private int slotOf(int key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE is not a legal key.");
+        }
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, int key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(slotOf(oldKeys[i]), oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    public interface IntLongConsumer {
+        void accept(int key, long value);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import lombok.*;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.*;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+
+/**
+ * PercentileMetrics calculates p50/p75/p90/p95/p99 from one histogram, rather than keeping a histogram per rank like
+ * {@link PxxMetrics} does.
+ *
+ * The result is saved in the value column, as key-value pairs of rank index and percentile value, such as 0,p50 |
+ * 1,p75 | 2,p90 | 3,p95 | 4,p99. The value of every rank is still queried and alarmed by the name of the Pxx metrics,
+ * such as service_p99 for the rank 99 of service_percentile.
+ */
+@MetricsFunction(functionName = "percentile")
+public abstract class PercentileMetrics extends Metrics {
+    public static final String DATASET = "dataset";
+    public static final String VALUE = "value";
+    public static final String PRECISION = "precision";
+
+    public static final int[] RANKS = {50, 75, 90, 95, 99};
+
+    private static final String NAME_SUFFIX = "_percentile";
+    private static final String RANK_PREFIX = "_p";
+
+    @Getter @Setter @Column(columnName = VALUE, isValue = true) private IntKeyLongValueMap percentileValues;
+    @Getter @Setter @Column(columnName = PRECISION) private int precision;
+    @Getter @Setter @Column(columnName = DATASET) private IntKeyLongValueMap dataset;
+
+    public PercentileMetrics() {
+        percentileValues = new IntKeyLongValueMap(RANKS.length);
+        dataset = new IntKeyLongValueMap();
+    }
+
+    @Entrance
+    public final void combine(@SourceFrom int value, @Arg int precision) {
+        this.precision = precision;
+
+        dataset.increase(value / precision, 1);
+    }
+
+    @Override
+    public void combine(Metrics metrics) {
+        PercentileMetrics percentileMetrics = (PercentileMetrics)metrics;
+        dataset.merge(percentileMetrics.dataset);
+    }
+
+    /**
+     * @return the value of the rank at the index of {@link #RANKS}, 0 if not calculated.
+     */
+    public long getRankValue(int rankIndex) {
+        return percentileValues.get(rankIndex);
+    }
+
+    /**
+     * @param rankMetricsName such as service_p99.
+     * @return the index of the rank in {@link #RANKS}, -1 if it isn't the name of a rank.
+     */
+    public static int rankIndexOf(String rankMetricsName) {
+        int index = rankMetricsName.lastIndexOf(RANK_PREFIX);
+        if (index <= 0) {
+            return -1;
+        }
+        String rank = rankMetricsName.substring(index + RANK_PREFIX.length());
+        for (int i = 0; i < RANKS.length; i++) {
+            if (String.valueOf(RANKS[i]).equals(rank)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param rankMetricsName such as service_p99.
+     * @return the name of the percentile metrics including the rank, such as service_percentile.
+     */
+    public static String percentileNameOf(String rankMetricsName) {
+        return rankMetricsName.substring(0, rankMetricsName.lastIndexOf(RANK_PREFIX)) + NAME_SUFFIX;
+    }
+
+    /**
+     * Walk through the sorted dataset once, and pick the value of every rank on the way.
+     */
+    @Override
+    public final void calculate() {
+        long total = dataset.sum();
+
+        percentileValues.clear();
+        int rankIndex = 0;
+        long count = 0;
+        for (int key : dataset.sortedKeys()) {
+            count += dataset.get(key);
+            while (rankIndex < RANKS.length && count >= Math.round(total * RANKS[rankIndex] * 1.0 / 100)) {
+                percentileValues.put(rankIndex, key * precision);
+                rankIndex++;
+            }
+            if (rankIndex == RANKS.length) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.concurrent.*;
+import org.apache.skywalking.apm.commons.datacarrier.*;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.slf4j.*;
+
+/**
+ * Decide the send cycle of the L1 aggregation by the load of the downstream queues, which are the remote clients to
+ * the other OAP nodes and the minute L2 persistent workers. The load is the highest fill ratio of the queues, smoothed
+ * over the ticks.
+ *
+ * When the downstream is overloaded, L1 aggregates longer, up to METRICS_L1_AGGREGATION_MAX_SEND_CYCLE, to shrink the
+ * data crossing the nodes. The timer flushes the idle {@link MetricsAggregateWorker}s too, as they only check the cycle
+ * at the end of a batch, the data would linger until the next batch comes.
+ */
+public enum MetricsAggregateFlushTimer {
+    INSTANCE;
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsAggregateFlushTimer.class);
+
+    private static final long TICK = 100;
+    private static final double SMOOTHING = 0.3;
+    private static final double LOW_LOAD = 0.25;
+    private static final double HIGH_LOAD = 0.75;
+
+    private final List<DataCarrier<?>> downstreams = new CopyOnWriteArrayList<>();
+    private final List<MetricsAggregateWorker> workers = new CopyOnWriteArrayList<>();
+    private final long minSendCycle;
+    private final long sendCycle;
+    private final long maxSendCycle;
+    private volatile double load = 0;
+    private volatile long currentSendCycle;
+    private Boolean isStarted = false;
+
+    MetricsAggregateFlushTimer() {
+        sendCycle = EnvUtil.getLong("METRICS_L1_AGGREGATION_SEND_CYCLE", 1000);
+        minSendCycle = Math.min(EnvUtil.getLong("METRICS_L1_AGGREGATION_MIN_SEND_CYCLE", 100), sendCycle);
+        maxSendCycle = Math.max(EnvUtil.getLong("METRICS_L1_AGGREGATION_MAX_SEND_CYCLE", 10000), sendCycle);
+        currentSendCycle = sendCycle;
+    }
+
+    public synchronized void start() {
+        if (!isStarted) {
+            ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("metrics-aggregate-flush-%d").setDaemon(true).build();
+            Executors.newSingleThreadScheduledExecutor(threadFactory).scheduleAtFixedRate(
+                new RunnableWithExceptionProtection(() -> tick(System.currentTimeMillis()),
+                    t -> logger.error("Metrics aggregate flush failure.", t)), TICK, TICK, TimeUnit.MILLISECONDS);
+
+            this.isStarted = true;
+        }
+    }
+
+    /**
+     * The queue which the L1 aggregation results go through, {@link #unregisterDownstream(DataCarrier)} when it is
+     * shutdown. Its size is read every tick, so it should be made of the {@link
+     * org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType#RING} buffers, which count the size rather than
+     * scan the slots.
+     */
+    public void registerDownstream(DataCarrier<?> carrier) {
+        downstreams.add(carrier);
+    }
+
+    public void unregisterDownstream(DataCarrier<?> carrier) {
+        downstreams.remove(carrier);
+    }
+
+    void registerWorker(MetricsAggregateWorker worker) {
+        workers.add(worker);
+    }
+
+    /**
+     * @return the send cycle in milliseconds, of the workers not being idle.
+     */
+    long getSendCycle() {
+        return currentSendCycle;
+    }
+
+    /**
+     * @return the send cycle in milliseconds, of the idle workers. They send in the min cycle to show the metrics soon,
+     * unless the downstream is loaded, when the small sends would make it worse.
+     */
+    long getIdleSendCycle() {
+        return load <= LOW_LOAD ? minSendCycle : currentSendCycle;
+    }
+
+    void tick(long now) {
+        double fillRatio = 0;
+        for (DataCarrier<?> carrier : downstreams) {
+            long capacity = carrier.getCapacity();
+            if (capacity > 0) {
+                fillRatio = Math.max(fillRatio, (double)carrier.getDataSize() / capacity);
+            }
+        }
+        load += SMOOTHING * (fillRatio - load);
+        currentSendCycle = cycleOf(load);
+
+        for (MetricsAggregateWorker worker : workers) {
+            worker.sendIfDue(now);
+        }
+    }
+
+    /**
+     * Keep the configured cycle until the load reaches {@link #LOW_LOAD}, then grows linearly to the max cycle at
+     * {@link #HIGH_LOAD}.
+     */
+    long cycleOf(double load) {
+        if (load <= LOW_LOAD) {
+            return sendCycle;
+        }
+        if (load >= HIGH_LOAD) {
+            return maxSendCycle;
+        }
+        return sendCycle + (long)((maxSendCycle - sendCycle) * (load - LOW_LOAD) / (HIGH_LOAD - LOW_LOAD));
+    }
+}
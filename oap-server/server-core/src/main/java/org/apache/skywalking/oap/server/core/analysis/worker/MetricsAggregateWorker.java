@@ -19,7 +19,9 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
 import org.apache.skywalking.apm.commons.datacarrier.*;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.*;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.data.*;
@@ -31,30 +33,40 @@ import org.apache.skywalking.oap.server.telemetry.api.*;
 import org.slf4j.*;
 
 /**
+ * The L1 aggregation, sends the results to L2 in the cycle decided by {@link MetricsAggregateFlushTimer}.
+ *
  * @author peng-yongsheng
  */
 public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
 
     private static final Logger logger = LoggerFactory.getLogger(MetricsAggregateWorker.class);
 
+    /**
+     * The worker received less metrics than this since the last send is idle, it sends in the min cycle when the
+     * downstream load is low.
+     */
+    private static final long IDLE_RECEIVED = 100;
+
     private AbstractWorker<Metrics> nextWorker;
     private final DataCarrier<Metrics> dataCarrier;
-    private final MergeDataCache<Metrics> mergeDataCache;
+    private final StripedMergeDataCache<Metrics> mergeDataCache;
     private final String modelName;
     private CounterMetrics aggregationCounter;
-    private final long l2AggregationSendCycle;
-    private long lastSendTimestamp;
+    private final MetricsAggregateFlushTimer flushTimer;
+    private final AtomicLong lastSendTimestamp;
+    private final LongAdder received = new LongAdder();
 
     MetricsAggregateWorker(ModuleDefineHolder moduleDefineHolder, AbstractWorker<Metrics> nextWorker,
         String modelName) {
         super(moduleDefineHolder);
         this.modelName = modelName;
         this.nextWorker = nextWorker;
-        this.mergeDataCache = new MergeDataCache<>();
+        this.mergeDataCache = new StripedMergeDataCache<>();
         String name = "METRICS_L1_AGGREGATION";
-        this.dataCarrier = new DataCarrier<>("MetricsAggregateWorker." + modelName, name, 2, 10000);
+        // The threads of the work stealing pool check every carrier when idle, which is cheap for the ring buffer only.
+        this.dataCarrier = new DataCarrier<>("MetricsAggregateWorker." + modelName, name, 2, 10000, BufferType.RING);
 
-        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, BulkConsumePool.Creator.recommendMaxSize() * 2, 20);
+        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, BulkConsumePool.Creator.recommendMaxSize() * 2, 20, true);
         try {
             ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
         } catch (Exception e) {
@@ -65,9 +77,10 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
         MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
         aggregationCounter = metricsCreator.createCounter("metrics_aggregation", "The number of rows in aggregation",
             new MetricsTag.Keys("metricName", "level", "dimensionality"), new MetricsTag.Values(modelName, "1", "min"));
-        lastSendTimestamp = System.currentTimeMillis();
+        lastSendTimestamp = new AtomicLong(System.currentTimeMillis());
 
-        l2AggregationSendCycle = EnvUtil.getLong("METRICS_L1_AGGREGATION_SEND_CYCLE", 1000);
+        flushTimer = MetricsAggregateFlushTimer.INSTANCE;
+        flushTimer.registerWorker(this);
     }
 
     @Override public final void in(Metrics metrics) {
@@ -77,54 +90,40 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
 
     private void onWork(Metrics metrics) {
         aggregationCounter.inc();
+        received.increment();
         aggregate(metrics);
 
         if (metrics.getEndOfBatchContext().isEndOfBatch()) {
-            if (shouldSend()) {
-                sendToNext();
-            }
+            sendIfDue(System.currentTimeMillis());
         }
     }
 
-    private boolean shouldSend() {
-        long now = System.currentTimeMillis();
+    /**
+     * Called at the end of every batch, and by the {@link MetricsAggregateFlushTimer} for the worker receiving
+     * nothing.
+     */
+    void sendIfDue(long now) {
+        long last = lastSendTimestamp.get();
+        long cycle = received.sum() < IDLE_RECEIVED ? flushTimer.getIdleSendCycle() : flushTimer.getSendCycle();
         // Continue L2 aggregation in certain cycle.
-        if (now - lastSendTimestamp > l2AggregationSendCycle) {
-            lastSendTimestamp = now;
-            return true;
+        if (now - last > cycle && lastSendTimestamp.compareAndSet(last, now)) {
+            received.reset();
+            sendToNext();
         }
-        return false;
     }
 
     private void sendToNext() {
-        mergeDataCache.switchPointer();
-        while (mergeDataCache.getLast().isWriting()) {
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                logger.error(e.getMessage(), e);
-            }
-        }
-
-        mergeDataCache.getLast().collection().forEach(data -> {
+        mergeDataCache.flush().forEach(data -> {
             if (logger.isDebugEnabled()) {
                 logger.debug(data.toString());
             }
 
             nextWorker.in(data);
         });
-        mergeDataCache.finishReadingLast();
     }
 
     private void aggregate(Metrics metrics) {
-        mergeDataCache.writing();
-        if (mergeDataCache.containsKey(metrics)) {
-            mergeDataCache.get(metrics).combine(metrics);
-        } else {
-            mergeDataCache.put(metrics);
-        }
-
-        mergeDataCache.finishWriting();
+        mergeDataCache.accept(metrics);
     }
 
     private class AggregatorConsumer implements IConsumer<Metrics> {
@@ -18,8 +18,10 @@
 
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
+import com.google.common.cache.*;
 import java.util.*;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.*;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.data.*;
@@ -27,6 +29,8 @@ import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.*;
 import org.slf4j.*;
 
 import static java.util.Objects.nonNull;
@@ -44,9 +48,22 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics, MergeDat
     private final AbstractWorker<Metrics> nextAlarmWorker;
     private final AbstractWorker<Metrics> nextExportWorker;
     private final DataCarrier<Metrics> dataCarrier;
+    /**
+     * The metrics persisted recently, keyed by {@link Metrics#id()}. Hit means no need to read the storage before
+     * combining, null means the cache is disabled.
+     */
+    private final Cache<String, Metrics> persistedCache;
+    /**
+     * The metrics of the batch collections not executed yet, they are put into the persisted cache once the batch
+     * succeeded.
+     */
+    private final Map<List<?>, List<Metrics>> unconfirmed = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final CounterMetrics cacheHitCounter;
+    private final CounterMetrics cacheMissCounter;
+    private final int readBatchSize;
 
     MetricsPersistentWorker(ModuleDefineHolder moduleDefineHolder, String modelName, int batchSize,
-        IMetricsDAO metricsDAO, AbstractWorker<Metrics> nextAlarmWorker,
+        int persistedCacheSize, int readBatchSize, IMetricsDAO metricsDAO, AbstractWorker<Metrics> nextAlarmWorker,
         AbstractWorker<Metrics> nextExportWorker) {
         super(moduleDefineHolder, batchSize);
         this.modelName = modelName;
@@ -54,21 +71,33 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics, MergeDat
         this.metricsDAO = metricsDAO;
         this.nextAlarmWorker = nextAlarmWorker;
         this.nextExportWorker = nextExportWorker;
+        this.readBatchSize = Math.max(readBatchSize, 1);
 
         String name = "METRICS_L2_AGGREGATION";
         int size = BulkConsumePool.Creator.recommendMaxSize() / 8;
         if (size == 0) {
             size = 1;
         }
-        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, size, 20);
+        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, size, 20, true);
         try {
             ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
         } catch (Exception e) {
             throw new UnexpectedException(e.getMessage(), e);
         }
 
-        this.dataCarrier = new DataCarrier<>("MetricsPersistentWorker." + modelName, name, 1, 2000);
+        this.dataCarrier = new DataCarrier<>("MetricsPersistentWorker." + modelName, name, 1, 2000, BufferType.RING);
         this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new PersistentConsumer(this));
+
+        if (persistedCacheSize > 0) {
+            this.persistedCache = CacheBuilder.newBuilder().maximumSize(persistedCacheSize).build();
+        } else {
+            this.persistedCache = null;
+        }
+        MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
+        cacheHitCounter = metricsCreator.createCounter("metrics_persistent_cache", "The number of metrics found in persistent cache",
+            new MetricsTag.Keys("metricName", "result"), new MetricsTag.Values(modelName, "hit"));
+        cacheMissCounter = metricsCreator.createCounter("metrics_persistent_cache", "The number of metrics found in persistent cache",
+            new MetricsTag.Keys("metricName", "result"), new MetricsTag.Values(modelName, "miss"));
     }
 
     @Override void onWork(Metrics metrics) {
@@ -80,6 +109,10 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics, MergeDat
         dataCarrier.produce(metrics);
     }
 
+    DataCarrier<Metrics> getDataCarrier() {
+        return dataCarrier;
+    }
+
     @Override public MergeDataCache<Metrics> getCache() {
         return mergeDataCache;
     }
@@ -97,15 +130,21 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics, MergeDat
     }
 
     @Override public List<Object> prepareBatch(MergeDataCache<Metrics> cache) {
+        Collection<Metrics> collection = cache.getLast().collection();
+        Set<String> unread = new HashSet<>();
+        Map<String, Metrics> persisted = loadPersisted(collection, unread);
+
         List<Object> batchCollection = new LinkedList<>();
-        cache.getLast().collection().forEach(data -> {
-            Metrics dbData = null;
-            try {
-                dbData = metricsDAO.get(modelName, data);
-            } catch (Throwable t) {
-                logger.error(t.getMessage(), t);
+        List<Metrics> written = new ArrayList<>(collection.size());
+        long oldestTimeBucket = Long.MAX_VALUE;
+        for (Metrics data : collection) {
+            oldestTimeBucket = Math.min(oldestTimeBucket, data.getTimeBucket());
+            if (unread.contains(data.id())) {
+                // Inserting it would overwrite the persisted one, which is unknown.
+                continue;
             }
             try {
+                Metrics dbData = persisted.get(data.id());
                 if (nonNull(dbData)) {
                     data.combine(dbData);
                     data.calculate();
@@ -114,6 +153,7 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics, MergeDat
                 } else {
                     batchCollection.add(metricsDAO.prepareBatchInsert(modelName, data));
                 }
+                written.add(data);
 
                 if (Objects.nonNull(nextAlarmWorker)) {
                     nextAlarmWorker.in(data);
@@ -124,11 +164,76 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics, MergeDat
             } catch (Throwable t) {
                 logger.error(t.getMessage(), t);
             }
-        });
+        }
 
+        if (nonNull(persistedCache) && !collection.isEmpty()) {
+            // The cached ones are older than the batch, and the batch is not in storage yet.
+            written.forEach(data -> persistedCache.invalidate(data.id()));
+            evictPersisted(oldestTimeBucket);
+            unconfirmed.put(batchCollection, written);
+        }
         return batchCollection;
     }
 
+    /**
+     * The metrics are cached only after they are in storage, otherwise the next flush would update the missing rows.
+     * The ones of a failed batch are read from storage next time.
+     */
+    @Override public void afterBatchExecuted(List<?> batchCollection, boolean succeeded) {
+        List<Metrics> written = unconfirmed.remove(batchCollection);
+        if (nonNull(written) && succeeded) {
+            written.forEach(data -> persistedCache.put(data.id(), data));
+        }
+    }
+
+    /**
+     * Find the persisted ones of the given metrics, from the persisted cache first, then read the missing ones from the
+     * storage in batches of {@link #readBatchSize}.
+     *
+     * @param unread to hold the ids of the metrics, which failed to read from the storage.
+     * @return persisted metrics keyed by id.
+     */
+    private Map<String, Metrics> loadPersisted(Collection<Metrics> collection, Set<String> unread) {
+        Map<String, Metrics> persisted = new HashMap<>();
+        List<Metrics> missing = new ArrayList<>(collection.size());
+        for (Metrics data : collection) {
+            Metrics cached = null;
+            if (nonNull(persistedCache)) {
+                cached = persistedCache.getIfPresent(data.id());
+                if (nonNull(cached)) {
+                    cacheHitCounter.inc();
+                } else {
+                    cacheMissCounter.inc();
+                }
+            }
+            if (nonNull(cached)) {
+                persisted.put(data.id(), cached);
+            } else {
+                missing.add(data);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += readBatchSize) {
+            List<Metrics> batch = missing.subList(from, Math.min(from + readBatchSize, missing.size()));
+            try {
+                List<Metrics> dbDataList = metricsDAO.get(modelName, batch);
+                dbDataList.forEach(dbData -> persisted.put(dbData.id(), dbData));
+            } catch (Throwable t) {
+                logger.error("Failed to read {} metrics of {}, they are dropped in this flush.", batch.size(), modelName, t);
+                batch.forEach(data -> unread.add(data.id()));
+            }
+        }
+        return persisted;
+    }
+
+    /**
+     * The metrics older than all ones in the latest flushed window are not going to be updated anymore, remove them
+     * from the persisted cache.
+     */
+    private void evictPersisted(long oldestTimeBucket) {
+        persistedCache.asMap().values().removeIf(metrics -> metrics.getTimeBucket() < oldestTimeBucket);
+    }
+
     @Override public void cacheData(Metrics input) {
         mergeDataCache.writing();
         if (mergeDataCache.containsKey(input)) {
@@ -36,18 +36,20 @@ public class MetricsRemoteWorker extends AbstractWorker<Metrics> {
     private final AbstractWorker<Metrics> nextWorker;
     private final RemoteSenderService remoteSender;
     private final String modelName;
+    private final Selector selector;
 
     MetricsRemoteWorker(ModuleDefineHolder moduleDefineHolder, AbstractWorker<Metrics> nextWorker,
-        String modelName) {
+        String modelName, Selector selector) {
         super(moduleDefineHolder);
         this.remoteSender = moduleDefineHolder.find(CoreModule.NAME).provider().getService(RemoteSenderService.class);
         this.nextWorker = nextWorker;
         this.modelName = modelName;
+        this.selector = selector;
     }
 
     @Override public final void in(Metrics metrics) {
         try {
-            remoteSender.send(nextWorker.getWorkerId(), metrics, Selector.HashCode);
+            remoteSender.send(nextWorker.getWorkerId(), metrics, selector);
         } catch (Throwable e) {
             logger.error(e.getMessage(), e);
         }
@@ -19,11 +19,12 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.util.*;
-import lombok.Getter;
+import lombok.*;
 import org.apache.skywalking.oap.server.core.*;
 import org.apache.skywalking.oap.server.core.analysis.*;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.config.DownsamplingConfigService;
+import org.apache.skywalking.oap.server.core.remote.selector.Selector;
 import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.core.storage.model.*;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
@@ -37,6 +38,18 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
 
     private Map<Class<? extends Metrics>, MetricsAggregateWorker> entryWorkers = new HashMap<>();
     @Getter private List<MetricsPersistentWorker> persistentWorkers = new ArrayList<>();
+    /**
+     * The max size of the persisted metrics cache in each persistent worker, 0 means disabled.
+     */
+    @Setter private int persistedCacheSize = 0;
+    /**
+     * The max number of metrics read from the storage in one round trip by each persistent worker.
+     */
+    @Setter private int persistedReadBatchSize = 1000;
+    /**
+     * How the metrics choose the OAP node of the L2 aggregation.
+     */
+    @Setter private Selector remoteSelector = Selector.HashCode;
 
     public static MetricsStreamProcessor getInstance() {
         return PROCESSOR;
@@ -86,7 +99,7 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
         MetricsPersistentWorker minutePersistentWorker = minutePersistentWorker(moduleDefineHolder, metricsDAO, model.getName());
 
         MetricsTransWorker transWorker = new MetricsTransWorker(moduleDefineHolder, stream.name(), minutePersistentWorker, hourPersistentWorker, dayPersistentWorker, monthPersistentWorker);
-        MetricsRemoteWorker remoteWorker = new MetricsRemoteWorker(moduleDefineHolder, transWorker, stream.name());
+        MetricsRemoteWorker remoteWorker = new MetricsRemoteWorker(moduleDefineHolder, transWorker, stream.name(), remoteSelector);
         MetricsAggregateWorker aggregateWorker = new MetricsAggregateWorker(moduleDefineHolder, remoteWorker, stream.name());
 
         entryWorkers.put(metricsClass, aggregateWorker);
@@ -97,15 +110,17 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
         ExportWorker exportWorker = new ExportWorker(moduleDefineHolder);
 
         MetricsPersistentWorker minutePersistentWorker = new MetricsPersistentWorker(moduleDefineHolder, modelName,
-            1000, metricsDAO, alarmNotifyWorker, exportWorker);
+            1000, persistedCacheSize, persistedReadBatchSize, metricsDAO, alarmNotifyWorker, exportWorker);
         persistentWorkers.add(minutePersistentWorker);
+        // The hour, day and month workers receive what the minute one receives, no need to measure them too.
+        MetricsAggregateFlushTimer.INSTANCE.registerDownstream(minutePersistentWorker.getDataCarrier());
 
         return minutePersistentWorker;
     }
 
     private MetricsPersistentWorker worker(ModuleDefineHolder moduleDefineHolder, IMetricsDAO metricsDAO, String modelName) {
         MetricsPersistentWorker persistentWorker = new MetricsPersistentWorker(moduleDefineHolder, modelName,
-            1000, metricsDAO, null, null);
+            1000, persistedCacheSize, persistedReadBatchSize, metricsDAO, null, null);
         persistentWorkers.add(persistentWorker);
 
         return persistentWorker;
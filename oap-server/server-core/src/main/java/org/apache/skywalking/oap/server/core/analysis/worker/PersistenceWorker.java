@@ -48,7 +48,15 @@ public abstract class PersistenceWorker<INPUT extends StorageData, CACHE extends
                     getCache().switchPointer();
 
                     List<?> collection = buildBatchCollection();
-                    batchDAO.batchPersistence(collection);
+                    boolean succeeded = false;
+                    try {
+                        batchDAO.batchPersistence(collection);
+                        succeeded = true;
+                    } catch (Throwable t) {
+                        logger.error(t.getMessage(), t);
+                    } finally {
+                        afterBatchExecuted(collection, succeeded);
+                    }
                 }
             } finally {
                 getCache().trySwitchPointerFinally();
@@ -75,6 +83,15 @@ public abstract class PersistenceWorker<INPUT extends StorageData, CACHE extends
 
     public abstract List<Object> prepareBatch(CACHE cache);
 
+    /**
+     * Called after the batch collection built by this worker is executed.
+     *
+     * @param batchCollection the one returned by {@link #buildBatchCollection()}.
+     * @param succeeded false if the storage failed to persist any of the batch.
+     */
+    public void afterBatchExecuted(List<?> batchCollection, boolean succeeded) {
+    }
+
     public final List<?> buildBatchCollection() {
         List<?> batchCollection = new LinkedList<>();
         try {
@@ -21,7 +21,7 @@ package org.apache.skywalking.oap.server.core.cache;
 import java.util.*;
 import java.util.concurrent.*;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
-import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.*;
 import org.apache.skywalking.oap.server.core.register.ServiceInventory;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.cache.IServiceInventoryCacheDAO;
@@ -38,20 +38,30 @@ public enum CacheUpdateTimer {
 
     private Boolean isStarted = false;
 
-    public void start(ModuleManager moduleManager) {
+    public void start(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         logger.info("Cache update timer start");
 
         final long timeInterval = 3;
 
         if (!isStarted) {
-            Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+            ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+            executor.scheduleAtFixedRate(
                 new RunnableWithExceptionProtection(() -> update(moduleManager),
                     t -> logger.error("Cache update failure.", t)), 1, timeInterval, TimeUnit.SECONDS);
 
+            executor.scheduleWithFixedDelay(
+                new RunnableWithExceptionProtection(() -> resolvePending(moduleManager),
+                    t -> logger.error("Inventory id resolve failure.", t)), moduleConfig.getInventoryResolvePeriod(), moduleConfig.getInventoryResolvePeriod(), TimeUnit.MILLISECONDS);
+
             this.isStarted = true;
         }
     }
 
+    private void resolvePending(ModuleManager moduleManager) {
+        moduleManager.find(CoreModule.NAME).provider().getService(EndpointInventoryCache.class).resolvePending();
+        moduleManager.find(CoreModule.NAME).provider().getService(NetworkAddressInventoryCache.class).resolvePending();
+    }
+
     private void update(ModuleManager moduleManager) {
         IServiceInventoryCacheDAO serviceInventoryCacheDAO = moduleManager.find(StorageModule.NAME).provider().getService(IServiceInventoryCacheDAO.class);
         ServiceInventoryCache serviceInventoryCache = moduleManager.find(CoreModule.NAME).provider().getService(ServiceInventoryCache.class);
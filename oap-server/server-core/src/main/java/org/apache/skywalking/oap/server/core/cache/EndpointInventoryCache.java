@@ -19,8 +19,7 @@
 package org.apache.skywalking.oap.server.core.cache;
 
 import com.google.common.cache.*;
-import java.util.Objects;
-import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.*;
 import org.apache.skywalking.oap.server.core.register.EndpointInventory;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.cache.IEndpointInventoryCacheDAO;
@@ -42,10 +41,14 @@ public class EndpointInventoryCache implements Service {
 
     private final Cache<Integer, EndpointInventory> endpointIdCache = CacheBuilder.newBuilder().initialCapacity(5000).maximumSize(100000).build();
 
+    private final InventoryIdResolver endpointIdResolver;
+
     private IEndpointInventoryCacheDAO cacheDAO;
 
-    public EndpointInventoryCache(ModuleManager moduleManager) {
+    public EndpointInventoryCache(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         this.moduleManager = moduleManager;
+        this.endpointIdResolver = new InventoryIdResolver(endpointNameCache, moduleConfig.getInventoryAbsentCacheTTL(),
+            moduleConfig.getInventoryResolveBatchSize(), ids -> getCacheDAO().getEndpointIds(ids));
 
         this.userEndpoint = new EndpointInventory();
         this.userEndpoint.setSequence(Const.USER_ENDPOINT_ID);
@@ -60,18 +63,25 @@ public class EndpointInventoryCache implements Service {
         return cacheDAO;
     }
 
+    /**
+     * @return the endpoint id in cache, or {@link Const#NONE} when it is not in cache, which is going to be resolved in
+     * background by {@link #resolvePending()}.
+     */
     public int getEndpointId(int serviceId, String endpointName, int detectPoint) {
-        String id = EndpointInventory.buildId(serviceId, endpointName, detectPoint);
+        return endpointIdResolver.get(EndpointInventory.buildId(serviceId, endpointName, detectPoint));
+    }
 
-        Integer endpointId = endpointNameCache.getIfPresent(id);
+    /**
+     * For the callers which don't retry the data missing the endpoint id, such as the zipkin receiver.
+     *
+     * @return the endpoint id in cache or in the storage, or {@link Const#NONE} when it is not registered.
+     */
+    public int getEndpointIdNow(int serviceId, String endpointName, int detectPoint) {
+        return endpointIdResolver.getNow(EndpointInventory.buildId(serviceId, endpointName, detectPoint));
+    }
 
-        if (Objects.isNull(endpointId) || endpointId == Const.NONE) {
-            endpointId = getCacheDAO().getEndpointId(serviceId, endpointName, detectPoint);
-            if (endpointId != Const.NONE) {
-                endpointNameCache.put(id, endpointId);
-            }
-        }
-        return endpointId;
+    public void resolvePending() {
+        endpointIdResolver.resolve();
     }
 
     public EndpointInventory get(int endpointId) {
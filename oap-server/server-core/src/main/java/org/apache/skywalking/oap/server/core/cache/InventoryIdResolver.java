@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.cache;
+
+import com.google.common.cache.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import org.apache.skywalking.oap.server.core.Const;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * InventoryIdResolver maps the inventory ids, such as the id of endpoint or network address, to their sequences,
+ * without querying the storage in the caller thread.
+ *
+ * The ids missing in cache are collected as pending, and {@link #resolve()} loads them in batches, one storage query
+ * for many of them. Until then, {@link Const#NONE} is returned, the same as the id hasn't been registered, so the
+ * caller retries later, e.g. the segment goes to the buffer file.
+ *
+ * The ids not found in the storage are remembered for a short while, so the names being registered don't hit the
+ * storage again and again before the register workers persist them.
+ *
+ * The callers which can't retry use {@link #getNow(String)}, which queries the storage in the caller thread.
+ */
+public class InventoryIdResolver {
+
+    private final Cache<String, Integer> sequenceCache;
+    private final Cache<String, Boolean> absentCache;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Function<List<String>, Map<String, Integer>> loader;
+    private final int batchSize;
+
+    /**
+     * @param loader loads the sequences of the given ids from the storage, the absent ids are not in the result.
+     */
+    public InventoryIdResolver(Cache<String, Integer> sequenceCache, long absentTTL, int batchSize,
+        Function<List<String>, Map<String, Integer>> loader) {
+        this.sequenceCache = sequenceCache;
+        this.absentCache = CacheBuilder.newBuilder().maximumSize(100000).expireAfterWrite(absentTTL, TimeUnit.MILLISECONDS).build();
+        this.batchSize = batchSize;
+        this.loader = loader;
+    }
+
+    public int get(String id) {
+        Integer sequence = sequenceCache.getIfPresent(id);
+        if (nonNull(sequence)) {
+            return sequence;
+        }
+
+        if (absentCache.getIfPresent(id) == null) {
+            pending.add(id);
+        }
+        return Const.NONE;
+    }
+
+    /**
+     * @return the sequence in cache, or loaded from the storage right now. {@link Const#NONE} if it isn't in the
+     * storage either.
+     */
+    public int getNow(String id) {
+        Integer sequence = sequenceCache.getIfPresent(id);
+        if (nonNull(sequence)) {
+            return sequence;
+        }
+
+        if (absentCache.getIfPresent(id) != null) {
+            return Const.NONE;
+        }
+        load(Collections.singletonList(id));
+
+        sequence = sequenceCache.getIfPresent(id);
+        return nonNull(sequence) ? sequence : Const.NONE;
+    }
+
+    /**
+     * Load all the pending ids, {@link #batchSize} ids in one query.
+     */
+    public void resolve() {
+        List<String> ids = new ArrayList<>(batchSize);
+        Iterator<String> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+            iterator.remove();
+
+            if (ids.size() == batchSize) {
+                load(ids);
+                ids.clear();
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            load(ids);
+        }
+    }
+
+    int pendingSize() {
+        return pending.size();
+    }
+
+    private void load(List<String> ids) {
+        Map<String, Integer> sequences = loader.apply(ids);
+        for (String id : ids) {
+            Integer sequence = sequences.get(id);
+            if (nonNull(sequence) && sequence != Const.NONE) {
+                sequenceCache.put(id, sequence);
+            } else {
+                absentCache.put(id, Boolean.TRUE);
+            }
+        }
+    }
+}
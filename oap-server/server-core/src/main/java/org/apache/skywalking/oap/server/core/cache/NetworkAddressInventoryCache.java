@@ -19,8 +19,7 @@
 package org.apache.skywalking.oap.server.core.cache;
 
 import com.google.common.cache.*;
-import java.util.Objects;
-import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.*;
 import org.apache.skywalking.oap.server.core.register.NetworkAddressInventory;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.cache.INetworkAddressInventoryCacheDAO;
@@ -39,11 +38,15 @@ public class NetworkAddressInventoryCache implements Service {
     private final Cache<String, Integer> networkAddressCache = CacheBuilder.newBuilder().initialCapacity(1000).maximumSize(5000).build();
     private final Cache<Integer, NetworkAddressInventory> addressIdCache = CacheBuilder.newBuilder().initialCapacity(1000).maximumSize(5000).build();
 
+    private final InventoryIdResolver addressIdResolver;
+
     private final ModuleManager moduleManager;
     private INetworkAddressInventoryCacheDAO cacheDAO;
 
-    public NetworkAddressInventoryCache(ModuleManager moduleManager) {
+    public NetworkAddressInventoryCache(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         this.moduleManager = moduleManager;
+        this.addressIdResolver = new InventoryIdResolver(networkAddressCache, moduleConfig.getInventoryAbsentCacheTTL(),
+            moduleConfig.getInventoryResolveBatchSize(), ids -> getCacheDAO().getAddressIds(ids));
     }
 
     private INetworkAddressInventoryCacheDAO getCacheDAO() {
@@ -53,17 +56,16 @@ public class NetworkAddressInventoryCache implements Service {
         return this.cacheDAO;
     }
 
+    /**
+     * @return the address id in cache, or {@link Const#NONE} when it is not in cache, which is going to be resolved in
+     * background by {@link #resolvePending()}.
+     */
     public int getAddressId(String networkAddress) {
-        Integer addressId = networkAddressCache.getIfPresent(NetworkAddressInventory.buildId(networkAddress));
-
-        if (Objects.isNull(addressId) || addressId == Const.NONE) {
-            addressId = getCacheDAO().getAddressId(networkAddress);
-            if (addressId != Const.NONE) {
-                networkAddressCache.put(NetworkAddressInventory.buildId(networkAddress), addressId);
-            }
-        }
+        return addressIdResolver.get(NetworkAddressInventory.buildId(networkAddress));
+    }
 
-        return addressId;
+    public void resolvePending() {
+        addressIdResolver.resolve();
     }
 
     public NetworkAddressInventory get(int addressId) {
@@ -24,7 +24,7 @@ import java.util.*;
 import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.analysis.Downsampling;
-import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.*;
 import org.apache.skywalking.oap.server.core.query.entity.*;
 import org.apache.skywalking.oap.server.core.query.sql.*;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
@@ -40,10 +40,12 @@ import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 public class MetricQueryService implements Service {
 
     private final ModuleManager moduleManager;
+    private final QueryResultCache queryResultCache;
     private IMetricsQueryDAO metricQueryDAO;
 
-    public MetricQueryService(ModuleManager moduleManager) {
+    public MetricQueryService(ModuleManager moduleManager, QueryResultCache queryResultCache) {
         this.moduleManager = moduleManager;
+        this.queryResultCache = queryResultCache;
     }
 
     private IMetricsQueryDAO getMetricQueryDAO() {
@@ -68,17 +70,65 @@ public class MetricQueryService implements Service {
         return getMetricQueryDAO().getValues(indName, downsampling, startTB, endTB, where, ValueColumnIds.INSTANCE.getValueCName(indName), ValueColumnIds.INSTANCE.getValueFunction(indName));
     }
 
+    /**
+     * The name of a Pxx metrics, such as service_p99, is read from the rank of its percentile metrics, if it isn't
+     * declared by itself.
+     */
     public IntValues getLinearIntValues(final String indName, final String id, final Downsampling downsampling, final long startTB,
         final long endTB) throws IOException, ParseException {
+        List<String> ids = buildLinearIds(id, downsampling, startTB, endTB);
+
+        List<Long> values;
+        int rankIndex = PercentileMetrics.rankIndexOf(indName);
+        if (!ValueColumnIds.INSTANCE.contains(indName) && rankIndex >= 0
+            && ValueColumnIds.INSTANCE.contains(PercentileMetrics.percentileNameOf(indName))) {
+            String percentileName = PercentileMetrics.percentileNameOf(indName);
+            String valueCName = ValueColumnIds.INSTANCE.getValueCName(percentileName);
+            values = queryResultCache.getAll("linear" + Const.ID_SPLIT + indName, downsampling, ids, value -> value == 0, missedIds -> {
+                List<Long> loaded = new ArrayList<>(missedIds.size());
+                IntValues[] ranks = getMetricQueryDAO().getMultipleLinearIntValues(percentileName, downsampling, missedIds, PercentileMetrics.RANKS.length, valueCName);
+                ranks[rankIndex].getValues().forEach(kvInt -> loaded.add(kvInt.getValue()));
+                return loaded;
+            });
+        } else {
+            String valueCName = ValueColumnIds.INSTANCE.getValueCName(indName);
+            values = queryResultCache.getAll("linear" + Const.ID_SPLIT + indName, downsampling, ids, value -> value == 0, missedIds -> {
+                List<Long> loaded = new ArrayList<>(missedIds.size());
+                getMetricQueryDAO().getLinearIntValues(indName, downsampling, missedIds, valueCName).getValues().forEach(kvInt -> loaded.add(kvInt.getValue()));
+                return loaded;
+            });
+        }
+
+        IntValues intValues = new IntValues();
+        for (int i = 0; i < ids.size(); i++) {
+            KVInt kvInt = new KVInt();
+            kvInt.setId(ids.get(i));
+            kvInt.setValue(values.get(i));
+            intValues.addKVInt(kvInt);
+        }
+        return intValues;
+    }
+
+    public IntValues[] getMultipleLinearIntValues(final String indName, final String id, final int numOfLinear,
+        final Downsampling downsampling, final long startTB, final long endTB) throws IOException, ParseException {
+        List<String> ids = buildLinearIds(id, downsampling, startTB, endTB);
+
+        return getMetricQueryDAO().getMultipleLinearIntValues(indName, downsampling, ids, numOfLinear, ValueColumnIds.INSTANCE.getValueCName(indName));
+    }
+
+    /**
+     * @return the id of every time bucket in the duration, or the time bucket itself if the entity id is empty.
+     */
+    private List<String> buildLinearIds(final String id, final Downsampling downsampling, final long startTB,
+        final long endTB) throws ParseException {
         List<DurationPoint> durationPoints = DurationUtils.INSTANCE.getDurationPoints(downsampling, startTB, endTB);
-        List<String> ids = new ArrayList<>();
+        List<String> ids = new ArrayList<>(durationPoints.size());
         if (StringUtil.isEmpty(id)) {
             durationPoints.forEach(durationPoint -> ids.add(String.valueOf(durationPoint.getPoint())));
         } else {
             durationPoints.forEach(durationPoint -> ids.add(durationPoint.getPoint() + Const.ID_SPLIT + id));
         }
-
-        return getMetricQueryDAO().getLinearIntValues(indName, downsampling, ids, ValueColumnIds.INSTANCE.getValueCName(indName));
+        return ids;
     }
 
     public Thermodynamic getThermodynamic(final String indName, final String id, final Downsampling downsampling, final long startTB,
@@ -93,6 +143,46 @@ public class MetricQueryService implements Service {
             }
         });
 
-        return getMetricQueryDAO().getThermodynamic(indName, downsampling, ids, ValueColumnIds.INSTANCE.getValueCName(indName));
+        String valueCName = ValueColumnIds.INSTANCE.getValueCName(indName);
+        List<ThermodynamicColumn> columns = queryResultCache.getAll("thermodynamic" + Const.ID_SPLIT + indName, downsampling, ids, column -> column.absent, missedIds -> {
+            Thermodynamic thermodynamic = getMetricQueryDAO().getThermodynamic(indName, downsampling, missedIds, valueCName);
+            List<ThermodynamicColumn> loaded = new ArrayList<>(missedIds.size());
+            for (int i = 0; i < missedIds.size(); i++) {
+                loaded.add(new ThermodynamicColumn(thermodynamic.getAxisYStep(), new ArrayList<>(), thermodynamic.isAbsent(i)));
+            }
+            thermodynamic.getNodes().forEach(node -> loaded.get(node.get(0).intValue()).values.add(node.get(2)));
+            return loaded;
+        });
+
+        Thermodynamic thermodynamic = new Thermodynamic();
+        List<List<Long>> thermodynamicValueMatrix = new ArrayList<>(columns.size());
+        int numOfSteps = 0;
+        for (ThermodynamicColumn column : columns) {
+            if (column.axisYStep != 0) {
+                thermodynamic.setAxisYStep(column.axisYStep);
+            }
+            numOfSteps = Math.max(numOfSteps, column.values.size());
+            thermodynamicValueMatrix.add(new ArrayList<>(column.values));
+        }
+        thermodynamic.fromMatrixData(thermodynamicValueMatrix, numOfSteps);
+        return thermodynamic;
+    }
+
+    /**
+     * The values of one time bucket in thermodynamic, ordered by the rows.
+     */
+    private static class ThermodynamicColumn {
+        private final int axisYStep;
+        private final List<Long> values;
+        /**
+         * No data in storage, the values are filled by 0.
+         */
+        private final boolean absent;
+
+        private ThermodynamicColumn(int axisYStep, List<Long> values, boolean absent) {
+            this.axisYStep = axisYStep;
+            this.values = values;
+            this.absent = absent;
+        }
     }
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.query;
+
+import com.google.common.cache.*;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.analysis.Downsampling;
+import org.apache.skywalking.oap.server.telemetry.api.*;
+import org.joda.time.DateTime;
+
+/**
+ * QueryResultCache keeps the query results of every time bucket, so the dashboards refreshing the same duration only
+ * query the buckets not cached yet, mostly the latest one.
+ *
+ * The bucket ended before the settled time is settled, the metrics of it don't change anymore, cached until evicted by
+ * size. The others, the current bucket and the ones may still be updated by the late data, are cached for a short TTL.
+ * The absent results, which the storage doesn't tell from the empty values, are always cached for the short TTL, as
+ * the data of a settled bucket may still be persisted late, such as after the OAP restarts.
+ */
+public class QueryResultCache {
+
+    private final boolean enabled;
+    private final long settledTime;
+    private final Cache<String, Object> settledCache;
+    private final Cache<String, Object> unsettledCache;
+    private CounterMetrics hitCounter;
+    private CounterMetrics missCounter;
+
+    /**
+     * @param maxSize the max number of results in cache, 0 means no cache.
+     * @param settledTime the milliseconds after which the bucket is settled.
+     * @param unsettledTTL the milliseconds the unsettled result is cached.
+     */
+    public QueryResultCache(long maxSize, long settledTime, long unsettledTTL) {
+        this.enabled = maxSize > 0;
+        this.settledTime = settledTime;
+        this.settledCache = CacheBuilder.newBuilder().maximumSize(Math.max(maxSize, 1)).build();
+        this.unsettledCache = CacheBuilder.newBuilder().maximumSize(Math.max(maxSize / 10, 1))
+            .expireAfterWrite(unsettledTTL, TimeUnit.MILLISECONDS).build();
+    }
+
+    public void setMetricsCreator(MetricsCreator metricsCreator) {
+        hitCounter = metricsCreator.createCounter("query_cache_hit_count", "The number of time buckets hit the query result cache",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE);
+        missCounter = metricsCreator.createCounter("query_cache_miss_count", "The number of time buckets missed in the query result cache",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE);
+    }
+
+    /**
+     * Get the results of the ids, the id starts with its time bucket, only the missed ids are loaded. The query name
+     * tells the different queries of the same ids apart.
+     *
+     * @param isAbsent tells whether the loaded result may be absent in the storage.
+     * @return the results in the order of ids.
+     */
+    public <T> List<T> getAll(String queryName, Downsampling downsampling, List<String> ids, Predicate<T> isAbsent,
+        BucketsLoader<T> loader) throws IOException {
+        if (!enabled) {
+            return loader.load(ids);
+        }
+
+        String keyPrefix = queryName + Const.ID_SPLIT + downsampling.getValue() + Const.ID_SPLIT;
+        long settledTimeBucket = settledTimeBucket(downsampling);
+
+        List<T> results = new ArrayList<>(ids.size());
+        List<String> missedIds = new ArrayList<>();
+        List<Integer> missedIndexes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            T result = lookup(keyPrefix + ids.get(i));
+            results.add(result);
+            if (result == null) {
+                missedIds.add(ids.get(i));
+                missedIndexes.add(i);
+            }
+        }
+        count(ids.size() - missedIds.size(), missedIds.size());
+
+        if (!missedIds.isEmpty()) {
+            List<T> loaded = loader.load(missedIds);
+            for (int i = 0; i < missedIds.size(); i++) {
+                String id = missedIds.get(i);
+                T result = loaded.get(i);
+                results.set(missedIndexes.get(i), result);
+                put(keyPrefix + id, timeBucketOf(id) < settledTimeBucket && !isAbsent.test(result), result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Get the result of the whole duration, which is loaded again once any bucket of it isn't settled.
+     *
+     * @param isAbsent tells whether the loaded result may be absent in the storage.
+     */
+    public <T> T get(String queryName, Downsampling downsampling, long startTB, long endTB, Predicate<T> isAbsent,
+        Loader<T> loader) throws IOException {
+        if (!enabled) {
+            return loader.load();
+        }
+
+        String key = queryName + Const.ID_SPLIT + downsampling.getValue() + Const.ID_SPLIT + startTB + Const.ID_SPLIT + endTB;
+        T result = lookup(key);
+        if (result != null) {
+            count(1, 0);
+            return result;
+        }
+        count(0, 1);
+
+        result = loader.load();
+        put(key, endTB < settledTimeBucket(downsampling) && !isAbsent.test(result), result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(String key) {
+        Object result = settledCache.getIfPresent(key);
+        if (result == null) {
+            result = unsettledCache.getIfPresent(key);
+        }
+        return (T)result;
+    }
+
+    private void put(String key, boolean settled, Object result) {
+        if (result == null) {
+            return;
+        }
+        if (settled) {
+            settledCache.put(key, result);
+        } else {
+            unsettledCache.put(key, result);
+        }
+    }
+
+    private void count(int hits, int misses) {
+        if (hitCounter != null) {
+            if (hits > 0) {
+                hitCounter.inc(hits);
+            }
+            if (misses > 0) {
+                missCounter.inc(misses);
+            }
+        }
+    }
+
+    private long timeBucketOf(String id) {
+        int index = id.indexOf(Const.ID_SPLIT);
+        return Long.parseLong(index < 0 ? id : id.substring(0, index));
+    }
+
+    /**
+     * @return the time bucket including the settled time, the buckets before it are settled.
+     */
+    long settledTimeBucket(Downsampling downsampling) {
+        DateTime settled = new DateTime(System.currentTimeMillis() - settledTime);
+        switch (downsampling) {
+            case Month:
+                return Long.valueOf(settled.toString("yyyyMM"));
+            case Day:
+                return Long.valueOf(settled.toString("yyyyMMdd"));
+            case Hour:
+                return Long.valueOf(settled.toString("yyyyMMddHH"));
+            case Minute:
+                return Long.valueOf(settled.toString("yyyyMMddHHmm"));
+            default:
+                return Long.valueOf(settled.toString("yyyyMMddHHmmss"));
+        }
+    }
+
+    public interface BucketsLoader<T> {
+        /**
+         * @return the results in the order of ids.
+         */
+        List<T> load(List<String> ids) throws IOException;
+    }
+
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+}
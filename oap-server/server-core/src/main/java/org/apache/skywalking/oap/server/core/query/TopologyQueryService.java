@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.*;
 import org.apache.skywalking.oap.server.core.*;
 import org.apache.skywalking.oap.server.core.analysis.Downsampling;
+import org.apache.skywalking.oap.server.core.analysis.manual.servicerelation.ServiceRelationGraph;
 import org.apache.skywalking.oap.server.core.cache.EndpointInventoryCache;
 import org.apache.skywalking.oap.server.core.config.IComponentLibraryCatalogService;
 import org.apache.skywalking.oap.server.core.query.entity.*;
@@ -42,13 +43,15 @@ public class TopologyQueryService implements Service {
     private static final Logger logger = LoggerFactory.getLogger(TopologyQueryService.class);
 
     private final ModuleManager moduleManager;
+    private final QueryResultCache queryResultCache;
     private ITopologyQueryDAO topologyQueryDAO;
     private IMetadataQueryDAO metadataQueryDAO;
     private EndpointInventoryCache endpointInventoryCache;
     private IComponentLibraryCatalogService componentLibraryCatalogService;
 
-    public TopologyQueryService(ModuleManager moduleManager) {
+    public TopologyQueryService(ModuleManager moduleManager, QueryResultCache queryResultCache) {
         this.moduleManager = moduleManager;
+        this.queryResultCache = queryResultCache;
     }
 
     private IMetadataQueryDAO getMetadataQueryDAO() {
@@ -82,13 +85,21 @@ public class TopologyQueryService implements Service {
     public Topology getGlobalTopology(final Downsampling downsampling, final long startTB, final long endTB, final long startTimestamp,
         final long endTimestamp) throws IOException {
         logger.debug("Downsampling: {}, startTimeBucket: {}, endTimeBucket: {}", downsampling, startTB, endTB);
-        List<Call.CallDetail> serviceRelationServerCalls = getTopologyQueryDAO().loadServerSideServiceRelations(downsampling, startTB, endTB);
-        List<Call.CallDetail> serviceRelationClientCalls = getTopologyQueryDAO().loadClientSideServiceRelations(downsampling, startTB, endTB);
+        if (ServiceRelationGraph.INSTANCE.covers(downsampling, startTB, endTB)) {
+            List<Call.CallDetail> serviceRelationServerCalls = ServiceRelationGraph.INSTANCE.loadServerSideServiceRelations(startTB, endTB);
+            List<Call.CallDetail> serviceRelationClientCalls = ServiceRelationGraph.INSTANCE.loadClientSideServiceRelations(startTB, endTB);
 
-        TopologyBuilder builder = new TopologyBuilder(moduleManager);
-        Topology topology = builder.build(serviceRelationClientCalls, serviceRelationServerCalls);
+            TopologyBuilder builder = new TopologyBuilder(moduleManager);
+            return builder.build(serviceRelationClientCalls, serviceRelationServerCalls);
+        }
 
-        return topology;
+        return queryResultCache.get("global_topology", downsampling, startTB, endTB, topology -> topology.getCalls().isEmpty(), () -> {
+            List<Call.CallDetail> serviceRelationServerCalls = getTopologyQueryDAO().loadServerSideServiceRelations(downsampling, startTB, endTB);
+            List<Call.CallDetail> serviceRelationClientCalls = getTopologyQueryDAO().loadClientSideServiceRelations(downsampling, startTB, endTB);
+
+            TopologyBuilder builder = new TopologyBuilder(moduleManager);
+            return builder.build(serviceRelationClientCalls, serviceRelationServerCalls);
+        });
     }
 
     public Topology getServiceTopology(final Downsampling downsampling, final long startTB, final long endTB, final int serviceId) throws IOException {
@@ -28,22 +28,28 @@ import lombok.*;
 public class Thermodynamic {
     private final List<List<Long>> nodes;
     @Setter private int axisYStep;
+    /**
+     * The columns without data in storage, which are filled by 0.
+     */
+    @Getter(AccessLevel.NONE) private final Set<Integer> absentColumns;
 
     public Thermodynamic() {
         this.nodes = new ArrayList<>();
+        this.absentColumns = new HashSet<>();
     }
 
     public void fromMatrixData(List<List<Long>> thermodynamicValueMatrix, int numOfSteps) {
-        thermodynamicValueMatrix.forEach(columnOfThermodynamic -> {
-                if (columnOfThermodynamic.size() == 0) {
-                    if (numOfSteps > 0) {
-                        for (int i = 0; i < numOfSteps; i++) {
-                            columnOfThermodynamic.add(0L);
-                        }
+        for (int colNum = 0; colNum < thermodynamicValueMatrix.size(); colNum++) {
+            List<Long> columnOfThermodynamic = thermodynamicValueMatrix.get(colNum);
+            if (columnOfThermodynamic.size() == 0) {
+                absentColumns.add(colNum);
+                if (numOfSteps > 0) {
+                    for (int i = 0; i < numOfSteps; i++) {
+                        columnOfThermodynamic.add(0L);
                     }
                 }
             }
-        );
+        }
 
         for (int colNum = 0; colNum < thermodynamicValueMatrix.size(); colNum++) {
             List<Long> column = thermodynamicValueMatrix.get(colNum);
@@ -54,6 +60,13 @@ public class Thermodynamic {
         }
     }
 
+    /**
+     * @return true if the column had no data before {@link #fromMatrixData(List, int)} filled it.
+     */
+    public boolean isAbsent(int columnNum) {
+        return absentColumns.contains(columnNum);
+    }
+
     private void setNodeValue(int columnNum, int rowNum, Long value) {
         List<Long> element = new ArrayList<>(3);
         element.add((long)columnNum);
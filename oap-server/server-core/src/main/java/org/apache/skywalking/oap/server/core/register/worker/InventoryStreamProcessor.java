@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.register.worker;
 
 import java.util.*;
+import lombok.Setter;
 import org.apache.skywalking.oap.server.core.*;
 import org.apache.skywalking.oap.server.core.analysis.*;
 import org.apache.skywalking.oap.server.core.register.RegisterSource;
@@ -34,6 +35,7 @@ public class InventoryStreamProcessor implements StreamProcessor<RegisterSource>
     private static final InventoryStreamProcessor PROCESSOR = new InventoryStreamProcessor();
 
     private Map<Class<? extends RegisterSource>, RegisterDistinctWorker> entryWorkers = new HashMap<>();
+    @Setter private int sequenceBlockSize = 1;
 
     public static InventoryStreamProcessor getInstance() {
         return PROCESSOR;
@@ -55,7 +57,7 @@ public class InventoryStreamProcessor implements StreamProcessor<RegisterSource>
 
         IModelSetter modelSetter = moduleDefineHolder.find(CoreModule.NAME).provider().getService(IModelSetter.class);
         Model model = modelSetter.putIfAbsent(inventoryClass, stream.name(), stream.scopeId(), stream.storage());
-        RegisterPersistentWorker persistentWorker = new RegisterPersistentWorker(moduleDefineHolder, model.getName(), registerDAO, stream.scopeId());
+        RegisterPersistentWorker persistentWorker = new RegisterPersistentWorker(moduleDefineHolder, model.getName(), registerDAO, stream.scopeId(), sequenceBlockSize);
 
         RegisterRemoteWorker remoteWorker = new RegisterRemoteWorker(moduleDefineHolder, persistentWorker);
 
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.register.worker;
 
+import java.io.IOException;
 import java.util.*;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.*;
@@ -43,15 +44,19 @@ public class RegisterPersistentWorker extends AbstractWorker<RegisterSource> {
     private final IRegisterLockDAO registerLockDAO;
     private final IRegisterDAO registerDAO;
     private final DataCarrier<RegisterSource> dataCarrier;
+    private final int sequenceBlockSize;
+    private int nextSequence = Const.NONE;
+    private int lastSequence = Const.NONE;
 
     RegisterPersistentWorker(ModuleDefineHolder moduleDefineHolder, String modelName,
-        IRegisterDAO registerDAO, int scopeId) {
+        IRegisterDAO registerDAO, int scopeId, int sequenceBlockSize) {
         super(moduleDefineHolder);
         this.modelName = modelName;
         this.sources = new HashMap<>();
         this.registerDAO = registerDAO;
         this.registerLockDAO = moduleDefineHolder.find(StorageModule.NAME).provider().getService(IRegisterLockDAO.class);
         this.scopeId = scopeId;
+        this.sequenceBlockSize = sequenceBlockSize;
         this.dataCarrier = new DataCarrier<>("MetricsPersistentWorker." + modelName, 1, 1000);
 
         String name = "REGISTER_L2";
@@ -82,38 +87,109 @@ public class RegisterPersistentWorker extends AbstractWorker<RegisterSource> {
         }
 
         if (sources.size() > 1000 || registerSource.getEndOfBatchContext().isEndOfBatch()) {
-            sources.values().forEach(source -> {
+            List<RegisterSource> inserts = new ArrayList<>();
+            List<RegisterSource> updates = new ArrayList<>();
+            try {
+                List<RegisterSource> newSources = combineWithDB(sources.values(), updates);
+
+                if (!newSources.isEmpty()) {
+                    int[] sequences = new int[newSources.size()];
+                    int allocated = 0;
+                    while (allocated < sequences.length && (sequences[allocated] = nextSequence(sequences.length - allocated)) != Const.NONE) {
+                        allocated++;
+                    }
+                    if (allocated < sequences.length) {
+                        logger.info("{} inventory register try lock and increment sequence failure.", DefaultScopeDefine.nameOf(scopeId));
+                    }
+
+                    // Read again, the sources may be registered by the other OAP instances in the meantime.
+                    newSources = combineWithDB(newSources.subList(0, allocated), updates);
+                    for (int i = 0; i < newSources.size(); i++) {
+                        RegisterSource source = newSources.get(i);
+                        source.setSequence(sequences[i]);
+                        inserts.add(source);
+                    }
+                }
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+            }
+
+            persist(inserts, true);
+            persist(updates, false);
+            sources.clear();
+        }
+    }
+
+    /**
+     * Combine the given sources into the persisted ones in one read, and collect the changed ones into updates.
+     *
+     * @return the sources not in storage.
+     */
+    private List<RegisterSource> combineWithDB(Collection<RegisterSource> registerSources,
+        List<RegisterSource> updates) throws IOException {
+        List<String> ids = new ArrayList<>(registerSources.size());
+        registerSources.forEach(source -> ids.add(source.id()));
+
+        Map<String, RegisterSource> dbSources = new HashMap<>();
+        registerDAO.get(modelName, ids).forEach(dbSource -> dbSources.put(dbSource.id(), dbSource));
+
+        List<RegisterSource> newSources = new ArrayList<>();
+        for (RegisterSource source : registerSources) {
+            RegisterSource dbSource = dbSources.get(source.id());
+            if (Objects.nonNull(dbSource)) {
+                if (dbSource.combine(source)) {
+                    updates.add(dbSource);
+                }
+            } else {
+                newSources.add(source);
+            }
+        }
+        return newSources;
+    }
+
+    /**
+     * Take the sequence from the local range, which is allocated by the lock DAO, at least sequenceBlockSize ids in one
+     * round trip.
+     *
+     * @param required the number of sequences going to be taken, including this one.
+     */
+    private int nextSequence(int required) {
+        if (nextSequence == Const.NONE || nextSequence > lastSequence) {
+            int size = Math.max(required, sequenceBlockSize);
+            int first = registerLockDAO.getIds(scopeId, size);
+            if (first == Const.NONE) {
+                return Const.NONE;
+            }
+            nextSequence = first;
+            lastSequence = first + size - 1;
+        }
+        return nextSequence++;
+    }
+
+    private void persist(List<RegisterSource> registerSources, boolean insert) {
+        if (registerSources.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (insert) {
+                registerDAO.forceInsert(modelName, registerSources);
+            } else {
+                registerDAO.forceUpdate(modelName, registerSources);
+            }
+        } catch (Throwable t) {
+            logger.warn("Batch persist {} inventory failure, try them one by one, error message: {}", DefaultScopeDefine.nameOf(scopeId), t.getMessage());
+            registerSources.forEach(source -> {
                 try {
-                    RegisterSource dbSource = registerDAO.get(modelName, source.id());
-                    if (Objects.nonNull(dbSource)) {
-                        if (dbSource.combine(source)) {
-                            registerDAO.forceUpdate(modelName, dbSource);
-                        }
+                    if (insert) {
+                        registerDAO.forceInsert(modelName, source);
                     } else {
-                        int sequence;
-                        if ((sequence = registerLockDAO.getId(scopeId, source)) != Const.NONE) {
-                            try {
-                                dbSource = registerDAO.get(modelName, source.id());
-                                if (Objects.nonNull(dbSource)) {
-                                    if (dbSource.combine(source)) {
-                                        registerDAO.forceUpdate(modelName, dbSource);
-                                    }
-                                } else {
-                                    source.setSequence(sequence);
-                                    registerDAO.forceInsert(modelName, source);
-                                }
-                            } catch (Throwable t) {
-                                logger.error(t.getMessage(), t);
-                            }
-                        } else {
-                            logger.info("{} inventory register try lock and increment sequence failure.", DefaultScopeDefine.nameOf(scopeId));
-                        }
+                        registerDAO.forceUpdate(modelName, source);
                     }
-                } catch (Throwable t) {
-                    logger.error(t.getMessage(), t);
+                } catch (Throwable e) {
+                    logger.error(e.getMessage(), e);
                 }
             });
-            sources.clear();
         }
     }
 
@@ -33,12 +33,14 @@ public class RemoteSenderService implements Service {
     private final HashCodeSelector hashCodeSelector;
     private final ForeverFirstSelector foreverFirstSelector;
     private final RollingSelector rollingSelector;
+    private final ConsistentHashSelector consistentHashSelector;
 
     public RemoteSenderService(ModuleManager moduleManager) {
         this.moduleManager = moduleManager;
         this.hashCodeSelector = new HashCodeSelector();
         this.foreverFirstSelector = new ForeverFirstSelector();
         this.rollingSelector = new RollingSelector();
+        this.consistentHashSelector = new ConsistentHashSelector();
     }
 
     public void send(int nextWorkId, StreamData streamData, Selector selector) {
@@ -58,6 +60,18 @@ public class RemoteSenderService implements Service {
                 remoteClient = foreverFirstSelector.select(clientManager.getRemoteClient(), streamData);
                 remoteClient.push(nextWorkId, streamData);
                 break;
+            case ConsistentHash:
+                remoteClient = consistentHashSelector.select(clientManager.getRemoteClient(), streamData);
+                remoteClient.push(nextWorkId, streamData);
+                break;
         }
     }
+
+    /**
+     * Push the data to all the OAP nodes, including this one.
+     */
+    public void broadcast(int nextWorkId, StreamData streamData) {
+        RemoteClientManager clientManager = moduleManager.find(CoreModule.NAME).provider().getService(RemoteClientManager.class);
+        clientManager.getRemoteClient().forEach(remoteClient -> remoteClient.push(nextWorkId, streamData));
+    }
 }
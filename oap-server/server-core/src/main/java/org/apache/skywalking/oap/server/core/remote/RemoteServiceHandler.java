@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.remote;
 
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import java.util.Objects;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -64,6 +65,50 @@ public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBas
     }
 
     @Override public StreamObserver<RemoteMessage> call(StreamObserver<Empty> responseObserver) {
+        prepareGetters();
+
+        return new StreamObserver<RemoteMessage>() {
+            @Override public void onNext(RemoteMessage message) {
+                handle(message);
+            }
+
+            @Override public void onError(Throwable throwable) {
+                logger.error(throwable.getMessage(), throwable);
+            }
+
+            @Override public void onCompleted() {
+                responseObserver.onNext(Empty.newBuilder().build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override public StreamObserver<RemoteMessageBatch> batchCall(StreamObserver<Empty> responseObserver) {
+        prepareGetters();
+
+        return new StreamObserver<RemoteMessageBatch>() {
+            @Override public void onNext(RemoteMessageBatch batch) {
+                for (int i = 0; i < batch.getMessagesCount(); i++) {
+                    handle(batch.getMessages(i));
+                }
+            }
+
+            @Override public void onError(Throwable throwable) {
+                if (Status.fromThrowable(throwable).getCode() == Status.Code.CANCELLED) {
+                    logger.debug("Remote batch call cancelled by the client: {}", throwable.getMessage());
+                } else {
+                    logger.error(throwable.getMessage(), throwable);
+                }
+            }
+
+            @Override public void onCompleted() {
+                responseObserver.onNext(Empty.newBuilder().build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private void prepareGetters() {
         if (Objects.isNull(streamDataMappingGetter)) {
             synchronized (RemoteServiceHandler.class) {
                 if (Objects.isNull(streamDataMappingGetter)) {
@@ -79,38 +124,27 @@ public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBas
                 }
             }
         }
+    }
 
-        return new StreamObserver<RemoteMessage>() {
-            @Override public void onNext(RemoteMessage message) {
-                remoteInCounter.inc();
-                HistogramMetrics.Timer timer = remoteInHistogram.createTimer();
-                try {
-                    int streamDataId = message.getStreamDataId();
-                    int nextWorkerId = message.getNextWorkerId();
-                    RemoteData remoteData = message.getRemoteData();
-
-                    Class<? extends StreamData> streamDataClass = streamDataMappingGetter.findClassById(streamDataId);
-                    try {
-                        StreamData streamData = streamDataClass.newInstance();
-                        streamData.deserialize(remoteData);
-                        workerInstanceGetter.get(nextWorkerId).in(streamData);
-                    } catch (Throwable t) {
-                        remoteInErrorCounter.inc();
-                        logger.error(t.getMessage(), t);
-                    }
-                } finally {
-                    timer.finish();
-                }
-            }
-
-            @Override public void onError(Throwable throwable) {
-                logger.error(throwable.getMessage(), throwable);
-            }
+    private void handle(RemoteMessage message) {
+        remoteInCounter.inc();
+        HistogramMetrics.Timer timer = remoteInHistogram.createTimer();
+        try {
+            int streamDataId = message.getStreamDataId();
+            int nextWorkerId = message.getNextWorkerId();
+            RemoteData remoteData = message.getRemoteData();
 
-            @Override public void onCompleted() {
-                responseObserver.onNext(Empty.newBuilder().build());
-                responseObserver.onCompleted();
+            Class<? extends StreamData> streamDataClass = streamDataMappingGetter.findClassById(streamDataId);
+            try {
+                StreamData streamData = streamDataClass.newInstance();
+                streamData.deserialize(remoteData);
+                workerInstanceGetter.get(nextWorkerId).in(streamData);
+            } catch (Throwable t) {
+                remoteInErrorCounter.inc();
+                logger.error(t.getMessage(), t);
             }
-        };
+        } finally {
+            timer.finish();
+        }
     }
 }
@@ -18,13 +18,15 @@
 
 package org.apache.skywalking.oap.server.core.remote.client;
 
-import io.grpc.ManagedChannel;
-import io.grpc.stub.StreamObserver;
+import io.grpc.*;
+import io.grpc.stub.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
-import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.*;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsAggregateFlushTimer;
 import org.apache.skywalking.oap.server.core.remote.define.StreamDataMappingGetter;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.*;
@@ -38,17 +40,32 @@ import org.slf4j.*;
  * This is a wrapper of the gRPC client for sending message to each other OAP server.
  * It contains a block queue to buffering the message and sending the message by batch.
  *
+ * The messages are packed into {@link RemoteMessageBatch}es, and sent through one long-lived stream, which is created
+ * again after any error. When the stream isn't ready because of the gRPC flow control, the consumer waits for it, then
+ * the queue is full and blocks the producers.
+ *
+ * The messages written into a batch call are lost if the peer doesn't support it, mostly an old version in a rolling
+ * upgrade. So the batch call is probed without any message first, and falls back to one stream per consume if it is
+ * unimplemented. The probe is done again once the channel reconnects, as the peer may have been restarted in another
+ * version.
+ *
  * @author peng-yongsheng
  */
 public class GRPCRemoteClient implements RemoteClient {
 
     private static final Logger logger = LoggerFactory.getLogger(GRPCRemoteClient.class);
+    private static final long PROBE_TIMEOUT_SECONDS = 10;
 
     private final int channelSize;
     private final int bufferSize;
+    private final int batchSize;
+    private final String compression;
     private final Address address;
     private final StreamDataMappingGetter streamDataMappingGetter;
     private final AtomicInteger concurrentStreamObserverNumber = new AtomicInteger(0);
+    private final Object readyLock = new Object();
+    private volatile ClientCallStreamObserver<RemoteMessageBatch> batchStream;
+    private volatile BatchSupport batchSupport = BatchSupport.UNKNOWN;
     private GRPCClient client;
     private DataCarrier<RemoteMessage> carrier;
     private boolean isConnect;
@@ -58,10 +75,21 @@ public class GRPCRemoteClient implements RemoteClient {
 
     public GRPCRemoteClient(ModuleDefineHolder moduleDefineHolder, StreamDataMappingGetter streamDataMappingGetter, Address address, int channelSize,
         int bufferSize) {
+        this(moduleDefineHolder, streamDataMappingGetter, address, channelSize, bufferSize, 500, null);
+    }
+
+    /**
+     * @param batchSize the max number of messages in one batch
+     * @param compression the gRPC compressor name, such as gzip, null means no compression
+     */
+    public GRPCRemoteClient(ModuleDefineHolder moduleDefineHolder, StreamDataMappingGetter streamDataMappingGetter, Address address, int channelSize,
+        int bufferSize, int batchSize, String compression) {
         this.streamDataMappingGetter = streamDataMappingGetter;
         this.address = address;
         this.channelSize = channelSize;
         this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.compression = compression;
 
         remoteOutCounter = moduleDefineHolder.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class)
             .createCounter("remote_out_count", "The number(client side) of inside remote inside aggregate rpc.",
@@ -74,11 +102,26 @@ public class GRPCRemoteClient implements RemoteClient {
     @Override public void connect() {
         if (!isConnect) {
             this.getClient().connect();
+            watchReconnection(getChannel().getState(false));
             this.getDataCarrier().consume(new RemoteMessageConsumer(), 1);
+            MetricsAggregateFlushTimer.INSTANCE.registerDownstream(getDataCarrier());
             this.isConnect = true;
         }
     }
 
+    private void watchReconnection(ConnectivityState lastState) {
+        if (lastState == ConnectivityState.SHUTDOWN) {
+            return;
+        }
+        getChannel().notifyWhenStateChanged(lastState, () -> {
+            ConnectivityState state = getChannel().getState(false);
+            if (state == ConnectivityState.READY) {
+                batchSupport = BatchSupport.UNKNOWN;
+            }
+            watchReconnection(state);
+        });
+    }
+
     /**
      * Get channel state by the true value of request connection.
      *
@@ -100,14 +143,17 @@ public class GRPCRemoteClient implements RemoteClient {
     }
 
     RemoteServiceGrpc.RemoteServiceStub getStub() {
-        return RemoteServiceGrpc.newStub(getChannel());
+        RemoteServiceGrpc.RemoteServiceStub stub = RemoteServiceGrpc.newStub(getChannel());
+        return Objects.isNull(compression) ? stub : stub.withCompression(compression);
     }
 
     DataCarrier<RemoteMessage> getDataCarrier() {
         if (Objects.isNull(this.carrier)) {
             synchronized (GRPCRemoteClient.class) {
                 if (Objects.isNull(this.carrier)) {
-                    this.carrier = new DataCarrier<>("GRPCRemoteClient", channelSize, bufferSize);
+                    // The remote messages come in bursts of the aggregate flushes, the ring parks the consumer
+                    // between the bursts, and wakes it up as soon as the next one comes.
+                    this.carrier = new DataCarrier<>("GRPCRemoteClient", "GRPCRemoteClient", channelSize, bufferSize, BufferType.RING);
                     this.carrier.setBufferStrategy(BufferStrategy.BLOCKING);
                 }
             }
@@ -136,6 +182,35 @@ public class GRPCRemoteClient implements RemoteClient {
         }
 
         @Override public void consume(List<RemoteMessage> remoteMessages) {
+            if (batchSupport == BatchSupport.UNKNOWN) {
+                probeBatchCall();
+            }
+            if (batchSupport != BatchSupport.SUPPORTED) {
+                consumeOneByOne(remoteMessages);
+                return;
+            }
+
+            ClientCallStreamObserver<RemoteMessageBatch> stream = null;
+            try {
+                for (int from = 0; from < remoteMessages.size(); from += batchSize) {
+                    int to = Math.min(remoteMessages.size(), from + batchSize);
+                    RemoteMessageBatch batch = RemoteMessageBatch.newBuilder().addAllMessages(remoteMessages.subList(from, to)).build();
+
+                    stream = getBatchStream();
+                    awaitReady(stream);
+                    stream.onNext(batch);
+                    remoteOutCounter.inc(to - from);
+                }
+            } catch (Throwable t) {
+                remoteOutErrorCounter.inc();
+                logger.error(t.getMessage(), t);
+                if (Objects.nonNull(stream)) {
+                    resetBatchStream(stream, t);
+                }
+            }
+        }
+
+        private void consumeOneByOne(List<RemoteMessage> remoteMessages) {
             try {
                 StreamObserver<RemoteMessage> streamObserver = createStreamObserver();
                 for (RemoteMessage remoteMessage : remoteMessages) {
@@ -157,6 +232,114 @@ public class GRPCRemoteClient implements RemoteClient {
         }
     }
 
+    /**
+     * Open a batch call and complete it without any message, wait for the peer to tell whether it supports the call. If
+     * the peer doesn't answer in time, the support stays unknown and the messages are sent one by one this time.
+     */
+    private void probeBatchCall() {
+        CountDownLatch answered = new CountDownLatch(1);
+        try {
+            getStub().batchCall(new StreamObserver<Empty>() {
+                @Override public void onNext(Empty empty) {
+                }
+
+                @Override public void onError(Throwable throwable) {
+                    if (Status.fromThrowable(throwable).getCode() == Status.Code.UNIMPLEMENTED) {
+                        logger.warn("Remote server {} doesn't support the batch call, send the messages one by one.", address);
+                        batchSupport = BatchSupport.UNSUPPORTED;
+                    }
+                    answered.countDown();
+                }
+
+                @Override public void onCompleted() {
+                    batchSupport = BatchSupport.SUPPORTED;
+                    answered.countDown();
+                }
+            }).onCompleted();
+            answered.await(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            logger.error(t.getMessage(), t);
+        }
+    }
+
+    private ClientCallStreamObserver<RemoteMessageBatch> getBatchStream() {
+        ClientCallStreamObserver<RemoteMessageBatch> stream = batchStream;
+        if (Objects.isNull(stream)) {
+            BatchResponseObserver responseObserver = new BatchResponseObserver();
+            getStub().batchCall(responseObserver);
+            stream = responseObserver.requestStream;
+            batchStream = stream;
+        }
+        return stream;
+    }
+
+    /**
+     * Wait until the stream could take more messages without buffering, woken up by the on ready handler.
+     */
+    private void awaitReady(ClientCallStreamObserver<RemoteMessageBatch> stream) throws InterruptedException {
+        long waitStartTime = System.currentTimeMillis();
+        long lastWarnTime = waitStartTime;
+        synchronized (readyLock) {
+            while (!stream.isReady()) {
+                if (stream != batchStream) {
+                    throw new IllegalStateException("Remote stream to " + address + " has been closed.");
+                }
+                readyLock.wait(100);
+
+                long now = System.currentTimeMillis();
+                if (now - lastWarnTime > 60000) {
+                    lastWarnTime = now;
+                    logger.warn("Remote client to {} blocked by flow control over {} seconds.", address, (now - waitStartTime) / 1000);
+                }
+            }
+        }
+    }
+
+    private void resetBatchStream(ClientCallStreamObserver<RemoteMessageBatch> stream, Throwable t) {
+        if (stream == batchStream) {
+            batchStream = null;
+            if (Objects.nonNull(t)) {
+                stream.cancel("Remote client failure.", t);
+            }
+        }
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+
+    private class BatchResponseObserver implements ClientResponseObserver<RemoteMessageBatch, Empty> {
+        private ClientCallStreamObserver<RemoteMessageBatch> requestStream;
+
+        @Override public void beforeStart(ClientCallStreamObserver<RemoteMessageBatch> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(() -> {
+                synchronized (readyLock) {
+                    readyLock.notifyAll();
+                }
+            });
+        }
+
+        @Override public void onNext(Empty empty) {
+        }
+
+        @Override public void onError(Throwable throwable) {
+            remoteOutErrorCounter.inc();
+            if (Status.fromThrowable(throwable).getCode() == Status.Code.UNIMPLEMENTED) {
+                logger.warn("Remote server {} doesn't support the batch call any more, the messages sent in the call are lost.", address);
+            } else {
+                logger.error(throwable.getMessage(), throwable);
+            }
+            batchSupport = BatchSupport.UNKNOWN;
+            resetBatchStream(requestStream, null);
+        }
+
+        @Override public void onCompleted() {
+            resetBatchStream(requestStream, null);
+        }
+    }
+
     /**
      * Create a gRPC stream observer to sending stream data, one stream observer
      * could send multiple stream data by a single consume.
@@ -200,13 +383,23 @@ public class GRPCRemoteClient implements RemoteClient {
 
     @Override public void close() {
         if (Objects.nonNull(this.carrier)) {
+            MetricsAggregateFlushTimer.INSTANCE.unregisterDownstream(this.carrier);
             this.carrier.shutdownConsumers();
         }
+        ClientCallStreamObserver<RemoteMessageBatch> stream = batchStream;
+        if (Objects.nonNull(stream)) {
+            batchStream = null;
+            stream.onCompleted();
+        }
         if (Objects.nonNull(this.client)) {
             this.client.shutdown();
         }
     }
 
+    private enum BatchSupport {
+        UNKNOWN, SUPPORTED, UNSUPPORTED
+    }
+
     @Override public Address getAddress() {
         return address;
     }
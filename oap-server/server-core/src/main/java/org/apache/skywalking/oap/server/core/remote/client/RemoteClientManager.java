@@ -44,10 +44,30 @@ public class RemoteClientManager implements Service {
     private final List<RemoteClient> clientsA;
     private final List<RemoteClient> clientsB;
     private volatile List<RemoteClient> usingClients;
+    private volatile long clientsVersion;
     private GaugeMetrics gauge;
+    private final int remoteChannelSize;
+    private final int remoteBufferSize;
+    private final int remoteBatchSize;
+    private final String remoteCompression;
 
     public RemoteClientManager(ModuleDefineHolder moduleDefineHolder) {
+        this(moduleDefineHolder, 1, 3000, 500, null);
+    }
+
+    /**
+     * @param remoteChannelSize the channel size of the queue of every remote client
+     * @param remoteBufferSize the buffer size of every channel
+     * @param remoteBatchSize the max number of messages in one batch
+     * @param remoteCompression the gRPC compressor name, null means no compression
+     */
+    public RemoteClientManager(ModuleDefineHolder moduleDefineHolder, int remoteChannelSize, int remoteBufferSize,
+        int remoteBatchSize, String remoteCompression) {
         this.moduleDefineHolder = moduleDefineHolder;
+        this.remoteChannelSize = remoteChannelSize;
+        this.remoteBufferSize = remoteBufferSize;
+        this.remoteBatchSize = remoteBatchSize;
+        this.remoteCompression = remoteCompression;
         this.clientsA = new LinkedList<>();
         this.clientsB = new LinkedList<>();
         this.usingClients = clientsA;
@@ -146,6 +166,13 @@ public class RemoteClientManager implements Service {
         return usingClients;
     }
 
+    /**
+     * @return the number of the switches of the client list, changed once the OAP nodes joined or left.
+     */
+    public long getClientsVersion() {
+        return clientsVersion;
+    }
+
     private List<RemoteClient> getFreeClients() {
         if (usingClients.equals(clientsA)) {
             return clientsB;
@@ -160,6 +187,7 @@ public class RemoteClientManager implements Service {
         } else {
             usingClients = clientsA;
         }
+        clientsVersion++;
     }
 
     /**
@@ -199,7 +227,7 @@ public class RemoteClientManager implements Service {
                         RemoteClient client = new SelfRemoteClient(moduleDefineHolder, address);
                         getFreeClients().add(client);
                     } else {
-                        RemoteClient client = new GRPCRemoteClient(moduleDefineHolder, streamDataMappingGetter, address, 1, 3000);
+                        RemoteClient client = new GRPCRemoteClient(moduleDefineHolder, streamDataMappingGetter, address, remoteChannelSize, remoteBufferSize, remoteBatchSize, remoteCompression);
                         client.connect();
                         getFreeClients().add(client);
                     }
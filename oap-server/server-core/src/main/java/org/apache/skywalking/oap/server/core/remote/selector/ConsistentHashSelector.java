@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+
+/**
+ * Select the client on a consistent hash ring. Every client takes {@link #VIRTUAL_NODES} points on the ring, hashed
+ * from its address, so the ring doesn't depend on the order of the clients, and adding or removing one of N clients
+ * only moves about 1/N of the data to the other clients, rather than almost all of them by {@link HashCodeSelector}.
+ *
+ * The ring is rebuilt when the clients changed, which is rare, the select only takes a binary search.
+ */
+public class ConsistentHashSelector implements RemoteClientSelector {
+
+    static final int VIRTUAL_NODES = 160;
+
+    private volatile Ring ring = new Ring(Collections.emptyList());
+
+    @Override public RemoteClient select(List<RemoteClient> clients, StreamData streamData) {
+        Ring ring = this.ring;
+        if (!ring.isBuiltFrom(clients)) {
+            ring = new Ring(clients);
+            this.ring = ring;
+        }
+        return ring.locate(mix(streamData.remoteHashCode()));
+    }
+
+    private static class Ring {
+        private final RemoteClient[] clients;
+        private final int[] points;
+        private final RemoteClient[] owners;
+
+        private Ring(List<RemoteClient> clients) {
+            this.clients = clients.toArray(new RemoteClient[0]);
+
+            TreeMap<Integer, RemoteClient> ring = new TreeMap<>();
+            for (RemoteClient client : this.clients) {
+                String address = client.getAddress().toString();
+                for (int i = 0; i < VIRTUAL_NODES; i++) {
+                    ring.putIfAbsent(hash(address + "#" + i), client);
+                }
+            }
+
+            this.points = new int[ring.size()];
+            this.owners = new RemoteClient[ring.size()];
+            int index = 0;
+            for (Map.Entry<Integer, RemoteClient> entry : ring.entrySet()) {
+                points[index] = entry.getKey();
+                owners[index] = entry.getValue();
+                index++;
+            }
+        }
+
+        /**
+         * The client lists are swapped by the {@link org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager}
+         * after refresh, compare the clients one by one, there are only a few of them.
+         */
+        private boolean isBuiltFrom(List<RemoteClient> clients) {
+            if (clients.size() != this.clients.length) {
+                return false;
+            }
+            for (int i = 0; i < this.clients.length; i++) {
+                if (clients.get(i) != this.clients[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private RemoteClient locate(int hash) {
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return owners[index == points.length ? 0 : index];
+        }
+    }
+
+    /**
+     * FNV-1a of the UTF-8 bytes, mixed again to spread the close addresses on the ring.
+     */
+    static int hash(String key) {
+        int hash = 0x811c9dc5;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalization mix of murmur3, {@link StreamData#remoteHashCode()} of the close ids are close too.
+     */
+    static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
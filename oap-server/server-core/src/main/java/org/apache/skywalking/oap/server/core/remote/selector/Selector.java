@@ -22,5 +22,5 @@ package org.apache.skywalking.oap.server.core.remote.selector;
  * @author peng-yongsheng
  */
 public enum Selector {
-    HashCode, Rolling, ForeverFirst
+    HashCode, Rolling, ForeverFirst, ConsistentHash
 }
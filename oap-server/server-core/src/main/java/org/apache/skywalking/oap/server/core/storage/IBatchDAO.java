@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.storage;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -25,5 +26,8 @@ import java.util.List;
  */
 public interface IBatchDAO extends DAO {
 
-    void batchPersistence(List<?> batchCollection);
+    /**
+     * @throws IOException if the batch is known to be not persisted completely.
+     */
+    void batchPersistence(List<?> batchCollection) throws IOException;
 }
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.storage;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 
 /**
@@ -28,6 +29,13 @@ public interface IMetricsDAO<INSERT, UPDATE> extends DAO {
 
     Metrics get(String modelName, Metrics metrics) throws IOException;
 
+    /**
+     * Read the persisted ones of the given metrics in one round trip.
+     *
+     * @return the metrics found in the storage, in no particular order. The missing ones are not included.
+     */
+    List<Metrics> get(String modelName, Collection<Metrics> metrics) throws IOException;
+
     INSERT prepareBatchInsert(String modelName, Metrics metrics) throws IOException;
 
     UPDATE prepareBatchUpdate(String modelName, Metrics metrics) throws IOException;
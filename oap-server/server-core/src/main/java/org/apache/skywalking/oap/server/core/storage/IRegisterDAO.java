@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.storage;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.RegisterSource;
 
 /**
@@ -28,7 +29,24 @@ public interface IRegisterDAO extends DAO {
     
     RegisterSource get(String modelName, String id) throws IOException;
 
+    /**
+     * Read the persisted sources of the given ids in one round trip.
+     *
+     * @return the sources found in the storage, in no particular order. The missing ones are not included.
+     */
+    List<RegisterSource> get(String modelName, Collection<String> ids) throws IOException;
+
     void forceInsert(String modelName, RegisterSource source) throws IOException;
 
     void forceUpdate(String modelName, RegisterSource source) throws IOException;
+
+    /**
+     * Insert all the sources in one round trip, visible to the readers once return.
+     */
+    void forceInsert(String modelName, List<RegisterSource> sources) throws IOException;
+
+    /**
+     * Update all the sources in one round trip, visible to the readers once return.
+     */
+    void forceUpdate(String modelName, List<RegisterSource> sources) throws IOException;
 }
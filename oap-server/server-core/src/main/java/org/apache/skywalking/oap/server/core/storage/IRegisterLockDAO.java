@@ -18,7 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.storage;
 
-import org.apache.skywalking.oap.server.core.register.RegisterSource;
+import org.apache.skywalking.oap.server.core.Const;
 
 /**
  * Entity register and ID generator.
@@ -28,11 +28,13 @@ import org.apache.skywalking.oap.server.core.register.RegisterSource;
 public interface IRegisterLockDAO extends DAO {
     /**
      * This method is also executed by one thread in each oap instance, but in cluster environment, it could be executed
-     * in concurrent way, so no `sync` in method level, but the implementation must make sure the return id is unique no
-     * matter the cluster size.
+     * in concurrent way, so no `sync` in method level, but the implementation must make sure the return ids are unique
+     * no matter the cluster size.
      *
      * @param scopeId for the id. IDs at different scopes could be same, but unique in same scope.
-     * @return Unique ID.
+     * @param size the number of ids to take in one lock round trip.
+     * @return the first id of the range, the ids from it to first + size - 1 are owned by the caller. {@link Const#NONE}
+     * if lock failure.
      */
-    int getId(int scopeId, RegisterSource registerSource);
+    int getIds(int scopeId, int size);
 }
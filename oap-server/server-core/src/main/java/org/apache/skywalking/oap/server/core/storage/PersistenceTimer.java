@@ -18,9 +18,11 @@
 
 package org.apache.skywalking.oap.server.core.storage;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.*;
 import java.util.concurrent.*;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
 import org.apache.skywalking.oap.server.core.analysis.worker.*;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
@@ -28,6 +30,12 @@ import org.apache.skywalking.oap.server.telemetry.api.*;
 import org.slf4j.*;
 
 /**
+ * PersistenceTimer flushes all persistence workers in a fixed period. The prepare stage builds the batch collections of
+ * the workers in parallel, by a fixed size thread pool. In pipelined mode, the execute stage runs in its own thread, so
+ * the execution of one period overlaps with the prepare stage of the records of the next one. The metrics workers read
+ * the persisted values back from storage to combine with, so they are prepared only after the last execution
+ * finished, otherwise they could combine with the stale values. There is at most one execution in flight.
+ *
  * @author peng-yongsheng
  */
 public enum PersistenceTimer {
@@ -40,16 +48,16 @@ public enum PersistenceTimer {
     private CounterMetrics errorCounter;
     private HistogramMetrics prepareLatency;
     private HistogramMetrics executeLatency;
+    private ExecutorService prepareExecutorService;
+    private ExecutorService executeExecutorService;
+    private Future<?> lastExecution;
 
     PersistenceTimer() {
         this.debug = System.getProperty("debug") != null;
     }
 
-    public void start(ModuleManager moduleManager) {
+    public void start(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         logger.info("persistence timer start");
-        //TODO timer value config
-//        final long timeInterval = EsConfig.Es.Persistence.Timer.VALUE * 1000;
-        final long timeInterval = 3;
         IBatchDAO batchDAO = moduleManager.find(StorageModule.NAME).provider().getService(IBatchDAO.class);
 
         MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
@@ -61,9 +69,16 @@ public enum PersistenceTimer {
             MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE);
 
         if (!isStarted) {
+            prepareExecutorService = Executors.newFixedThreadPool(Math.max(moduleConfig.getPersistentPrepareThreads(), 1),
+                new ThreadFactoryBuilder().setNameFormat("persistence-prepare-%d").setDaemon(true).build());
+            if (moduleConfig.isPersistentPipelined()) {
+                executeExecutorService = Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("persistence-execute-%d").setDaemon(true).build());
+            }
+
             Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
                 new RunnableWithExceptionProtection(() -> extractDataAndSave(batchDAO),
-                    t -> logger.error("Extract data and save failure.", t)), 1, timeInterval, TimeUnit.SECONDS);
+                    t -> logger.error("Extract data and save failure.", t)), 1, Math.max(moduleConfig.getPersistentPeriod(), 1), TimeUnit.SECONDS);
 
             this.isStarted = true;
         }
@@ -79,27 +94,16 @@ public enum PersistenceTimer {
         try {
             HistogramMetrics.Timer timer = prepareLatency.createTimer();
 
-            List batchAllCollection = new LinkedList();
+            List batchAllCollection = new ArrayList();
+            Map<PersistenceWorker, List<?>> prepared = new LinkedHashMap<>();
             try {
-                List<PersistenceWorker> persistenceWorkers = new ArrayList<>();
-                persistenceWorkers.addAll(MetricsStreamProcessor.getInstance().getPersistentWorkers());
-                persistenceWorkers.addAll(RecordStreamProcessor.getInstance().getPersistentWorkers());
-                persistenceWorkers.addAll(TopNStreamProcessor.getInstance().getPersistentWorkers());
-
-                persistenceWorkers.forEach(worker -> {
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("extract {} worker data and save", worker.getClass().getName());
-                    }
-
-                    if (worker.flushAndSwitch()) {
-                        List<?> batchCollection = worker.buildBatchCollection();
-
-                        if (logger.isDebugEnabled()) {
-                            logger.debug("extract {} worker data size: {}", worker.getClass().getName(), batchCollection.size());
-                        }
-                        batchAllCollection.addAll(batchCollection);
-                    }
-                });
+                List<PersistenceWorker> recordWorkers = new ArrayList<>();
+                recordWorkers.addAll(RecordStreamProcessor.getInstance().getPersistentWorkers());
+                recordWorkers.addAll(TopNStreamProcessor.getInstance().getPersistentWorkers());
+                prepareAll(recordWorkers, batchAllCollection, prepared);
+
+                awaitLastExecution();
+                prepareAll(MetricsStreamProcessor.getInstance().getPersistentWorkers(), batchAllCollection, prepared);
 
                 if (debug) {
                     logger.info("build batch persistence duration: {} ms", System.currentTimeMillis() - startTime);
@@ -108,11 +112,10 @@ public enum PersistenceTimer {
                 timer.finish();
             }
 
-            HistogramMetrics.Timer executeLatencyTimer = executeLatency.createTimer();
-            try {
-                batchDAO.batchPersistence(batchAllCollection);
-            } finally {
-                executeLatencyTimer.finish();
+            if (executeExecutorService == null) {
+                execute(batchDAO, batchAllCollection, prepared);
+            } else {
+                lastExecution = executeExecutorService.submit(() -> execute(batchDAO, batchAllCollection, prepared));
             }
         } catch (Throwable e) {
             errorCounter.inc();
@@ -127,4 +130,71 @@ public enum PersistenceTimer {
             logger.info("batch persistence duration: {} ms", System.currentTimeMillis() - startTime);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private void prepareAll(List<? extends PersistenceWorker> persistenceWorkers, List batchAllCollection,
+        Map<PersistenceWorker, List<?>> prepared) {
+        List<Future<List<?>>> prepareFutures = new ArrayList<>(persistenceWorkers.size());
+        persistenceWorkers.forEach(worker -> prepareFutures.add(prepareExecutorService.submit(() -> prepare(worker))));
+
+        for (int i = 0; i < prepareFutures.size(); i++) {
+            try {
+                List<?> batchCollection = prepareFutures.get(i).get();
+                batchAllCollection.addAll(batchCollection);
+                prepared.put(persistenceWorkers.get(i), batchCollection);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                errorCounter.inc();
+                logger.error(e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * The failure of the last execution is counted and logged by itself.
+     */
+    private void awaitLastExecution() throws InterruptedException, ExecutionException {
+        if (lastExecution != null) {
+            lastExecution.get();
+            lastExecution = null;
+        }
+    }
+
+    private List<?> prepare(PersistenceWorker worker) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("extract {} worker data and save", worker.getClass().getName());
+        }
+
+        if (worker.flushAndSwitch()) {
+            List<?> batchCollection = worker.buildBatchCollection();
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("extract {} worker data size: {}", worker.getClass().getName(), batchCollection.size());
+            }
+            return batchCollection;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @param prepared the batch collections of the workers, which are told the result of the execution.
+     */
+    private void execute(IBatchDAO batchDAO, List<?> batchAllCollection, Map<PersistenceWorker, List<?>> prepared) {
+        HistogramMetrics.Timer executeLatencyTimer = executeLatency.createTimer();
+        boolean succeeded = false;
+        try {
+            batchDAO.batchPersistence(batchAllCollection);
+            succeeded = true;
+        } catch (Throwable e) {
+            errorCounter.inc();
+            logger.error(e.getMessage(), e);
+        } finally {
+            executeLatencyTimer.finish();
+        }
+        for (Map.Entry<PersistenceWorker, List<?>> entry : prepared.entrySet()) {
+            entry.getKey().afterBatchExecuted(entry.getValue(), succeeded);
+        }
+    }
 }
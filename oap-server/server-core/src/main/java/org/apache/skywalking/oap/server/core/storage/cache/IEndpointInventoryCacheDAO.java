@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.storage.cache;
 
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.EndpointInventory;
 import org.apache.skywalking.oap.server.core.storage.DAO;
 
@@ -26,7 +27,11 @@ import org.apache.skywalking.oap.server.core.storage.DAO;
  */
 public interface IEndpointInventoryCacheDAO extends DAO {
 
-    int getEndpointId(int serviceId, String endpointName, int detectPoint);
+    /**
+     * @param ids the ids built by {@link EndpointInventory#buildId(int, String, int)}
+     * @return the endpoint ids keyed by the given ids, not including the ones not found.
+     */
+    Map<String, Integer> getEndpointIds(List<String> ids);
 
     EndpointInventory get(int endpointId);
 }
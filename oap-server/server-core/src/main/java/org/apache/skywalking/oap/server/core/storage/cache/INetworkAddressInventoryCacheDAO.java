@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.storage.cache;
 
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.NetworkAddressInventory;
 import org.apache.skywalking.oap.server.core.storage.DAO;
 
@@ -26,7 +27,11 @@ import org.apache.skywalking.oap.server.core.storage.DAO;
  */
 public interface INetworkAddressInventoryCacheDAO extends DAO {
 
-    int getAddressId(String networkAddress);
+    /**
+     * @param ids the ids built by {@link NetworkAddressInventory#buildId(String)}
+     * @return the address ids keyed by the given ids, not including the ones not found.
+     */
+    Map<String, Integer> getAddressIds(List<String> ids);
 
     NetworkAddressInventory get(int addressId);
 }
@@ -29,6 +29,24 @@ import org.apache.skywalking.oap.server.library.module.Service;
  */
 public interface ITraceQueryDAO extends Service {
 
+    /**
+     * The columns of {@link SegmentRecord} used by {@link #queryBasicTraces}, the trace list only fetches them rather
+     * than the whole segment.
+     */
+    String[] BASIC_TRACE_COLUMNS = {
+        SegmentRecord.SEGMENT_ID, SegmentRecord.START_TIME, SegmentRecord.ENDPOINT_NAME, SegmentRecord.LATENCY,
+        SegmentRecord.IS_ERROR, SegmentRecord.TRACE_ID
+    };
+
+    /**
+     * The columns of {@link SegmentRecord} used by {@link #queryByTraceId}.
+     */
+    String[] SEGMENT_COLUMNS = {
+        SegmentRecord.SEGMENT_ID, SegmentRecord.TRACE_ID, SegmentRecord.SERVICE_ID, SegmentRecord.ENDPOINT_NAME,
+        SegmentRecord.START_TIME, SegmentRecord.END_TIME, SegmentRecord.LATENCY, SegmentRecord.IS_ERROR,
+        SegmentRecord.DATA_BINARY, SegmentRecord.VERSION
+    };
+
     TraceBrief queryBasicTraces(long startSecondTB, long endSecondTB, long minDuration,
         long maxDuration, String endpointName, int serviceId, int serviceInstanceId, int endpointId, String traceId,
         int limit, int from, TraceState traceState, QueryOrder queryOrder) throws IOException;
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.storage.type;
+
+import java.io.*;
+import java.sql.*;
+import java.util.Base64;
+import java.util.zip.*;
+
+/**
+ * StorageBinary encodes the byte array columns, such as the data binary of segment, which are stored as the native
+ * binary type, ES binary and JDBC BLOB.
+ *
+ * The data larger than the compress threshold is stored in gzip, if it gets smaller. The gzip data is recognized by
+ * its magic header when read, which never starts a protobuf message, as 0x1f is the tag of an illegal wire type, so
+ * the data stored without compression, or before this, is still readable, whatever the threshold is.
+ */
+public enum StorageBinary {
+    INSTANCE;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int GZIP_MAGIC_0 = 0x1f;
+    private static final int GZIP_MAGIC_1 = 0x8b;
+
+    /**
+     * Not positive means no compression.
+     */
+    private volatile int compressThreshold = 1024;
+
+    public void setCompressThreshold(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+    public byte[] encode(byte[] data) {
+        if (data == null) {
+            return EMPTY;
+        }
+        if (compressThreshold <= 0 || data.length < compressThreshold) {
+            return data;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return out.size() < data.length ? out.toByteArray() : data;
+    }
+
+    public byte[] decode(byte[] data) {
+        if (!isCompressed(data)) {
+            return data;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = gzip.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Illegal compressed storage binary.", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode the value read from storage, which is a byte array or a BLOB in JDBC, and the Base64 text in the ES
+     * source.
+     */
+    public byte[] decode(Object value) {
+        if (value == null) {
+            return EMPTY;
+        } else if (value instanceof byte[]) {
+            return decode((byte[])value);
+        } else if (value instanceof String) {
+            String text = (String)value;
+            return text.isEmpty() ? EMPTY : decode(Base64.getDecoder().decode(text));
+        } else if (value instanceof Blob) {
+            Blob blob = (Blob)value;
+            try {
+                return decode(blob.getBytes(1, (int)blob.length()));
+            } catch (SQLException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported storage binary: " + value.getClass().getName());
+        }
+    }
+
+    private boolean isCompressed(byte[] data) {
+        return data != null && data.length > 2 && (data[0] & 0xff) == GZIP_MAGIC_0 && (data[1] & 0xff) == GZIP_MAGIC_1;
+    }
+}
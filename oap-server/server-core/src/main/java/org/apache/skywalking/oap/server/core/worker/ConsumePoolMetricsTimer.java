@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.worker;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.*;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.*;
+import org.slf4j.*;
+
+/**
+ * Report the queue depth and consume latency of each target in the {@link BulkConsumePool}s, to find out the
+ * imbalance between the workers.
+ */
+public enum ConsumePoolMetricsTimer {
+    INSTANCE;
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumePoolMetricsTimer.class);
+
+    private final Map<String, GaugeMetrics[]> gauges = new HashMap<>();
+    private Boolean isStarted = false;
+
+    public void start(ModuleManager moduleManager) {
+        if (!isStarted) {
+            MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
+
+            Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+                new RunnableWithExceptionProtection(() -> report(metricsCreator),
+                    t -> logger.error("Consume pool metrics report failure.", t)), 5, 5, TimeUnit.SECONDS);
+
+            this.isStarted = true;
+        }
+    }
+
+    private void report(MetricsCreator metricsCreator) {
+        ConsumerPoolFactory.INSTANCE.getAll().forEach((poolName, pool) -> {
+            if (!(pool instanceof BulkConsumePool)) {
+                return;
+            }
+            for (ConsumeTarget target : ((BulkConsumePool)pool).getTargets()) {
+                GaugeMetrics[] targetGauges = gauges.computeIfAbsent(poolName + "/" + target.getName(), key -> {
+                    MetricsTag.Keys keys = new MetricsTag.Keys("pool", "target");
+                    MetricsTag.Values values = new MetricsTag.Values(poolName, target.getName());
+                    return new GaugeMetrics[] {
+                        metricsCreator.createGauge("datacarrier_queue_depth", "The number of data waiting in the channels of the target", keys, values),
+                        metricsCreator.createGauge("datacarrier_consume_latency", "The milliseconds of the last consume of the target", keys, values)
+                    };
+                });
+                targetGauges[0].setValue(target.getDataSize());
+                targetGauges[1].setValue(target.getConsumeLatency());
+            }
+        });
+    }
+}
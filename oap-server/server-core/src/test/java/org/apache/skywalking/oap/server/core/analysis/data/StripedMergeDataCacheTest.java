@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import org.apache.skywalking.oap.server.core.analysis.metrics.*;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.*;
+
+public class StripedMergeDataCacheTest {
+
+    @Test
+    public void testFlush() {
+        StripedMergeDataCache<MockMetrics> cache = new StripedMergeDataCache<>();
+        cache.accept(new MockMetrics("a", 1));
+        cache.accept(new MockMetrics("a", 2));
+        cache.accept(new MockMetrics("b", 3));
+
+        Map<String, Long> result = toMap(cache.flush());
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(3L, result.get("a").longValue());
+        Assert.assertEquals(3L, result.get("b").longValue());
+
+        Assert.assertTrue(cache.flush().isEmpty());
+    }
+
+    @Test
+    public void testMergeShards() throws InterruptedException {
+        StripedMergeDataCache<MockMetrics> cache = new StripedMergeDataCache<>();
+        int threads = 4;
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    cache.accept(new MockMetrics("key-" + (j % 10), 1));
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+
+        Map<String, Long> result = toMap(cache.flush());
+        Assert.assertEquals(10, result.size());
+        for (Long value : result.values()) {
+            Assert.assertEquals(400L, value.longValue());
+        }
+    }
+
+    private Map<String, Long> toMap(Collection<MockMetrics> metrics) {
+        Map<String, Long> result = new HashMap<>();
+        metrics.forEach(m -> result.put(m.id(), m.getValue()));
+        return result;
+    }
+
+    private static class MockMetrics extends CountMetrics {
+        private final String id;
+
+        private MockMetrics(String id, long value) {
+            this.id = id;
+            setValue(value);
+        }
+
+        @Override public String id() {
+            return id;
+        }
+
+        @Override public Metrics toHour() {
+            return null;
+        }
+
+        @Override public Metrics toDay() {
+            return null;
+        }
+
+        @Override public Metrics toMonth() {
+            return null;
+        }
+
+        @Override public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override public int remoteHashCode() {
+            return id.hashCode();
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof MockMetrics && id.equals(((MockMetrics)o).id);
+        }
+
+        @Override public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
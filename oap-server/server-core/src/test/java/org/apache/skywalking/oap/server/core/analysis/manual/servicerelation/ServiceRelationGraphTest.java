@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.analysis.manual.servicerelation;
+
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.Downsampling;
+import org.apache.skywalking.oap.server.core.query.entity.Call;
+import org.apache.skywalking.oap.server.core.source.DetectPoint;
+import org.joda.time.DateTime;
+import org.junit.*;
+
+public class ServiceRelationGraphTest {
+
+    private final long now = Long.valueOf(new DateTime().toString("yyyyMMddHHmm"));
+    private final long next = Long.valueOf(new DateTime().plusMinutes(1).toString("yyyyMMddHHmm"));
+
+    @After
+    public void reset() {
+        ServiceRelationGraph.INSTANCE.configure(0, false);
+    }
+
+    @Test
+    public void testLoadRelationsOfDuration() {
+        ServiceRelationGraph graph = ServiceRelationGraph.INSTANCE;
+        graph.configure(30, true);
+
+        graph.receive(server(now, 1, 2, 3));
+        graph.receive(server(now, 1, 2, 3));
+        graph.receive(server(next, 1, 2, 3));
+        graph.receive(server(next, 2, 4, 3));
+        graph.receive(client(next, 1, 2, 5));
+        graph.receive(server(201901010000L, 7, 8, 3));
+
+        List<Call.CallDetail> serverCalls = graph.loadServerSideServiceRelations(now, next);
+        Assert.assertEquals(2, serverCalls.size());
+        for (Call.CallDetail call : serverCalls) {
+            Assert.assertEquals(DetectPoint.SERVER, call.getDetectPoint());
+            Assert.assertEquals(3, call.getComponentId().intValue());
+        }
+        Assert.assertEquals(1, graph.loadServerSideServiceRelations(now, now).size());
+
+        List<Call.CallDetail> clientCalls = graph.loadClientSideServiceRelations(now, next);
+        Assert.assertEquals(1, clientCalls.size());
+        Assert.assertEquals("1_2", clientCalls.get(0).getId());
+        Assert.assertEquals(5, clientCalls.get(0).getComponentId().intValue());
+
+        Assert.assertTrue(graph.loadServerSideServiceRelations(201901010000L, 201901010000L).isEmpty());
+    }
+
+    @Test
+    public void testCovers() {
+        ServiceRelationGraph graph = ServiceRelationGraph.INSTANCE;
+        graph.configure(30, true);
+
+        Assert.assertTrue(graph.covers(Downsampling.Minute, next, next));
+        Assert.assertFalse(graph.covers(Downsampling.Minute, now, next));
+        Assert.assertFalse(graph.covers(Downsampling.Hour, next / 100, next / 100));
+
+        graph.configure(30, false);
+        Assert.assertFalse(graph.covers(Downsampling.Minute, next, next));
+
+        graph.configure(0, true);
+        Assert.assertFalse(graph.covers(Downsampling.Minute, next, next));
+    }
+
+    @Test
+    public void testMembershipChanged() {
+        ServiceRelationGraph graph = ServiceRelationGraph.INSTANCE;
+        graph.configure(30, true);
+        Assert.assertTrue(graph.covers(Downsampling.Minute, next, next));
+
+        graph.membershipChanged();
+        Assert.assertFalse(graph.covers(Downsampling.Minute, next, next));
+
+        long afterNext = Long.valueOf(new DateTime().plusMinutes(2).toString("yyyyMMddHHmm"));
+        Assert.assertTrue(graph.covers(Downsampling.Minute, afterNext, afterNext));
+    }
+
+    private ServiceRelationServerSideMetrics server(long timeBucket, int source, int dest, int componentId) {
+        ServiceRelationServerSideMetrics metrics = new ServiceRelationServerSideMetrics();
+        metrics.setTimeBucket(timeBucket);
+        metrics.setSourceServiceId(source);
+        metrics.setDestServiceId(dest);
+        metrics.setComponentId(componentId);
+        metrics.buildEntityId();
+        return metrics;
+    }
+
+    private ServiceRelationClientSideMetrics client(long timeBucket, int source, int dest, int componentId) {
+        ServiceRelationClientSideMetrics metrics = new ServiceRelationClientSideMetrics();
+        metrics.setTimeBucket(timeBucket);
+        metrics.setSourceServiceId(source);
+        metrics.setDestServiceId(dest);
+        metrics.setComponentId(componentId);
+        metrics.buildEntityId();
+        return metrics;
+    }
+}
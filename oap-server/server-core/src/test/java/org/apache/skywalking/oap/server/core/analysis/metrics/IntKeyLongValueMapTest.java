@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.IntKeyLongValuePairs;
+import org.junit.*;
+
+public class IntKeyLongValueMapTest {
+
+    @Test
+    public void testIncreaseAndGrow() {
+        IntKeyLongValueMap map = new IntKeyLongValueMap(2);
+        for (int i = 0; i < 1000; i++) {
+            map.increase(i % 100, 1);
+        }
+        map.increase(-5, 3);
+
+        Assert.assertEquals(101, map.size());
+        Assert.assertEquals(10, map.get(0));
+        Assert.assertEquals(10, map.get(99));
+        Assert.assertEquals(3, map.get(-5));
+        Assert.assertEquals(0, map.get(100));
+        Assert.assertEquals(1003, map.sum());
+
+        int[] keys = map.sortedKeys();
+        Assert.assertEquals(-5, keys[0]);
+        Assert.assertEquals(99, keys[keys.length - 1]);
+    }
+
+    @Test
+    public void testMerge() {
+        IntKeyLongValueMap map = new IntKeyLongValueMap();
+        map.increase(1, 1);
+        map.increase(2, 2);
+
+        IntKeyLongValueMap another = new IntKeyLongValueMap();
+        another.increase(2, 3);
+        another.increase(3, 4);
+
+        map.merge(another);
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(1, map.get(1));
+        Assert.assertEquals(5, map.get(2));
+        Assert.assertEquals(4, map.get(3));
+    }
+
+    @Test
+    public void testSerialize() {
+        IntKeyLongValueMap map = new IntKeyLongValueMap();
+        map.put(1, 100);
+        map.put(20, 2000);
+
+        IntKeyLongValuePairs pairs = map.serialize();
+        IntKeyLongValueMap remote = new IntKeyLongValueMap();
+        remote.deserialize(pairs);
+        Assert.assertEquals(2, remote.size());
+        Assert.assertEquals(2000, remote.get(20));
+
+        IntKeyLongValueMap stored = new IntKeyLongValueMap(map.toStorageData());
+        Assert.assertEquals(2, stored.size());
+        Assert.assertEquals(100, stored.get(1));
+
+        IntKeyLongValueMap copied = new IntKeyLongValueMap();
+        copied.copyFrom(map);
+        Assert.assertEquals(2000, copied.get(20));
+
+        Assert.assertTrue(new IntKeyLongValueMap(new IntKeyLongValueMap().toStorageData()).isEmpty());
+    }
+
+    @Test
+    public void testReadTextStorageData() {
+        IntKeyLongValueMap map = new IntKeyLongValueMap("1,100|20,2000");
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(100, map.get(1));
+        Assert.assertEquals(2000, map.get(20));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.*;
+
+public class PercentileMetricsTest {
+    private int precision = 10;//ms
+
+    @Test
+    public void percentileTest() {
+        PercentileMetricsMocker metricsMocker = new PercentileMetricsMocker();
+
+        metricsMocker.combine(110, precision);
+        metricsMocker.combine(100, precision);
+        metricsMocker.combine(100, precision);
+        metricsMocker.combine(100, precision);
+        metricsMocker.combine(50, precision);
+        metricsMocker.combine(50, precision);
+        metricsMocker.combine(50, precision);
+        metricsMocker.combine(61, precision);
+        metricsMocker.combine(61, precision);
+        metricsMocker.combine(71, precision);
+        metricsMocker.combine(100, precision);
+
+        metricsMocker.calculate();
+
+        IntKeyLongValueMap values = metricsMocker.getPercentileValues();
+        Assert.assertEquals(PercentileMetrics.RANKS.length, values.size());
+        // precision = 10, 71 ~= 70
+        Assert.assertEquals(70, values.get(0));
+        Assert.assertEquals(100, values.get(1));
+        Assert.assertEquals(100, values.get(2));
+        Assert.assertEquals(100, values.get(3));
+        Assert.assertEquals(110, values.get(4));
+    }
+
+    @Test
+    public void combineTest() {
+        PercentileMetricsMocker metricsMocker = new PercentileMetricsMocker();
+        metricsMocker.combine(50, precision);
+        metricsMocker.combine(100, precision);
+
+        PercentileMetricsMocker another = new PercentileMetricsMocker();
+        another.combine(100, precision);
+        another.combine(200, precision);
+
+        metricsMocker.combine(another);
+        metricsMocker.calculate();
+
+        IntKeyLongValueMap values = metricsMocker.getPercentileValues();
+        Assert.assertEquals(100, values.get(0));
+        Assert.assertEquals(200, values.get(4));
+    }
+
+    @Test
+    public void rankNameTest() {
+        Assert.assertEquals(4, PercentileMetrics.rankIndexOf("service_p99"));
+        Assert.assertEquals(0, PercentileMetrics.rankIndexOf("database_access_p50"));
+        Assert.assertEquals(-1, PercentileMetrics.rankIndexOf("service_p98"));
+        Assert.assertEquals(-1, PercentileMetrics.rankIndexOf("service_cpm"));
+        Assert.assertEquals("database_access_percentile", PercentileMetrics.percentileNameOf("database_access_p50"));
+    }
+
+    public class PercentileMetricsMocker extends PercentileMetrics {
+
+        @Override public String id() {
+            return null;
+        }
+
+        @Override public Metrics toHour() {
+            return null;
+        }
+
+        @Override public Metrics toDay() {
+            return null;
+        }
+
+        @Override public Metrics toMonth() {
+            return null;
+        }
+
+        @Override public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override public int remoteHashCode() {
+            return 0;
+        }
+    }
+}
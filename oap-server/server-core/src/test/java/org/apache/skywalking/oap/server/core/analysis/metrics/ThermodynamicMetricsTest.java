@@ -18,11 +18,9 @@
 
 package org.apache.skywalking.oap.server.core.analysis.metrics;
 
-import java.util.Map;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.junit.Assert;
 import org.junit.Test;
-import org.powermock.reflect.Whitebox;
 
 /**
  * @author wusheng
@@ -49,13 +47,13 @@ public class ThermodynamicMetricsTest {
         metricsMocker.combine(100, step, maxNumOfSteps);
         metricsMocker.combine(100, step, maxNumOfSteps);
 
-        Map<Integer, IntKeyLongValue> index = Whitebox.getInternalState(metricsMocker, "detailIndex");
-        Assert.assertEquals(4, index.size());
+        IntKeyLongValueMap detailGroup = metricsMocker.getDetailGroup();
+        Assert.assertEquals(4, detailGroup.size());
 
-        Assert.assertEquals(1, index.get(2).getValue());
-        Assert.assertEquals(3, index.get(5).getValue());
-        Assert.assertEquals(1, index.get(6).getValue());
-        Assert.assertEquals(8, index.get(10).getValue());
+        Assert.assertEquals(1, detailGroup.get(2));
+        Assert.assertEquals(3, detailGroup.get(5));
+        Assert.assertEquals(1, detailGroup.get(6));
+        Assert.assertEquals(8, detailGroup.get(10));
     }
 
     @Test
@@ -81,13 +79,13 @@ public class ThermodynamicMetricsTest {
 
         metricsMocker.combine(metricsMocker1);
 
-        Map<Integer, IntKeyLongValue> index = Whitebox.getInternalState(metricsMocker, "detailIndex");
-        Assert.assertEquals(4, index.size());
+        IntKeyLongValueMap detailGroup = metricsMocker.getDetailGroup();
+        Assert.assertEquals(4, detailGroup.size());
 
-        Assert.assertEquals(1, index.get(2).getValue());
-        Assert.assertEquals(3, index.get(5).getValue());
-        Assert.assertEquals(1, index.get(6).getValue());
-        Assert.assertEquals(8, index.get(10).getValue());
+        Assert.assertEquals(1, detailGroup.get(2));
+        Assert.assertEquals(3, detailGroup.get(5));
+        Assert.assertEquals(1, detailGroup.get(6));
+        Assert.assertEquals(8, detailGroup.get(10));
     }
 
     public class ThermodynamicMetricsMocker extends ThermodynamicMetrics {
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.junit.*;
+
+public class MetricsAggregateFlushTimerTest {
+
+    @Test
+    public void testCycleOfLoad() {
+        MetricsAggregateFlushTimer timer = MetricsAggregateFlushTimer.INSTANCE;
+        Assert.assertEquals(1000, timer.cycleOf(0));
+        Assert.assertEquals(1000, timer.cycleOf(0.25));
+        Assert.assertEquals(5500, timer.cycleOf(0.5));
+        Assert.assertEquals(10000, timer.cycleOf(0.75));
+        Assert.assertEquals(10000, timer.cycleOf(1));
+    }
+
+    @Test
+    public void testSendCycleFollowsDownstream() {
+        MetricsAggregateFlushTimer timer = MetricsAggregateFlushTimer.INSTANCE;
+        DataCarrier<Integer> carrier = new DataCarrier<>(1, 100);
+        carrier.setBufferStrategy(BufferStrategy.IF_POSSIBLE);
+        timer.registerDownstream(carrier);
+        try {
+            for (int i = 0; i < 100; i++) {
+                carrier.produce(i);
+            }
+            for (int i = 0; i < 20; i++) {
+                timer.tick(System.currentTimeMillis());
+            }
+            Assert.assertEquals(10000, timer.getSendCycle());
+            Assert.assertEquals(10000, timer.getIdleSendCycle());
+        } finally {
+            timer.unregisterDownstream(carrier);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            timer.tick(System.currentTimeMillis());
+        }
+        Assert.assertEquals(1000, timer.getSendCycle());
+        Assert.assertEquals(100, timer.getIdleSendCycle());
+    }
+}
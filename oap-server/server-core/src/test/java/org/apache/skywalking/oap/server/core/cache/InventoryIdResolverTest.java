@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.cache;
+
+import com.google.common.cache.CacheBuilder;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.Const;
+import org.junit.*;
+
+public class InventoryIdResolverTest {
+
+    private final Map<String, Integer> storage = new HashMap<>();
+    private final List<List<String>> queries = new ArrayList<>();
+
+    @Test
+    public void testResolveInBatch() {
+        storage.put("a", 1);
+        storage.put("b", 2);
+        InventoryIdResolver resolver = newResolver(2, 60000);
+
+        Assert.assertEquals(Const.NONE, resolver.get("a"));
+        Assert.assertEquals(Const.NONE, resolver.get("b"));
+        Assert.assertEquals(Const.NONE, resolver.get("c"));
+        Assert.assertEquals(Const.NONE, resolver.get("a"));
+        Assert.assertEquals(3, resolver.pendingSize());
+        Assert.assertTrue(queries.isEmpty());
+
+        resolver.resolve();
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals(0, resolver.pendingSize());
+
+        Assert.assertEquals(1, resolver.get("a"));
+        Assert.assertEquals(2, resolver.get("b"));
+    }
+
+    @Test
+    public void testAbsentCache() throws InterruptedException {
+        InventoryIdResolver resolver = newResolver(10, 100);
+
+        Assert.assertEquals(Const.NONE, resolver.get("a"));
+        resolver.resolve();
+        Assert.assertEquals(1, queries.size());
+
+        storage.put("a", 1);
+        Assert.assertEquals(Const.NONE, resolver.get("a"));
+        Assert.assertEquals(0, resolver.pendingSize());
+
+        Thread.sleep(200);
+        Assert.assertEquals(Const.NONE, resolver.get("a"));
+        resolver.resolve();
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals(1, resolver.get("a"));
+    }
+
+    @Test
+    public void testGetNow() {
+        storage.put("a", 1);
+        InventoryIdResolver resolver = newResolver(10, 60000);
+
+        Assert.assertEquals(1, resolver.getNow("a"));
+        Assert.assertEquals(1, resolver.get("a"));
+        Assert.assertEquals(Const.NONE, resolver.getNow("b"));
+        Assert.assertEquals(Const.NONE, resolver.getNow("b"));
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals(0, resolver.pendingSize());
+    }
+
+    private InventoryIdResolver newResolver(int batchSize, long absentTTL) {
+        return new InventoryIdResolver(CacheBuilder.newBuilder().<String, Integer>build(), absentTTL, batchSize, ids -> {
+            queries.add(new ArrayList<>(ids));
+            Map<String, Integer> sequences = new HashMap<>();
+            ids.forEach(id -> {
+                if (storage.containsKey(id)) {
+                    sequences.put(id, storage.get(id));
+                }
+            });
+            return sequences;
+        });
+    }
+}
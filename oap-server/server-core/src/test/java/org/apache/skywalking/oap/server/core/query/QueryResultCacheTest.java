@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.query;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.Downsampling;
+import org.joda.time.DateTime;
+import org.junit.*;
+
+public class QueryResultCacheTest {
+
+    private static final String OLD_BUCKET = "201901010000";
+    private final String currentBucket = new DateTime().toString("yyyyMMddHHmm");
+
+    private List<String> loadedIds;
+
+    @Before
+    public void setUp() {
+        loadedIds = new ArrayList<>();
+    }
+
+    @Test
+    public void testOnlyMissedBucketsLoaded() throws IOException {
+        QueryResultCache cache = new QueryResultCache(1000, 120000, 0);
+
+        List<String> ids = Arrays.asList(OLD_BUCKET + "_1", currentBucket + "_1");
+        Assert.assertEquals(Arrays.asList(OLD_BUCKET + "_1", currentBucket + "_1"), cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load));
+        Assert.assertEquals(ids, loadedIds);
+
+        loadedIds.clear();
+        List<String> moreIds = Arrays.asList("201812312359_1", OLD_BUCKET + "_1", currentBucket + "_1");
+        Assert.assertEquals(Arrays.asList("201812312359_1", OLD_BUCKET + "_1", currentBucket + "_1"), cache.getAll("linear", Downsampling.Minute, moreIds, this::isAbsent, this::load));
+        Assert.assertEquals(Arrays.asList("201812312359_1", currentBucket + "_1"), loadedIds);
+
+        loadedIds.clear();
+        cache.getAll("thermodynamic", Downsampling.Minute, ids, this::isAbsent, this::load);
+        Assert.assertEquals(ids, loadedIds);
+    }
+
+    @Test
+    public void testUnsettledBucketCachedInTTL() throws IOException {
+        QueryResultCache cache = new QueryResultCache(1000, 120000, 60000);
+
+        List<String> ids = Collections.singletonList(currentBucket + "_1");
+        cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load);
+        cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load);
+        Assert.assertEquals(1, loadedIds.size());
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        QueryResultCache cache = new QueryResultCache(0, 120000, 60000);
+
+        List<String> ids = Collections.singletonList(OLD_BUCKET);
+        cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load);
+        cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load);
+        Assert.assertEquals(2, loadedIds.size());
+    }
+
+    @Test
+    public void testWholeDuration() throws IOException {
+        QueryResultCache cache = new QueryResultCache(1000, 120000, 0);
+
+        Assert.assertEquals("topology", cache.get("topology", Downsampling.Minute, 201812312359L, Long.valueOf(OLD_BUCKET), this::isAbsent, () -> load(Collections.singletonList("topology")).get(0)));
+        Assert.assertEquals("topology", cache.get("topology", Downsampling.Minute, 201812312359L, Long.valueOf(OLD_BUCKET), this::isAbsent, () -> load(Collections.singletonList("topology")).get(0)));
+        Assert.assertEquals(1, loadedIds.size());
+
+        long current = Long.valueOf(currentBucket);
+        cache.get("topology", Downsampling.Minute, 201812312359L, current, this::isAbsent, () -> load(Collections.singletonList("topology")).get(0));
+        cache.get("topology", Downsampling.Minute, 201812312359L, current, this::isAbsent, () -> load(Collections.singletonList("topology")).get(0));
+        Assert.assertEquals(3, loadedIds.size());
+    }
+
+    @Test
+    public void testAbsentSettledBucketCachedInTTL() throws IOException {
+        QueryResultCache cache = new QueryResultCache(1000, 120000, 0);
+
+        List<String> ids = Arrays.asList(OLD_BUCKET + "_absent", OLD_BUCKET + "_1");
+        cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load);
+        loadedIds.clear();
+        cache.getAll("linear", Downsampling.Minute, ids, this::isAbsent, this::load);
+        Assert.assertEquals(Collections.singletonList(OLD_BUCKET + "_absent"), loadedIds);
+
+        loadedIds.clear();
+        cache.get("topology", Downsampling.Minute, 201812312359L, Long.valueOf(OLD_BUCKET), this::isAbsent, () -> load(Collections.singletonList("absent")).get(0));
+        cache.get("topology", Downsampling.Minute, 201812312359L, Long.valueOf(OLD_BUCKET), this::isAbsent, () -> load(Collections.singletonList("absent")).get(0));
+        Assert.assertEquals(2, loadedIds.size());
+    }
+
+    private boolean isAbsent(String result) {
+        return result.endsWith("absent");
+    }
+
+    private List<String> load(List<String> ids) {
+        loadedIds.addAll(ids);
+        return new ArrayList<>(ids);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.query.entity;
+
+import java.util.*;
+import org.junit.*;
+
+public class ThermodynamicTest {
+
+    @Test
+    public void testAbsentColumnsFilledByZero() {
+        List<List<Long>> matrix = new ArrayList<>();
+        matrix.add(new ArrayList<>(Arrays.asList(1L, 2L)));
+        matrix.add(new ArrayList<>());
+        matrix.add(new ArrayList<>(Arrays.asList(0L, 0L)));
+
+        Thermodynamic thermodynamic = new Thermodynamic();
+        thermodynamic.fromMatrixData(matrix, 2);
+
+        Assert.assertEquals(6, thermodynamic.getNodes().size());
+        Assert.assertFalse(thermodynamic.isAbsent(0));
+        Assert.assertTrue(thermodynamic.isAbsent(1));
+        Assert.assertFalse(thermodynamic.isAbsent(2));
+    }
+}
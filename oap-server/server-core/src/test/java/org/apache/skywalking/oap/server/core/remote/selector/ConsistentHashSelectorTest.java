@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.remote.client.*;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.*;
+
+import static org.mockito.Mockito.*;
+
+public class ConsistentHashSelectorTest {
+
+    private static final int KEYS = 10000;
+
+    @Test
+    public void testAddClient() {
+        List<RemoteClient> clients = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            clients.add(newClient("10.0.0." + i));
+        }
+
+        ConsistentHashSelector selector = new ConsistentHashSelector();
+        Map<Integer, RemoteClient> before = selectAll(selector, clients);
+
+        RemoteClient added = newClient("10.0.0.4");
+        List<RemoteClient> scaled = new ArrayList<>(clients);
+        scaled.add(added);
+        Map<Integer, RemoteClient> after = selectAll(selector, scaled);
+
+        int moved = 0;
+        for (int key = 0; key < KEYS; key++) {
+            if (before.get(key) != after.get(key)) {
+                Assert.assertSame(added, after.get(key));
+                moved++;
+            }
+        }
+        Assert.assertTrue("moved " + moved, moved > KEYS / 10 && moved < KEYS * 3 / 10);
+    }
+
+    @Test
+    public void testRemoveClient() {
+        List<RemoteClient> clients = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            clients.add(newClient("10.0.0." + i));
+        }
+
+        ConsistentHashSelector selector = new ConsistentHashSelector();
+        Map<Integer, RemoteClient> before = selectAll(selector, clients);
+
+        RemoteClient removed = clients.get(2);
+        List<RemoteClient> scaled = new ArrayList<>(clients);
+        scaled.remove(removed);
+        Map<Integer, RemoteClient> after = selectAll(selector, scaled);
+
+        for (int key = 0; key < KEYS; key++) {
+            if (before.get(key) != removed) {
+                Assert.assertSame(before.get(key), after.get(key));
+            }
+        }
+    }
+
+    @Test
+    public void testBalance() {
+        List<RemoteClient> clients = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            clients.add(newClient("10.0.0." + i));
+        }
+
+        Map<RemoteClient, Integer> counts = new HashMap<>();
+        selectAll(new ConsistentHashSelector(), clients).values().forEach(client -> counts.merge(client, 1, Integer::sum));
+
+        Assert.assertEquals(4, counts.size());
+        counts.values().forEach(count -> Assert.assertTrue("selected " + count, count > KEYS / 4 / 2 && count < KEYS / 4 * 2));
+    }
+
+    private Map<Integer, RemoteClient> selectAll(ConsistentHashSelector selector, List<RemoteClient> clients) {
+        Map<Integer, RemoteClient> selected = new HashMap<>();
+        for (int key = 0; key < KEYS; key++) {
+            selected.put(key, selector.select(clients, new TestStreamData(key)));
+        }
+        return selected;
+    }
+
+    private RemoteClient newClient(String host) {
+        RemoteClient client = mock(RemoteClient.class);
+        when(client.getAddress()).thenReturn(new Address(host, 11800, false));
+        return client;
+    }
+
+    private static class TestStreamData extends StreamData {
+        private final int hashCode;
+
+        private TestStreamData(int hashCode) {
+            this.hashCode = hashCode;
+        }
+
+        @Override public int remoteHashCode() {
+            return hashCode;
+        }
+
+        @Override public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.skywalking.oap.server.core.storage.type;
+
+import java.util.*;
+import org.junit.*;
+
+public class StorageBinaryTest {
+
+    @After
+    public void reset() {
+        StorageBinary.INSTANCE.setCompressThreshold(1024);
+    }
+
+    @Test
+    public void testCompressLargeData() {
+        byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i % 16);
+        }
+
+        byte[] encoded = StorageBinary.INSTANCE.encode(data);
+        Assert.assertTrue(encoded.length < data.length);
+        Assert.assertArrayEquals(data, StorageBinary.INSTANCE.decode(encoded));
+        Assert.assertArrayEquals(data, StorageBinary.INSTANCE.decode((Object)Base64.getEncoder().encodeToString(encoded)));
+    }
+
+    @Test
+    public void testSmallAndIncompressibleData() {
+        byte[] small = new byte[] {10, 2, 8, 1};
+        Assert.assertSame(small, StorageBinary.INSTANCE.encode(small));
+
+        byte[] random = new byte[2048];
+        new Random(7).nextBytes(random);
+        random[0] = 10;
+        Assert.assertSame(random, StorageBinary.INSTANCE.encode(random));
+        Assert.assertArrayEquals(random, StorageBinary.INSTANCE.decode(random));
+    }
+
+    @Test
+    public void testCompressDisabled() {
+        StorageBinary.INSTANCE.setCompressThreshold(0);
+        byte[] data = new byte[4096];
+        Assert.assertSame(data, StorageBinary.INSTANCE.encode(data));
+    }
+
+    @Test
+    public void testDecodeLegacyAndEmpty() {
+        byte[] data = new byte[] {10, 2, 8, 1};
+        Assert.assertArrayEquals(data, StorageBinary.INSTANCE.decode((Object)Base64.getEncoder().encodeToString(data)));
+        Assert.assertEquals(0, StorageBinary.INSTANCE.decode((Object)"").length);
+        Assert.assertEquals(0, StorageBinary.INSTANCE.decode((Object)null).length);
+        Assert.assertEquals(0, StorageBinary.INSTANCE.encode(null).length);
+    }
+}
@@ -37,7 +37,7 @@ import org.elasticsearch.action.bulk.*;
 import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.*;
-import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.support.*;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.*;
 import org.elasticsearch.common.unit.*;
@@ -153,7 +153,7 @@ public class ElasticSearchClient implements Client {
         indexName = formatIndexName(indexName);
 
         JsonArray patterns = new JsonArray();
-        patterns.add(indexName + "_*");
+        patterns.add(indexName + "-*");
 
         JsonObject template = new JsonObject();
         template.add("index_patterns", patterns);
@@ -181,6 +181,22 @@ public class ElasticSearchClient implements Client {
         return client.search(searchRequest);
     }
 
+    /**
+     * Search through several indices, the missing ones are ignored, as the time series indices are only created by
+     * the first write.
+     */
+    public SearchResponse search(String[] indexNames, SearchSourceBuilder searchSourceBuilder) throws IOException {
+        String[] newIndexNames = new String[indexNames.length];
+        for (int i = 0; i < indexNames.length; i++) {
+            newIndexNames[i] = formatIndexName(indexNames[i]);
+        }
+        SearchRequest searchRequest = new SearchRequest(newIndexNames);
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        searchRequest.types(TYPE);
+        searchRequest.source(searchSourceBuilder);
+        return client.search(searchRequest);
+    }
+
     public GetResponse get(String indexName, String id) throws IOException {
         indexName = formatIndexName(indexName);
         GetRequest request = new GetRequest(indexName, TYPE, id);
@@ -194,6 +210,42 @@ public class ElasticSearchClient implements Client {
         return client.multiGet(request);
     }
 
+    /**
+     * Get the documents from their own indices.
+     *
+     * @param indexNames the index of each id, in the same order.
+     */
+    public MultiGetResponse multiGet(List<String> indexNames, List<String> ids) throws IOException {
+        MultiGetRequest request = new MultiGetRequest();
+        for (int i = 0; i < ids.size(); i++) {
+            request.add(formatIndexName(indexNames.get(i)), TYPE, ids.get(i));
+        }
+        return client.multiGet(request);
+    }
+
+    /**
+     * @return the names of the indices matching the given wildcard, without the namespace.
+     */
+    public List<String> retrievalIndexByPattern(String indexPattern) throws IOException {
+        indexPattern = formatIndexName(indexPattern);
+        Map<String, String> params = new HashMap<>();
+        params.put("h", "index");
+        params.put("format", "json");
+        Response response = client.getLowLevelClient().performRequest(HttpGet.METHOD_NAME, "/_cat/indices/" + indexPattern, params);
+
+        List<String> indexNames = new ArrayList<>();
+        InputStreamReader reader = new InputStreamReader(response.getEntity().getContent());
+        JsonArray indices = new Gson().fromJson(reader, JsonArray.class);
+        String prefix = StringUtils.isNotEmpty(namespace) ? namespace + "_" : "";
+        for (JsonElement index : indices) {
+            String indexName = index.getAsJsonObject().get("index").getAsString();
+            if (indexName.startsWith(prefix)) {
+                indexNames.add(indexName.substring(prefix.length()));
+            }
+        }
+        return indexNames;
+    }
+
     public void forceInsert(String indexName, String id, XContentBuilder source) throws IOException {
         IndexRequest request = prepareInsert(indexName, id, source);
         request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
@@ -213,6 +265,14 @@ public class ElasticSearchClient implements Client {
         client.update(request);
     }
 
+    public void forceBulk(BulkRequest request) throws IOException {
+        request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        BulkResponse response = client.bulk(request);
+        if (response.hasFailures()) {
+            throw new IOException(response.buildFailureMessage());
+        }
+    }
+
     public IndexRequest prepareInsert(String indexName, String id, XContentBuilder source) {
         indexName = formatIndexName(indexName);
         return new IndexRequest(indexName, TYPE, id).source(source);
@@ -223,24 +283,6 @@ public class ElasticSearchClient implements Client {
         return new UpdateRequest(indexName, TYPE, id).doc(source);
     }
 
-    public int delete(String indexName, String timeBucketColumnName, long endTimeBucket) throws IOException {
-        indexName = formatIndexName(indexName);
-        Map<String, String> params = Collections.singletonMap("conflicts", "proceed");
-        String jsonString = "{" +
-            "  \"query\": {" +
-            "    \"range\": {" +
-            "      \"" + timeBucketColumnName + "\": {" +
-            "        \"lte\": " + endTimeBucket +
-            "      }" +
-            "    }" +
-            "  }" +
-            "}";
-        HttpEntity entity = new NStringEntity(jsonString, ContentType.APPLICATION_JSON);
-        Response response = client.getLowLevelClient().performRequest(HttpPost.METHOD_NAME, "/" + indexName + "/_delete_by_query", params, entity);
-        logger.debug("delete indexName: {}, jsonString : {}", indexName, jsonString);
-        return response.getStatusLine().getStatusCode();
-    }
-
     public String formatIndexName(String indexName) {
         if (StringUtils.isNotEmpty(namespace)) {
             return namespace + "_" + indexName;
@@ -29,7 +29,7 @@ import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v5.rest.
 import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v6.grpc.TraceSegmentReportServiceHandler;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.endpoint.MultiScopesSpanListener;
-import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.segment.SegmentSpanListener;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.segment.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.service.ServiceMappingSpanListener;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.standardization.SegmentStandardizationWorker;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
@@ -42,6 +42,7 @@ public class TraceModuleProvider extends ModuleProvider {
     private final TraceServiceModuleConfig moduleConfig;
     private SegmentParse.Producer segmentProducer;
     private SegmentParseV2.Producer segmentProducerV2;
+    private TailSamplingBuffer tailSamplingBuffer;
 
     public TraceModuleProvider() {
         this.moduleConfig = new TraceServiceModuleConfig();
@@ -62,12 +63,16 @@ public class TraceModuleProvider extends ModuleProvider {
     @Override public void prepare() throws ServiceNotProvidedException {
         moduleConfig.setDbLatencyThresholds(new DBLatencyThresholds(moduleConfig.getSlowDBAccessThreshold()));
 
+        if (moduleConfig.isTailSampling()) {
+            tailSamplingBuffer = new TailSamplingBuffer(moduleConfig.getTailSamplingWindow(), moduleConfig.getTailSamplingLatencyThreshold(), moduleConfig.getTailSamplingMaxSegments());
+        }
+
         SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
         if (moduleConfig.isTraceAnalysis()) {
             listenerManager.add(new MultiScopesSpanListener.Factory());
             listenerManager.add(new ServiceMappingSpanListener.Factory());
         }
-        listenerManager.add(new SegmentSpanListener.Factory(moduleConfig.getSampleRate()));
+        listenerManager.add(new SegmentSpanListener.Factory(moduleConfig.getSampleRate(), tailSamplingBuffer, moduleConfig.getTailSamplingRate()));
 
         segmentProducer = new SegmentParse.Producer(getManager(), listenerManager, moduleConfig);
 
@@ -76,7 +81,7 @@ public class TraceModuleProvider extends ModuleProvider {
             listenerManager.add(new MultiScopesSpanListener.Factory());
             listenerManager.add(new ServiceMappingSpanListener.Factory());
         }
-        listenerManager.add(new SegmentSpanListener.Factory(moduleConfig.getSampleRate()));
+        listenerManager.add(new SegmentSpanListener.Factory(moduleConfig.getSampleRate(), tailSamplingBuffer, moduleConfig.getTailSamplingRate()));
 
         segmentProducerV2 = new SegmentParseV2.Producer(getManager(), listenerManager, moduleConfig);
 
@@ -84,6 +89,10 @@ public class TraceModuleProvider extends ModuleProvider {
     }
 
     @Override public void start() throws ModuleStartException {
+        if (tailSamplingBuffer != null) {
+            tailSamplingBuffer.start(getManager());
+        }
+
         GRPCHandlerRegister grpcHandlerRegister = getManager().find(SharingServerModule.NAME).provider().getService(GRPCHandlerRegister.class);
         JettyHandlerRegister jettyHandlerRegister = getManager().find(SharingServerModule.NAME).provider().getService(JettyHandlerRegister.class);
         try {
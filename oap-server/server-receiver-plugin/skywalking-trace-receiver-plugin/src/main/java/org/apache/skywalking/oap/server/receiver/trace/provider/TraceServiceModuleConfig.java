@@ -47,4 +47,25 @@ public class TraceServiceModuleConfig extends ModuleConfig {
      * 2. NO means, only save trace, but metrics come other places, such as service mesh.
      */
     @Setter @Getter private boolean traceAnalysis = true;
+    /**
+     * Tail sampling holds the segments of every trace for {@link #tailSamplingWindow}, and only saves the traces with
+     * error or slow segments, or sampled by {@link #tailSamplingRate}. It doesn't affect the metrics analysis.
+     */
+    @Setter @Getter private boolean tailSampling = false;
+    /**
+     * Unit, millisecond.
+     */
+    @Setter @Getter private int tailSamplingWindow = 10000;
+    /**
+     * The traces having a segment slower than this are kept. Unit, millisecond.
+     */
+    @Setter @Getter private int tailSamplingLatencyThreshold = 3000;
+    /**
+     * The sample rate precision is 1/10000, same as {@link #sampleRate}.
+     */
+    @Setter @Getter private int tailSamplingRate = 1000;
+    /**
+     * The max segments held in the buffer, the oldest traces are dropped beyond this.
+     */
+    @Setter @Getter private int tailSamplingMaxSegments = 100000;
 }
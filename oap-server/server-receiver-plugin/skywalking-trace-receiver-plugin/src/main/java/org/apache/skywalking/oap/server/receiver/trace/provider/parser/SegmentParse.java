@@ -83,6 +83,7 @@ public class SegmentParse {
             TraceSegmentObject segmentObject = bufferData.getV1Segment();
 
             SegmentDecorator segmentDecorator = new SegmentDecorator(segmentObject);
+            segmentCoreInfo.setDataBinary(upstreamSegment.getSegment());
 
             if (!preBuild(traceIds, segmentDecorator)) {
                 if (logger.isDebugEnabled()) {
@@ -133,7 +134,6 @@ public class SegmentParse {
         segmentCoreInfo.setSegmentId(segmentIdBuilder.toString());
         segmentCoreInfo.setServiceId(segmentDecorator.getServiceId());
         segmentCoreInfo.setServiceInstanceId(segmentDecorator.getServiceInstanceId());
-        segmentCoreInfo.setDataBinary(segmentDecorator.toByteArray());
         segmentCoreInfo.setV2(false);
 
         boolean exchanged = true;
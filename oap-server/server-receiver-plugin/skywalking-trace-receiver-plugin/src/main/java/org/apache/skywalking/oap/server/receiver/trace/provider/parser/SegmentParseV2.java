@@ -46,7 +46,7 @@ public class SegmentParseV2 {
     private final ModuleManager moduleManager;
     private final List<SpanListener> spanListeners;
     private final SegmentParserListenerManager listenerManager;
-    private final SegmentCoreInfo segmentCoreInfo;
+    private SegmentCoreInfo segmentCoreInfo;
     private final TraceServiceModuleConfig config;
     @Setter private SegmentStandardizationWorker standardizationWorker;
     private volatile static CounterMetrics TRACE_BUFFER_FILE_RETRY;
@@ -56,11 +56,7 @@ public class SegmentParseV2 {
     private SegmentParseV2(ModuleManager moduleManager, SegmentParserListenerManager listenerManager, TraceServiceModuleConfig config) {
         this.moduleManager = moduleManager;
         this.listenerManager = listenerManager;
-        this.spanListeners = new LinkedList<>();
-        this.segmentCoreInfo = new SegmentCoreInfo();
-        this.segmentCoreInfo.setStartTime(Long.MAX_VALUE);
-        this.segmentCoreInfo.setEndTime(Long.MIN_VALUE);
-        this.segmentCoreInfo.setV2(true);
+        this.spanListeners = new ArrayList<>(listenerManager.getSpanListenerFactories().size());
         this.config = config;
 
         if (TRACE_BUFFER_FILE_RETRY == null) {
@@ -75,6 +71,7 @@ public class SegmentParseV2 {
     }
 
     public boolean parse(BufferData<UpstreamSegment> bufferData, SegmentSource source) {
+        reset();
         createSpanListeners();
 
         try {
@@ -85,9 +82,11 @@ public class SegmentParseV2 {
             if (bufferData.getV2Segment() == null) {
                 bufferData.setV2Segment(parseBinarySegment(upstreamSegment));
             }
-            SegmentObject segmentObject = parseBinarySegment(upstreamSegment);
+            SegmentObject segmentObject = bufferData.getV2Segment();
 
             SegmentDecorator segmentDecorator = new SegmentDecorator(segmentObject);
+            // The spans haven't been changed by id exchange yet, so the received bytes are exactly the segment.
+            segmentCoreInfo.setDataBinary(upstreamSegment.getSegment());
 
             if (!preBuild(traceIds, segmentDecorator)) {
                 if (logger.isDebugEnabled()) {
@@ -138,7 +137,6 @@ public class SegmentParseV2 {
         segmentCoreInfo.setSegmentId(segmentIdBuilder.toString());
         segmentCoreInfo.setServiceId(segmentDecorator.getServiceId());
         segmentCoreInfo.setServiceInstanceId(segmentDecorator.getServiceInstanceId());
-        segmentCoreInfo.setDataBinary(segmentDecorator.toByteArray());
         segmentCoreInfo.setV2(true);
 
         boolean exchanged = true;
@@ -247,6 +245,17 @@ public class SegmentParseV2 {
         });
     }
 
+    /**
+     * The parser is reused for the segments received by the same thread, clean the state of the last segment.
+     */
+    private void reset() {
+        spanListeners.clear();
+        segmentCoreInfo = new SegmentCoreInfo();
+        segmentCoreInfo.setStartTime(Long.MAX_VALUE);
+        segmentCoreInfo.setEndTime(Long.MIN_VALUE);
+        segmentCoreInfo.setV2(true);
+    }
+
     private void createSpanListeners() {
         listenerManager.getSpanListenerFactories().forEach(spanListenerFactory -> spanListeners.add(spanListenerFactory.create(moduleManager, config)));
     }
@@ -257,21 +266,23 @@ public class SegmentParseV2 {
         private final ModuleManager moduleManager;
         private final SegmentParserListenerManager listenerManager;
         private final TraceServiceModuleConfig config;
+        private final ThreadLocal<SegmentParseV2> localParser;
 
         public Producer(ModuleManager moduleManager, SegmentParserListenerManager listenerManager, TraceServiceModuleConfig config) {
             this.moduleManager = moduleManager;
             this.listenerManager = listenerManager;
             this.config = config;
+            this.localParser = ThreadLocal.withInitial(() -> new SegmentParseV2(moduleManager, listenerManager, config));
         }
 
         public void send(UpstreamSegment segment, SegmentSource source) {
-            SegmentParseV2 segmentParse = new SegmentParseV2(moduleManager, listenerManager, config);
+            SegmentParseV2 segmentParse = localParser.get();
             segmentParse.setStandardizationWorker(standardizationWorker);
             segmentParse.parse(new BufferData<>(segment), source);
         }
 
         @Override public boolean call(BufferData<UpstreamSegment> bufferData) {
-            SegmentParseV2 segmentParse = new SegmentParseV2(moduleManager, listenerManager, config);
+            SegmentParseV2 segmentParse = localParser.get();
             segmentParse.setStandardizationWorker(standardizationWorker);
             boolean parseResult = segmentParse.parse(bufferData, SegmentSource.Buffer);
             if (parseResult) {
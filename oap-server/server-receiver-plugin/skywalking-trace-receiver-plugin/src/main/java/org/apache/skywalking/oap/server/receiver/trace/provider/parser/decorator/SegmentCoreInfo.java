@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.receiver.trace.provider.parser.decorator;
 
+import com.google.protobuf.ByteString;
 import lombok.*;
 
 /**
@@ -33,6 +34,6 @@ public class SegmentCoreInfo {
     private long endTime;
     private boolean isError;
     private long minuteTimeBucket;
-    private byte[] dataBinary;
+    private ByteString dataBinary;
     private boolean isV2;
 }
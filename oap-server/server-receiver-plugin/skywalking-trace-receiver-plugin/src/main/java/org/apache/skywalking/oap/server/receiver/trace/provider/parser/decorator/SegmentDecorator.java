@@ -85,14 +85,6 @@ public class SegmentDecorator implements StandardBuilder {
         return spanDecorators[index];
     }
 
-    public byte[] toByteArray() {
-        if (isOrigin) {
-            return isV2 ? segmentObjectV2.toByteArray() : segmentObject.toByteArray();
-        } else {
-            return segmentBuilder.build().toByteArray();
-        }
-    }
-
     @Override public void toBuilder() {
         if (isOrigin) {
             this.isOrigin = false;
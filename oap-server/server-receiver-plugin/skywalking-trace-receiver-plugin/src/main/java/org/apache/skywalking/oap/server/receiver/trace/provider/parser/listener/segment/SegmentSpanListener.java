@@ -46,14 +46,20 @@ public class SegmentSpanListener implements FirstSpanListener, EntrySpanListener
 
     private final SourceReceiver sourceReceiver;
     private final TraceSegmentSampler sampler;
+    private final TailSamplingBuffer tailSamplingBuffer;
+    private final TraceSegmentSampler tailSampler;
     private final Segment segment = new Segment();
     private final EndpointInventoryCache serviceNameCacheService;
     private SAMPLE_STATUS sampleStatus = SAMPLE_STATUS.UNKNOWN;
     private int entryEndpointId = 0;
     private int firstEndpointId = 0;
+    private boolean sampledByTailRate = false;
 
-    private SegmentSpanListener(ModuleManager moduleManager, TraceSegmentSampler sampler) {
+    private SegmentSpanListener(ModuleManager moduleManager, TraceSegmentSampler sampler,
+        TailSamplingBuffer tailSamplingBuffer, TraceSegmentSampler tailSampler) {
         this.sampler = sampler;
+        this.tailSamplingBuffer = tailSamplingBuffer;
+        this.tailSampler = tailSampler;
         this.sourceReceiver = moduleManager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
         this.serviceNameCacheService = moduleManager.find(CoreModule.NAME).provider().getService(EndpointInventoryCache.class);
     }
@@ -78,7 +84,7 @@ public class SegmentSpanListener implements FirstSpanListener, EntrySpanListener
         segment.setEndTime(segmentCoreInfo.getEndTime());
         segment.setIsError(BooleanUtils.booleanToValue(segmentCoreInfo.isError()));
         segment.setTimeBucket(timeBucket);
-        segment.setDataBinary(segmentCoreInfo.getDataBinary());
+        segment.setDataBinary(segmentCoreInfo.getDataBinary().toByteArray());
         /**
          * Only consider v1, v2 compatible for now.
          */
@@ -104,6 +110,10 @@ public class SegmentSpanListener implements FirstSpanListener, EntrySpanListener
             return;
         }
 
+        if (tailSamplingBuffer != null) {
+            sampledByTailRate = tailSampler.shouldSample(uniqueId);
+        }
+
         StringBuilder traceIdBuilder = new StringBuilder();
         for (int i = 0; i < uniqueId.getIdPartsList().size(); i++) {
             if (i == 0) {
@@ -132,7 +142,11 @@ public class SegmentSpanListener implements FirstSpanListener, EntrySpanListener
             segment.setEndpointName(serviceNameCacheService.get(entryEndpointId).getName());
         }
 
-        sourceReceiver.receive(segment);
+        if (tailSamplingBuffer != null) {
+            tailSamplingBuffer.receive(segment, sampledByTailRate);
+        } else {
+            sourceReceiver.receive(segment);
+        }
     }
 
     private enum SAMPLE_STATUS {
@@ -141,13 +155,25 @@ public class SegmentSpanListener implements FirstSpanListener, EntrySpanListener
 
     public static class Factory implements SpanListenerFactory {
         private TraceSegmentSampler sampler;
+        private TailSamplingBuffer tailSamplingBuffer;
+        private TraceSegmentSampler tailSampler;
 
         public Factory(int segmentSamplingRate) {
+            this(segmentSamplingRate, null, 0);
+        }
+
+        /**
+         * @param tailSamplingBuffer null means the tail sampling is off.
+         * @param tailSamplingRate the rate of traces kept by the tail sampling without error or slow segment.
+         */
+        public Factory(int segmentSamplingRate, TailSamplingBuffer tailSamplingBuffer, int tailSamplingRate) {
             this.sampler = new TraceSegmentSampler(segmentSamplingRate);
+            this.tailSamplingBuffer = tailSamplingBuffer;
+            this.tailSampler = new TraceSegmentSampler(tailSamplingRate);
         }
 
         @Override public SpanListener create(ModuleManager moduleManager, TraceServiceModuleConfig config) {
-            return new SegmentSpanListener(moduleManager, sampler);
+            return new SegmentSpanListener(moduleManager, sampler, tailSamplingBuffer, tailSampler);
         }
     }
 }
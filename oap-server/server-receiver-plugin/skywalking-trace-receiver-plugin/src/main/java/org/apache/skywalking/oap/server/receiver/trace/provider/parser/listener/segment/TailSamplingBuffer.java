@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.segment;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.source.*;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.*;
+import org.slf4j.*;
+
+/**
+ * The tail sampling holds the segments of every trace for a window, and sends them to the storage only when the trace
+ * turns out to be interesting, having an error segment, a slow segment, or sampled by rate. The segments of the other
+ * traces are dropped after the window, or when the buffer is full.
+ *
+ * The traces are partitioned by the trace id, every partition keeps them in the arrival order, so the expired traces
+ * are at the head. The metrics analysis doesn't go through this buffer, it always sees all the segments.
+ */
+public class TailSamplingBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TailSamplingBuffer.class);
+
+    private static final int PARTITIONS = 16;
+
+    private final long window;
+    private final int latencyThreshold;
+    private final int maxSegmentsPerPartition;
+    private final Partition[] partitions;
+    private SourceReceiver sourceReceiver;
+    private CounterMetrics keptCounter;
+    private CounterMetrics droppedCounter;
+
+    /**
+     * @param window the milliseconds to hold the segments of a trace
+     * @param latencyThreshold the segments slower than this are kept. Unit, millisecond.
+     * @param maxSegments the max segments in the buffer
+     */
+    public TailSamplingBuffer(long window, int latencyThreshold, int maxSegments) {
+        this.window = window;
+        this.latencyThreshold = latencyThreshold;
+        this.maxSegmentsPerPartition = Math.max(1, maxSegments / PARTITIONS);
+        this.partitions = new Partition[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    public void start(ModuleManager moduleManager) {
+        MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
+        start(moduleManager.find(CoreModule.NAME).provider().getService(SourceReceiver.class),
+            metricsCreator.createCounter("tail_sampling_kept_segments", "The count of segments kept by the tail sampling",
+                MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE),
+            metricsCreator.createCounter("tail_sampling_dropped_segments", "The count of segments dropped by the tail sampling",
+                MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE));
+
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+            new RunnableWithExceptionProtection(() -> expire(System.currentTimeMillis()),
+                t -> logger.error("Tail sampling buffer expire failure.", t)), 1, 1, TimeUnit.SECONDS);
+    }
+
+    void start(SourceReceiver sourceReceiver, CounterMetrics keptCounter, CounterMetrics droppedCounter) {
+        this.sourceReceiver = sourceReceiver;
+        this.keptCounter = keptCounter;
+        this.droppedCounter = droppedCounter;
+    }
+
+    /**
+     * @param sampledByRate the trace of the segment is sampled by the rate.
+     */
+    public void receive(Segment segment, boolean sampledByRate) {
+        String traceId = segment.getTraceId();
+        if (traceId == null) {
+            send(segment);
+            return;
+        }
+
+        boolean interesting = sampledByRate || segment.getIsError() == BooleanUtils.TRUE || segment.getLatency() >= latencyThreshold;
+        Partition partition = partitions[(traceId.hashCode() & Integer.MAX_VALUE) % PARTITIONS];
+        List<Segment> heldSegments;
+        synchronized (partition) {
+            BufferedTrace trace = partition.traces.get(traceId);
+            if (trace == null) {
+                trace = new BufferedTrace(System.currentTimeMillis());
+                partition.traces.put(traceId, trace);
+            }
+            if (trace.sampled) {
+                heldSegments = Collections.emptyList();
+            } else if (interesting) {
+                trace.sampled = true;
+                heldSegments = trace.segments;
+                trace.segments = null;
+                partition.segmentSize -= heldSegments.size();
+            } else {
+                trace.segments.add(segment);
+                partition.segmentSize++;
+                if (partition.segmentSize > maxSegmentsPerPartition || partition.traces.size() > maxSegmentsPerPartition) {
+                    evictHead(partition, Long.MIN_VALUE);
+                }
+                return;
+            }
+        }
+
+        heldSegments.forEach(this::send);
+        send(segment);
+    }
+
+    /**
+     * Drop the traces not sampled in the window, and forget the sampled ones.
+     */
+    void expire(long now) {
+        for (Partition partition : partitions) {
+            synchronized (partition) {
+                evictHead(partition, now - window);
+            }
+        }
+    }
+
+    /**
+     * Remove the traces created before the given time from the head, or only the head one if the partition is full.
+     */
+    private void evictHead(Partition partition, long createdBefore) {
+        Iterator<BufferedTrace> iterator = partition.traces.values().iterator();
+        while (iterator.hasNext()) {
+            BufferedTrace trace = iterator.next();
+            boolean isFull = partition.segmentSize > maxSegmentsPerPartition || partition.traces.size() > maxSegmentsPerPartition;
+            if (!isFull && trace.createTime >= createdBefore) {
+                return;
+            }
+            iterator.remove();
+            if (trace.segments != null) {
+                partition.segmentSize -= trace.segments.size();
+                droppedCounter.inc(trace.segments.size());
+            }
+        }
+    }
+
+    private void send(Segment segment) {
+        keptCounter.inc();
+        sourceReceiver.receive(segment);
+    }
+
+    private static class Partition {
+        private final LinkedHashMap<String, BufferedTrace> traces = new LinkedHashMap<>();
+        private int segmentSize;
+    }
+
+    private static class BufferedTrace {
+        private final long createTime;
+        private boolean sampled;
+        private List<Segment> segments = new ArrayList<>(2);
+
+        private BufferedTrace(long createTime) {
+            this.createTime = createTime;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser;
+
+import com.google.protobuf.*;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.common.KeyStringValuePair;
+import org.apache.skywalking.apm.network.language.agent.*;
+import org.apache.skywalking.apm.network.language.agent.v2.*;
+import org.apache.skywalking.oap.server.library.buffer.BufferData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Compare the decode path of {@link SegmentParseV2} per segment, before and after parsing the segment only once and
+ * reusing the received bytes as the segment binary.
+ *
+ * Run {@link #main(String[])} to get segments/s of one thread, which is segments/s per core.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SegmentParseV2Benchmark {
+
+    private UpstreamSegment upstreamSegment;
+
+    @Setup
+    public void setup() {
+        SegmentObject.Builder segment = SegmentObject.newBuilder();
+        segment.setTraceSegmentId(UniqueId.newBuilder().addIdParts(1).addIdParts(2).addIdParts(3));
+        segment.setServiceId(1);
+        segment.setServiceInstanceId(1);
+        for (int i = 0; i < 20; i++) {
+            SpanObjectV2.Builder span = SpanObjectV2.newBuilder();
+            span.setSpanId(i);
+            span.setParentSpanId(i - 1);
+            span.setStartTime(1557000000000L + i);
+            span.setEndTime(1557000000100L + i);
+            span.setSpanType(i == 0 ? SpanType.Entry : SpanType.Exit);
+            span.setSpanLayer(SpanLayer.Database);
+            span.setOperationName("org.apache.skywalking.Service.method" + i);
+            span.setPeer("127.0.0.1:3306");
+            span.setComponentId(5);
+            span.addTags(KeyStringValuePair.newBuilder().setKey("db.type").setValue("sql"));
+            span.addTags(KeyStringValuePair.newBuilder().setKey("db.statement").setValue("select * from table where id = ?"));
+            segment.addSpans(span);
+        }
+
+        upstreamSegment = UpstreamSegment.newBuilder()
+            .addGlobalTraceIds(UniqueId.newBuilder().addIdParts(1).addIdParts(2).addIdParts(3))
+            .setSegment(segment.build().toByteString())
+            .build();
+    }
+
+    /**
+     * Parse twice, and serialize the segment object again for the segment binary.
+     */
+    @Benchmark
+    public byte[] parseTwiceAndSerialize() throws InvalidProtocolBufferException {
+        BufferData<UpstreamSegment> bufferData = new BufferData<>(upstreamSegment);
+        bufferData.setV2Segment(SegmentObject.parseFrom(upstreamSegment.getSegment()));
+        SegmentObject segmentObject = SegmentObject.parseFrom(upstreamSegment.getSegment());
+        return segmentObject.toByteArray();
+    }
+
+    /**
+     * Parse once, and keep the received bytes as the segment binary.
+     */
+    @Benchmark
+    public ByteString parseOnce() throws InvalidProtocolBufferException {
+        BufferData<UpstreamSegment> bufferData = new BufferData<>(upstreamSegment);
+        bufferData.setV2Segment(SegmentObject.parseFrom(upstreamSegment.getSegment()));
+        return bufferData.getMessageType().getSegment();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(SegmentParseV2Benchmark.class.getSimpleName())
+            .forks(1)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .threads(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /*********************************
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 10 s each
+     * # Measurement: 5 iterations, 10 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Throughput, ops/time
+     *
+     * Benchmark                                        Mode  Cnt      Score      Error  Units
+     * SegmentParseV2Benchmark.parseOnce               thrpt    5  58994.410 ± 8231.491  ops/s
+     * SegmentParseV2Benchmark.parseTwiceAndSerialize  thrpt    5  25193.427 ± 3745.883  ops/s
+     */
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.segment;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.source.*;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.*;
+
+public class TailSamplingBufferTest {
+
+    private final List<Source> received = new ArrayList<>();
+
+    @Test
+    public void testKeepInterestingTraces() {
+        TailSamplingBuffer buffer = newBuffer(100);
+
+        buffer.receive(segment("trace-1", 10, false), false);
+        buffer.receive(segment("trace-2", 10, false), false);
+        Assert.assertEquals(0, received.size());
+
+        buffer.receive(segment("trace-1", 10, true), false);
+        Assert.assertEquals(2, received.size());
+        buffer.receive(segment("trace-1", 10, false), false);
+        Assert.assertEquals(3, received.size());
+
+        buffer.receive(segment("trace-3", 500, false), false);
+        Assert.assertEquals(4, received.size());
+
+        buffer.receive(segment("trace-4", 10, false), true);
+        Assert.assertEquals(5, received.size());
+
+        buffer.expire(System.currentTimeMillis() + 20000);
+        buffer.receive(segment("trace-2", 10, true), false);
+        Assert.assertEquals(6, received.size());
+    }
+
+    @Test
+    public void testDropOldestWhenFull() {
+        TailSamplingBuffer buffer = newBuffer(16);
+
+        for (int i = 0; i < 1000; i++) {
+            buffer.receive(segment("trace-" + i, 10, false), false);
+        }
+        buffer.receive(segment("trace-0", 10, true), false);
+        Assert.assertEquals(1, received.size());
+
+        buffer.receive(segment("trace-999", 10, true), false);
+        Assert.assertEquals(3, received.size());
+    }
+
+    private TailSamplingBuffer newBuffer(int maxSegments) {
+        TailSamplingBuffer buffer = new TailSamplingBuffer(10000, 300, maxSegments);
+        MetricsCreatorNoop metricsCreator = new MetricsCreatorNoop();
+        buffer.start(received::add,
+            metricsCreator.createCounter("kept", "", MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE),
+            metricsCreator.createCounter("dropped", "", MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE));
+        return buffer;
+    }
+
+    private Segment segment(String traceId, int latency, boolean isError) {
+        Segment segment = new Segment();
+        segment.setTraceId(traceId);
+        segment.setLatency(latency);
+        segment.setIsError(BooleanUtils.booleanToValue(isError));
+        return segment;
+    }
+}
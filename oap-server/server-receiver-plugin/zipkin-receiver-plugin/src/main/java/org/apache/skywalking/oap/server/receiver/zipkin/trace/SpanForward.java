@@ -77,7 +77,8 @@ public class SpanForward {
                 case SERVER:
                 case CONSUMER:
                     if (!StringUtil.isEmpty(spanName) && serviceId != Const.NONE) {
-                        int endpointId = endpointInventoryCache.getEndpointId(serviceId, spanName,
+                        // The span isn't retried, so don't wait for the ids resolved in background.
+                        int endpointId = endpointInventoryCache.getEndpointIdNow(serviceId, spanName,
                             DetectPoint.SERVER.ordinal());
                         if (endpointId != Const.NONE) {
                             zipkinSpan.setEndpointId(endpointId);
@@ -19,9 +19,13 @@
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueArray;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueMap;
 import org.apache.skywalking.oap.server.core.storage.model.DataTypeMapping;
 
 /**
+ * {@link IntKeyLongValueMap} is stored as the Base64 of a packed protobuf message, which is only read from the source,
+ * so it is mapped to binary, neither indexed nor kept in doc values, and not limited by the max length of keyword.
+ *
  * @author peng-yongsheng
  */
 public class ColumnTypeEsMapping implements DataTypeMapping {
@@ -37,6 +41,8 @@ public class ColumnTypeEsMapping implements DataTypeMapping {
             return "keyword";
         } else if (IntKeyLongValueArray.class.equals(type)) {
             return "keyword";
+        } else if (IntKeyLongValueMap.class.equals(type)) {
+            return "binary";
         } else if (byte[].class.equals(type)) {
             return "binary";
         } else {
@@ -25,6 +25,7 @@ import org.apache.skywalking.oap.server.core.query.sql.Where;
 import org.apache.skywalking.oap.server.core.storage.AbstractDAO;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.common.xcontent.*;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
@@ -34,6 +35,8 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
  */
 public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
 
+    private static final String INDEX_NOT_FOUND = "index_not_found_exception";
+
     public EsDAO(ElasticSearchClient client) {
         super(client);
     }
@@ -58,6 +61,31 @@ public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
         sourceBuilder.size(0);
     }
 
+    /**
+     * The time series index is created by its first write, the get before that fails by the missing index, which
+     * means no data.
+     *
+     * @return the source, or null if the document doesn't exist.
+     */
+    protected final Map<String, Object> sourceOf(MultiGetItemResponse itemResponse) throws IOException {
+        if (itemResponse.isFailed()) {
+            if (isIndexNotFound(itemResponse)) {
+                return null;
+            }
+            MultiGetResponse.Failure failure = itemResponse.getFailure();
+            throw new IOException(failure.getMessage(), failure.getFailure());
+        }
+        return itemResponse.getResponse().getSource();
+    }
+
+    protected final boolean isIndexNotFound(MultiGetItemResponse itemResponse) {
+        if (!itemResponse.isFailed()) {
+            return false;
+        }
+        String message = itemResponse.getFailure().getMessage();
+        return message != null && message.contains(INDEX_NOT_FOUND);
+    }
+
     XContentBuilder map2builder(Map<String, Object> objectMap) throws IOException {
         XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
         for (String key : objectMap.keySet()) {
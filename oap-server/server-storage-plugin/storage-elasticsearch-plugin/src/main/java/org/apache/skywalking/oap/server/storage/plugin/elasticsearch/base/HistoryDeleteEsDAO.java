@@ -21,9 +21,17 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 import java.io.IOException;
 import org.apache.skywalking.oap.server.core.storage.IHistoryDeleteDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.slf4j.*;
 
 /**
+ * Drop the whole time series indices before the partition of the deadline, the data in the partition of the deadline
+ * is kept until the partition expires entirely. The legacy index of the previous versions is dropped when its latest
+ * data expires.
+ *
  * @author peng-yongsheng
  */
 public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
@@ -37,9 +45,29 @@ public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
     @Override
     public void deleteHistory(String modelName, String timeBucketColumnName, Long timeBucketBefore) throws IOException {
         ElasticSearchClient client = getClient();
-        int statusCode = client.delete(modelName, timeBucketColumnName, timeBucketBefore);
-        if (logger.isDebugEnabled()) {
-            logger.debug("Delete history from {} index, status code {}", client.formatIndexName(modelName), statusCode);
+        long deadline = TimeSeriesUtils.INSTANCE.partition(timeBucketBefore);
+
+        for (String indexName : client.retrievalIndexByPattern(TimeSeriesUtils.INSTANCE.allIndexNames(modelName))) {
+            long partition = TimeSeriesUtils.INSTANCE.partitionOf(modelName, indexName);
+            if (partition >= 0 && partition < deadline) {
+                boolean isAcknowledged = client.deleteIndex(indexName);
+                logger.info("Delete history index {}, isAcknowledged: {}", client.formatIndexName(indexName), isAcknowledged);
+            }
+        }
+
+        String legacyIndexName = TimeSeriesUtils.INSTANCE.legacyIndexName(modelName);
+        if (client.isExistsIndex(legacyIndexName)) {
+            SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
+            sourceBuilder.aggregation(AggregationBuilders.max(timeBucketColumnName).field(timeBucketColumnName));
+            sourceBuilder.size(0);
+
+            SearchResponse response = client.search(legacyIndexName, sourceBuilder);
+            Max latest = response.getAggregations().get(timeBucketColumnName);
+            // The max of an empty index is -Infinity.
+            if (latest.getValue() < timeBucketBefore) {
+                boolean isAcknowledged = client.deleteIndex(legacyIndexName);
+                logger.info("Delete legacy index {}, isAcknowledged: {}", client.formatIndexName(legacyIndexName), isAcknowledged);
+            }
         }
     }
 }
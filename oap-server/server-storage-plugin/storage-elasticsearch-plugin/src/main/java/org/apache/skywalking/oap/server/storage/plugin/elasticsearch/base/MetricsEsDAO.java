@@ -19,13 +19,16 @@
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.rest.RestStatus;
 
 /**
  * @author peng-yongsheng
@@ -40,7 +43,15 @@ public class MetricsEsDAO extends EsDAO implements IMetricsDAO<IndexRequest, Upd
     }
 
     @Override public Metrics get(String modelName, Metrics metrics) throws IOException {
-        GetResponse response = getClient().get(modelName, metrics.id());
+        GetResponse response;
+        try {
+            response = getClient().get(TimeSeriesUtils.INSTANCE.indexName(modelName, metrics.getTimeBucket()), metrics.id());
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
         if (response.isExists()) {
             return storageBuilder.map2Data(response.getSource());
         } else {
@@ -48,13 +59,37 @@ public class MetricsEsDAO extends EsDAO implements IMetricsDAO<IndexRequest, Upd
         }
     }
 
+    @Override public List<Metrics> get(String modelName, Collection<Metrics> metrics) throws IOException {
+        List<String> indexNames = new ArrayList<>(metrics.size());
+        List<String> ids = new ArrayList<>(metrics.size());
+        metrics.forEach(data -> {
+            indexNames.add(TimeSeriesUtils.INSTANCE.indexName(modelName, data.getTimeBucket()));
+            ids.add(data.id());
+        });
+
+        MultiGetResponse response = getClient().multiGet(indexNames, ids);
+
+        List<Metrics> result = new ArrayList<>(ids.size());
+        for (MultiGetItemResponse itemResponse : response.getResponses()) {
+            Map<String, Object> source = sourceOf(itemResponse);
+            if (source != null) {
+                result.add(storageBuilder.map2Data(source));
+            }
+        }
+        return result;
+    }
+
     @Override public IndexRequest prepareBatchInsert(String modelName, Metrics metrics) throws IOException {
         XContentBuilder builder = map2builder(storageBuilder.data2Map(metrics));
-        return getClient().prepareInsert(modelName, metrics.id(), builder);
+        return getClient().prepareInsert(TimeSeriesUtils.INSTANCE.indexName(modelName, metrics.getTimeBucket()), metrics.id(), builder);
     }
 
+    /**
+     * The bulk is executed asynchronously, its failure isn't known by the persisted cache of the metrics, so the update
+     * creates the document if it is missing.
+     */
     @Override public UpdateRequest prepareBatchUpdate(String modelName, Metrics metrics) throws IOException {
         XContentBuilder builder = map2builder(storageBuilder.data2Map(metrics));
-        return getClient().prepareUpdate(modelName, metrics.id(), builder);
+        return getClient().prepareUpdate(TimeSeriesUtils.INSTANCE.indexName(modelName, metrics.getTimeBucket()), metrics.id(), builder).docAsUpsert(true);
     }
 }
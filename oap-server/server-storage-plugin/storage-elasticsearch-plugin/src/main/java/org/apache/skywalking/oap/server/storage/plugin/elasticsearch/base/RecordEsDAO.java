@@ -39,6 +39,6 @@ public class RecordEsDAO extends EsDAO implements IRecordDAO<IndexRequest> {
 
     @Override public IndexRequest prepareBatchInsert(String modelName, Record record) throws IOException {
         XContentBuilder builder = map2builder(storageBuilder.data2Map(record));
-        return getClient().prepareInsert(modelName, record.id(), builder);
+        return getClient().prepareInsert(TimeSeriesUtils.INSTANCE.indexName(modelName, record.getTimeBucket()), record.id(), builder);
     }
 }
@@ -19,10 +19,12 @@
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.RegisterSource;
 import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 
 /**
@@ -46,6 +48,21 @@ public class RegisterEsDAO extends EsDAO implements IRegisterDAO {
         }
     }
 
+    @Override public List<RegisterSource> get(String modelName, Collection<String> ids) throws IOException {
+        MultiGetResponse response = getClient().multiGet(modelName, new ArrayList<>(ids));
+
+        List<RegisterSource> result = new ArrayList<>(ids.size());
+        for (MultiGetItemResponse itemResponse : response.getResponses()) {
+            if (itemResponse.isFailed()) {
+                throw new IOException(itemResponse.getFailure().getMessage(), itemResponse.getFailure().getFailure());
+            }
+            if (itemResponse.getResponse().isExists()) {
+                result.add(storageBuilder.map2Data(itemResponse.getResponse().getSource()));
+            }
+        }
+        return result;
+    }
+
     @Override public void forceInsert(String modelName, RegisterSource source) throws IOException {
         XContentBuilder builder = map2builder(storageBuilder.data2Map(source));
         getClient().forceInsert(modelName, source.id(), builder);
@@ -55,4 +72,20 @@ public class RegisterEsDAO extends EsDAO implements IRegisterDAO {
         XContentBuilder builder = map2builder(storageBuilder.data2Map(source));
         getClient().forceUpdate(modelName, source.id(), builder);
     }
+
+    @Override public void forceInsert(String modelName, List<RegisterSource> sources) throws IOException {
+        BulkRequest request = new BulkRequest();
+        for (RegisterSource source : sources) {
+            request.add(getClient().prepareInsert(modelName, source.id(), map2builder(storageBuilder.data2Map(source))));
+        }
+        getClient().forceBulk(request);
+    }
+
+    @Override public void forceUpdate(String modelName, List<RegisterSource> sources) throws IOException {
+        BulkRequest request = new BulkRequest();
+        for (RegisterSource source : sources) {
+            request.add(getClient().prepareUpdate(modelName, source.id(), map2builder(storageBuilder.data2Map(source))));
+        }
+        getClient().forceBulk(request);
+    }
 }
@@ -28,6 +28,9 @@ import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.slf4j.*;
 
 /**
+ * Create the index of the inventories, and the template of the time series indices for the metrics and records, see
+ * {@link TimeSeriesUtils}.
+ *
  * @author peng-yongsheng
  */
 public class StorageEsInstaller extends ModelInstaller {
@@ -48,6 +51,9 @@ public class StorageEsInstaller extends ModelInstaller {
     @Override protected boolean isExists(Client client, Model tableDefine) throws StorageException {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
         try {
+            if (tableDefine.isDeleteHistory()) {
+                return esClient.isExistsTemplate(tableDefine.getName());
+            }
             return esClient.isExistsIndex(tableDefine.getName());
         } catch (IOException e) {
             throw new StorageException(e.getMessage());
@@ -62,7 +68,18 @@ public class StorageEsInstaller extends ModelInstaller {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
 
         try {
-            if (!esClient.deleteIndex(tableDefine.getName())) {
+            if (tableDefine.isDeleteHistory()) {
+                if (!esClient.deleteTemplate(tableDefine.getName())) {
+                    throw new StorageException(tableDefine.getName() + " template delete failure.");
+                }
+                for (String indexName : esClient.retrievalIndexByPattern(TimeSeriesUtils.INSTANCE.allIndexNames(tableDefine.getName()))) {
+                    esClient.deleteIndex(indexName);
+                }
+                String legacyIndexName = TimeSeriesUtils.INSTANCE.legacyIndexName(tableDefine.getName());
+                if (esClient.isExistsIndex(legacyIndexName)) {
+                    esClient.deleteIndex(legacyIndexName);
+                }
+            } else if (!esClient.deleteIndex(tableDefine.getName())) {
                 throw new StorageException(tableDefine.getName() + " index delete failure.");
             }
         } catch (IOException e) {
@@ -79,7 +96,11 @@ public class StorageEsInstaller extends ModelInstaller {
 
         boolean isAcknowledged;
         try {
-            isAcknowledged = esClient.createIndex(tableDefine.getName(), settings, mapping);
+            if (tableDefine.isDeleteHistory()) {
+                isAcknowledged = esClient.createTemplate(tableDefine.getName(), settings, mapping);
+            } else {
+                isAcknowledged = esClient.createIndex(tableDefine.getName(), settings, mapping);
+            }
         } catch (IOException e) {
             throw new StorageException(e.getMessage());
         }
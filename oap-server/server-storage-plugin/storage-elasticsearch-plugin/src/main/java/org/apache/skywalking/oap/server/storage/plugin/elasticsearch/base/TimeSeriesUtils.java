@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.Const;
+
+/**
+ * The metrics and records are saved in the time series indices, rolled by the time bucket, such as segment-20261016
+ * and endpoint_cpm_hour-202610. The second and minute data roll by day, the hour, day and month data roll by month. So
+ * the expired data is removed by dropping the whole indices, and the queries only go through the indices inside their
+ * time range.
+ *
+ * The granularity is decided by the length of the time bucket, the indices of a model always have the same length of
+ * suffix.
+ *
+ * The previous versions saved all data of a model in one index named by the model, such as endpoint_cpm. The queries
+ * also read this legacy index, until {@link HistoryDeleteEsDAO} drops it when all of its data expires.
+ */
+public enum TimeSeriesUtils {
+    INSTANCE;
+
+    public static final String SEPARATOR = "-";
+
+    /**
+     * The query covering more indices than this goes through all indices of the model by wildcard.
+     */
+    private static final int MAX_RANGE_INDICES = 100;
+
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * @return the index of the data in given time bucket.
+     */
+    public String indexName(String modelName, long timeBucket) {
+        return modelName + SEPARATOR + partition(timeBucket);
+    }
+
+    /**
+     * The id of the metrics starts with its time bucket, see {@link org.apache.skywalking.oap.server.core.analysis.metrics.Metrics#id()}.
+     *
+     * @return the index of the metrics in given id.
+     */
+    public String indexNameOfId(String modelName, String id) {
+        int index = id.indexOf(Const.ID_SPLIT);
+        return indexName(modelName, Long.parseLong(index < 0 ? id : id.substring(0, index)));
+    }
+
+    /**
+     * @return the wildcard matching all indices of the model.
+     */
+    public String allIndexNames(String modelName) {
+        return modelName + SEPARATOR + "*";
+    }
+
+    /**
+     * @return the index of the model created by the previous versions, which isn't rolled by time.
+     */
+    public String legacyIndexName(String modelName) {
+        return modelName;
+    }
+
+    /**
+     * @return the wildcard of all time series indices and the legacy index of the model, for the queries.
+     */
+    public String[] allQueryIndexNames(String modelName) {
+        return new String[] {allIndexNames(modelName), legacyIndexName(modelName)};
+    }
+
+    /**
+     * @return the indices holding the data between the given time buckets and the legacy index, or all indices of the
+     * model when the range is unknown or too wide.
+     */
+    public String[] rangeIndexNames(String modelName, long startTimeBucket, long endTimeBucket) {
+        if (startTimeBucket <= 0 || endTimeBucket <= 0 || startTimeBucket > endTimeBucket) {
+            return allQueryIndexNames(modelName);
+        }
+
+        long start = partition(startTimeBucket);
+        long end = partition(endTimeBucket);
+        boolean isDayPartition = isDayPartition(startTimeBucket);
+
+        List<String> indexNames = new ArrayList<>();
+        if (isDayPartition) {
+            LocalDate endDay = LocalDate.parse(String.valueOf(end), DAY_FORMATTER);
+            for (LocalDate day = LocalDate.parse(String.valueOf(start), DAY_FORMATTER); !day.isAfter(endDay); day = day.plusDays(1)) {
+                if (indexNames.size() == MAX_RANGE_INDICES) {
+                    return allQueryIndexNames(modelName);
+                }
+                indexNames.add(modelName + SEPARATOR + day.format(DAY_FORMATTER));
+            }
+        } else {
+            YearMonth endMonth = YearMonth.parse(String.valueOf(end), MONTH_FORMATTER);
+            for (YearMonth month = YearMonth.parse(String.valueOf(start), MONTH_FORMATTER); !month.isAfter(endMonth); month = month.plusMonths(1)) {
+                if (indexNames.size() == MAX_RANGE_INDICES) {
+                    return allQueryIndexNames(modelName);
+                }
+                indexNames.add(modelName + SEPARATOR + month.format(MONTH_FORMATTER));
+            }
+        }
+        indexNames.add(legacyIndexName(modelName));
+        return indexNames.toArray(new String[0]);
+    }
+
+    /**
+     * @return the partition of the given index name of the model, or -1 if it isn't a time series index.
+     */
+    public long partitionOf(String modelName, String indexName) {
+        String prefix = modelName + SEPARATOR;
+        if (!indexName.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(indexName.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return yyyyMMdd of the second and minute time bucket, yyyyMM of the others.
+     */
+    public long partition(long timeBucket) {
+        int digits = String.valueOf(timeBucket).length();
+        return timeBucket / pow10(digits - (isDayPartition(timeBucket) ? 8 : 6));
+    }
+
+    private boolean isDayPartition(long timeBucket) {
+        return String.valueOf(timeBucket).length() >= 12;
+    }
+
+    private long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
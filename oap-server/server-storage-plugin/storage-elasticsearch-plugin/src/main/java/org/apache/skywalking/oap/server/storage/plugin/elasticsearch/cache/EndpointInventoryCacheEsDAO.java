@@ -18,12 +18,12 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.cache;
 
-import org.apache.skywalking.oap.server.core.Const;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.*;
 import org.apache.skywalking.oap.server.core.storage.cache.IEndpointInventoryCacheDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
@@ -43,19 +43,19 @@ public class EndpointInventoryCacheEsDAO extends EsDAO implements IEndpointInven
         super(client);
     }
 
-    @Override public int getEndpointId(int serviceId, String endpointName, int detectPoint) {
+    @Override public Map<String, Integer> getEndpointIds(List<String> ids) {
+        Map<String, Integer> sequences = new HashMap<>();
         try {
-            String id = EndpointInventory.buildId(serviceId, endpointName, detectPoint);
-            GetResponse response = getClient().get(EndpointInventory.INDEX_NAME, id);
-            if (response.isExists()) {
-                return (int)response.getSource().getOrDefault(RegisterSource.SEQUENCE, 0);
-            } else {
-                return Const.NONE;
+            MultiGetResponse response = getClient().multiGet(EndpointInventory.INDEX_NAME, ids);
+            for (MultiGetItemResponse itemResponse : response.getResponses()) {
+                if (!itemResponse.isFailed() && itemResponse.getResponse().isExists()) {
+                    sequences.put(itemResponse.getId(), (int)itemResponse.getResponse().getSource().getOrDefault(RegisterSource.SEQUENCE, 0));
+                }
             }
-        } catch (Throwable e) {
-            logger.error(e.getMessage(), e);
-            return Const.NONE;
+        } catch (Throwable t) {
+            logger.error(t.getMessage(), t);
         }
+        return sequences;
     }
 
     @Override public EndpointInventory get(int endpointId) {
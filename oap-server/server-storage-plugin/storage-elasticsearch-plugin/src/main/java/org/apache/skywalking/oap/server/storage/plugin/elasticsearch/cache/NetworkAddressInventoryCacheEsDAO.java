@@ -18,12 +18,12 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.cache;
 
-import org.apache.skywalking.oap.server.core.Const;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.NetworkAddressInventory;
 import org.apache.skywalking.oap.server.core.storage.cache.INetworkAddressInventoryCacheDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
@@ -43,19 +43,19 @@ public class NetworkAddressInventoryCacheEsDAO extends EsDAO implements INetwork
         super(client);
     }
 
-    @Override public int getAddressId(String networkAddress) {
+    @Override public Map<String, Integer> getAddressIds(List<String> ids) {
+        Map<String, Integer> sequences = new HashMap<>();
         try {
-            String id = NetworkAddressInventory.buildId(networkAddress);
-            GetResponse response = getClient().get(NetworkAddressInventory.INDEX_NAME, id);
-            if (response.isExists()) {
-                return (int)response.getSource().getOrDefault(NetworkAddressInventory.SEQUENCE, 0);
-            } else {
-                return Const.NONE;
+            MultiGetResponse response = getClient().multiGet(NetworkAddressInventory.INDEX_NAME, ids);
+            for (MultiGetItemResponse itemResponse : response.getResponses()) {
+                if (!itemResponse.isFailed() && itemResponse.getResponse().isExists()) {
+                    sequences.put(itemResponse.getId(), (int)itemResponse.getResponse().getSource().getOrDefault(NetworkAddressInventory.SEQUENCE, 0));
+                }
             }
         } catch (Throwable t) {
             logger.error(t.getMessage(), t);
-            return Const.NONE;
         }
+        return sequences;
     }
 
     @Override public NetworkAddressInventory get(int addressId) {
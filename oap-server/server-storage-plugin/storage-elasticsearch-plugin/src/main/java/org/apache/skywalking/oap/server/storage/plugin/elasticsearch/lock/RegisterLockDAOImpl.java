@@ -21,7 +21,6 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.lock;
 import java.io.IOException;
 import java.util.Map;
 import org.apache.skywalking.oap.server.core.Const;
-import org.apache.skywalking.oap.server.core.register.RegisterSource;
 import org.apache.skywalking.oap.server.core.storage.IRegisterLockDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
@@ -40,27 +39,27 @@ public class RegisterLockDAOImpl extends EsDAO implements IRegisterLockDAO {
         super(client);
     }
 
-    @Override public int getId(int scopeId, RegisterSource registerSource) {
+    @Override public int getIds(int scopeId, int size) {
         String id = scopeId + "";
 
-        int sequence = Const.NONE;
+        int first = Const.NONE;
         try {
             GetResponse response = getClient().get(RegisterLockIndex.NAME, id);
             if (response.isExists()) {
                 Map<String, Object> source = response.getSource();
 
-                sequence = ((Number)source.get(RegisterLockIndex.COLUMN_SEQUENCE)).intValue();
+                int sequence = ((Number)source.get(RegisterLockIndex.COLUMN_SEQUENCE)).intValue();
                 long version = response.getVersion();
 
-                sequence++;
+                first = sequence + 1;
 
-                lock(id, sequence, version);
+                lock(id, sequence + size, version);
             }
         } catch (Throwable t) {
             logger.warn("Try to lock the row with the id {} failure, error message: {}", id, t.getMessage());
             return Const.NONE;
         }
-        return sequence;
+        return first;
     }
 
     private void lock(String id, int sequence, long version) throws IOException {
@@ -27,7 +27,7 @@ import org.apache.skywalking.oap.server.core.register.*;
 import org.apache.skywalking.oap.server.core.storage.model.ModelName;
 import org.apache.skywalking.oap.server.core.storage.query.IAggregationQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
-import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.aggregations.*;
@@ -47,25 +47,25 @@ public class AggregationQueryEsDAO extends EsDAO implements IAggregationQueryDAO
     @Override
     public List<TopNEntity> getServiceTopN(String indName, String valueCName, int topN, Downsampling downsampling, long startTB,
         long endTB, Order order) throws IOException {
-        String indexName = ModelName.build(downsampling, indName);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, indName), startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(Metrics.TIME_BUCKET).lte(endTB).gte(startTB));
-        return aggregation(indexName, valueCName, sourceBuilder, topN, order);
+        return aggregation(indexNames, valueCName, sourceBuilder, topN, order);
     }
 
     @Override public List<TopNEntity> getAllServiceInstanceTopN(String indName, String valueCName, int topN, Downsampling downsampling,
         long startTB, long endTB, Order order) throws IOException {
-        String indexName = ModelName.build(downsampling, indName);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, indName), startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(Metrics.TIME_BUCKET).lte(endTB).gte(startTB));
-        return aggregation(indexName, valueCName, sourceBuilder, topN, order);
+        return aggregation(indexNames, valueCName, sourceBuilder, topN, order);
     }
 
     @Override public List<TopNEntity> getServiceInstanceTopN(int serviceId, String indName, String valueCName, int topN,
         Downsampling downsampling, long startTB, long endTB, Order order) throws IOException {
-        String indexName = ModelName.build(downsampling, indName);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, indName), startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
 
@@ -75,23 +75,23 @@ public class AggregationQueryEsDAO extends EsDAO implements IAggregationQueryDAO
         boolQueryBuilder.must().add(QueryBuilders.rangeQuery(Metrics.TIME_BUCKET).lte(endTB).gte(startTB));
         boolQueryBuilder.must().add(QueryBuilders.termQuery(ServiceInstanceInventory.SERVICE_ID, serviceId));
 
-        return aggregation(indexName, valueCName, sourceBuilder, topN, order);
+        return aggregation(indexNames, valueCName, sourceBuilder, topN, order);
     }
 
     @Override
     public List<TopNEntity> getAllEndpointTopN(String indName, String valueCName, int topN, Downsampling downsampling, long startTB,
         long endTB, Order order) throws IOException {
-        String indexName = ModelName.build(downsampling, indName);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, indName), startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(Metrics.TIME_BUCKET).lte(endTB).gte(startTB));
-        return aggregation(indexName, valueCName, sourceBuilder, topN, order);
+        return aggregation(indexNames, valueCName, sourceBuilder, topN, order);
     }
 
     @Override
     public List<TopNEntity> getEndpointTopN(int serviceId, String indName, String valueCName, int topN, Downsampling downsampling,
         long startTB, long endTB, Order order) throws IOException {
-        String indexName = ModelName.build(downsampling, indName);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, indName), startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
 
@@ -101,10 +101,10 @@ public class AggregationQueryEsDAO extends EsDAO implements IAggregationQueryDAO
         boolQueryBuilder.must().add(QueryBuilders.rangeQuery(Metrics.TIME_BUCKET).lte(endTB).gte(startTB));
         boolQueryBuilder.must().add(QueryBuilders.termQuery(EndpointInventory.SERVICE_ID, serviceId));
 
-        return aggregation(indexName, valueCName, sourceBuilder, topN, order);
+        return aggregation(indexNames, valueCName, sourceBuilder, topN, order);
     }
 
-    private List<TopNEntity> aggregation(String indexName, String valueCName, SearchSourceBuilder sourceBuilder,
+    private List<TopNEntity> aggregation(String[] indexNames, String valueCName, SearchSourceBuilder sourceBuilder,
         int topN, Order order) throws IOException {
         boolean asc = false;
         if (order.equals(Order.ASC)) {
@@ -121,9 +121,13 @@ public class AggregationQueryEsDAO extends EsDAO implements IAggregationQueryDAO
             );
         sourceBuilder.aggregation(aggregationBuilder);
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(indexNames, sourceBuilder);
 
         List<TopNEntity> topNEntities = new ArrayList<>();
+        if (Objects.isNull(response.getAggregations())) {
+            // None of the indices in the range exists.
+            return topNEntities;
+        }
         Terms idTerms = response.getAggregations().get(Metrics.ENTITY_ID);
         for (Terms.Bucket termsBucket : idTerms.getBuckets()) {
             TopNEntity topNEntity = new TopNEntity();
@@ -61,7 +61,7 @@ public class AlarmQueryEsDAO extends EsDAO implements IAlarmQueryDAO {
         sourceBuilder.size(limit);
         sourceBuilder.from(from);
 
-        SearchResponse response = getClient().search(AlarmRecord.INDEX_NAME, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.INSTANCE.rangeIndexNames(AlarmRecord.INDEX_NAME, startTB, endTB), sourceBuilder);
 
         Alarms alarms = new Alarms();
         alarms.setTotal((int)response.getHits().totalHits);
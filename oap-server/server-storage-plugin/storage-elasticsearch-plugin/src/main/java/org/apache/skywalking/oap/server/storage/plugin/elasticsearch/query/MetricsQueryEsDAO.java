@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.query;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.oap.server.core.analysis.Downsampling;
 import org.apache.skywalking.oap.server.core.analysis.metrics.*;
 import org.apache.skywalking.oap.server.core.query.entity.*;
@@ -27,7 +28,7 @@ import org.apache.skywalking.oap.server.core.query.sql.*;
 import org.apache.skywalking.oap.server.core.storage.model.ModelName;
 import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
-import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
@@ -41,6 +42,8 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
  */
 public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
 
+    private final Set<String> droppedLegacyIndices = ConcurrentHashMap.newKeySet();
+
     public MetricsQueryEsDAO(ElasticSearchClient client) {
         super(client);
     }
@@ -57,9 +60,13 @@ public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
 
         sourceBuilder.aggregation(entityIdAggregation);
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.INSTANCE.rangeIndexNames(indexName, startTB, endTB), sourceBuilder);
 
         IntValues intValues = new IntValues();
+        if (Objects.isNull(response.getAggregations())) {
+            // None of the indices in the range exists.
+            return intValues;
+        }
         Terms idTerms = response.getAggregations().get(Metrics.ENTITY_ID);
         for (Terms.Bucket idBucket : idTerms.getBuckets()) {
             long value = 0;
@@ -103,15 +110,15 @@ public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
     @Override public IntValues getLinearIntValues(String indName, Downsampling downsampling, List<String> ids, String valueCName) throws IOException {
         String indexName = ModelName.build(downsampling, indName);
 
-        MultiGetResponse response = getClient().multiGet(indexName, ids);
+        List<Map<String, Object>> sources = multiGet(indexName, ids);
 
         IntValues intValues = new IntValues();
-        for (MultiGetItemResponse itemResponse : response.getResponses()) {
+        for (int i = 0; i < ids.size(); i++) {
 
             KVInt kvInt = new KVInt();
-            kvInt.setId(itemResponse.getId());
+            kvInt.setId(ids.get(i));
             kvInt.setValue(0);
-            Map<String, Object> source = itemResponse.getResponse().getSource();
+            Map<String, Object> source = sources.get(i);
             if (source != null) {
                 kvInt.setValue(((Number)source.getOrDefault(valueCName, 0)).longValue());
             }
@@ -120,17 +127,44 @@ public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
         return intValues;
     }
 
+    @Override public IntValues[] getMultipleLinearIntValues(String indName, Downsampling downsampling, List<String> ids,
+        int numOfLinear, String valueCName) throws IOException {
+        String indexName = ModelName.build(downsampling, indName);
+
+        List<Map<String, Object>> sources = multiGet(indexName, ids);
+
+        IntValues[] intValuesArray = new IntValues[numOfLinear];
+        for (int i = 0; i < intValuesArray.length; i++) {
+            intValuesArray[i] = new IntValues();
+        }
+
+        for (int idIndex = 0; idIndex < ids.size(); idIndex++) {
+            Map<String, Object> source = sources.get(idIndex);
+            IntKeyLongValueMap multipleValues = new IntKeyLongValueMap(numOfLinear);
+            if (source != null) {
+                multipleValues.toObject((String)source.get(valueCName));
+            }
+
+            for (int i = 0; i < numOfLinear; i++) {
+                KVInt kvInt = new KVInt();
+                kvInt.setId(ids.get(idIndex));
+                kvInt.setValue(multipleValues.get(i));
+                intValuesArray[i].addKVInt(kvInt);
+            }
+        }
+        return intValuesArray;
+    }
+
     @Override public Thermodynamic getThermodynamic(String indName, Downsampling downsampling, List<String> ids, String valueCName) throws IOException {
         String indexName = ModelName.build(downsampling, indName);
 
-        MultiGetResponse response = getClient().multiGet(indexName, ids);
+        List<Map<String, Object>> sources = multiGet(indexName, ids);
 
         Thermodynamic thermodynamic = new Thermodynamic();
         List<List<Long>> thermodynamicValueMatrix = new ArrayList<>();
 
         int numOfSteps = 0;
-        for (MultiGetItemResponse itemResponse : response.getResponses()) {
-            Map<String, Object> source = itemResponse.getResponse().getSource();
+        for (Map<String, Object> source : sources) {
             if (source == null) {
                 // add empty list to represent no data exist for this time bucket
                 thermodynamicValueMatrix.add(new ArrayList<>());
@@ -140,17 +174,14 @@ public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
                 numOfSteps = ((Number)source.get(ThermodynamicMetrics.NUM_OF_STEPS)).intValue() + 1;
 
                 String value = (String)source.get(ThermodynamicMetrics.DETAIL_GROUP);
-                IntKeyLongValueArray intKeyLongValues = new IntKeyLongValueArray(5);
-                intKeyLongValues.toObject(value);
+                IntKeyLongValueMap intKeyLongValues = new IntKeyLongValueMap(value);
 
                 List<Long> axisYValues = new ArrayList<>();
                 for (int i = 0; i < numOfSteps; i++) {
                     axisYValues.add(0L);
                 }
 
-                for (IntKeyLongValue intKeyLongValue : intKeyLongValues) {
-                    axisYValues.set(intKeyLongValue.getKey(), intKeyLongValue.getValue());
-                }
+                intKeyLongValues.forEach(axisYValues::set);
 
                 thermodynamicValueMatrix.add(axisYValues);
             }
@@ -160,4 +191,49 @@ public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
 
         return thermodynamic;
     }
+
+    /**
+     * Every id is got from the index of its time bucket, the missing ones are got from the legacy index again, until
+     * it is known to be dropped.
+     *
+     * @return the sources in the order of the ids, null if the document doesn't exist.
+     */
+    private List<Map<String, Object>> multiGet(String indexName, List<String> ids) throws IOException {
+        List<String> indexNames = new ArrayList<>(ids.size());
+        ids.forEach(id -> indexNames.add(TimeSeriesUtils.INSTANCE.indexNameOfId(indexName, id)));
+
+        List<Map<String, Object>> sources = new ArrayList<>(ids.size());
+        List<String> missingIds = new ArrayList<>();
+        for (MultiGetItemResponse itemResponse : getClient().multiGet(indexNames, ids).getResponses()) {
+            Map<String, Object> source = sourceOf(itemResponse);
+            sources.add(source);
+            if (source == null) {
+                missingIds.add(itemResponse.getId());
+            }
+        }
+
+        String legacyIndexName = TimeSeriesUtils.INSTANCE.legacyIndexName(indexName);
+        if (missingIds.isEmpty() || droppedLegacyIndices.contains(legacyIndexName)) {
+            return sources;
+        }
+
+        Map<String, Map<String, Object>> legacySources = new HashMap<>();
+        for (MultiGetItemResponse itemResponse : getClient().multiGet(legacyIndexName, missingIds).getResponses()) {
+            if (isIndexNotFound(itemResponse)) {
+                // Nothing writes into the legacy index, it never comes back.
+                droppedLegacyIndices.add(legacyIndexName);
+                return sources;
+            }
+            Map<String, Object> source = sourceOf(itemResponse);
+            if (source != null) {
+                legacySources.put(itemResponse.getId(), source);
+            }
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (sources.get(i) == null) {
+                sources.set(i, legacySources.get(ids.get(i)));
+            }
+        }
+        return sources;
+    }
 }
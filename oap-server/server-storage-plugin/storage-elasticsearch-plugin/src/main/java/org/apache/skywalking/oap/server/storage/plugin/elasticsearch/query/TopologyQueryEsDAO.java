@@ -32,7 +32,7 @@ import org.apache.skywalking.oap.server.core.storage.model.ModelName;
 import org.apache.skywalking.oap.server.core.storage.query.ITopologyQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
-import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
@@ -58,8 +58,8 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         sourceBuilder.size(0);
         setQueryCondition(sourceBuilder, startTB, endTB, serviceIds);
 
-        String indexName = ModelName.build(downsampling, ServiceRelationServerSideMetrics.INDEX_NAME);
-        return load(sourceBuilder, indexName, DetectPoint.SERVER);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, ServiceRelationServerSideMetrics.INDEX_NAME), startTB, endTB);
+        return load(sourceBuilder, indexNames, DetectPoint.SERVER);
     }
 
     @Override
@@ -72,8 +72,8 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         sourceBuilder.size(0);
         setQueryCondition(sourceBuilder, startTB, endTB, serviceIds);
 
-        String indexName = ModelName.build(downsampling, ServiceRelationClientSideMetrics.INDEX_NAME);
-        return load(sourceBuilder, indexName, DetectPoint.CLIENT);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, ServiceRelationClientSideMetrics.INDEX_NAME), startTB, endTB);
+        return load(sourceBuilder, indexNames, DetectPoint.CLIENT);
     }
 
     private void setQueryCondition(SearchSourceBuilder sourceBuilder, long startTB, long endTB, List<Integer> serviceIds) {
@@ -94,26 +94,26 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
     }
 
     @Override public List<Call.CallDetail> loadServerSideServiceRelations(Downsampling downsampling, long startTB, long endTB) throws IOException {
-        String indexName = ModelName.build(downsampling, ServiceRelationServerSideMetrics.INDEX_NAME);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, ServiceRelationServerSideMetrics.INDEX_NAME), startTB, endTB);
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(ServiceRelationServerSideMetrics.TIME_BUCKET).gte(startTB).lte(endTB));
         sourceBuilder.size(0);
 
-        return load(sourceBuilder, indexName, DetectPoint.SERVER);
+        return load(sourceBuilder, indexNames, DetectPoint.SERVER);
     }
 
     @Override public List<Call.CallDetail> loadClientSideServiceRelations(Downsampling downsampling, long startTB, long endTB) throws IOException {
-        String indexName = ModelName.build(downsampling, ServiceRelationClientSideMetrics.INDEX_NAME);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, ServiceRelationClientSideMetrics.INDEX_NAME), startTB, endTB);
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(ServiceRelationServerSideMetrics.TIME_BUCKET).gte(startTB).lte(endTB));
         sourceBuilder.size(0);
 
-        return load(sourceBuilder, indexName, DetectPoint.CLIENT);
+        return load(sourceBuilder, indexNames, DetectPoint.CLIENT);
     }
 
     @Override
     public List<Call.CallDetail> loadSpecifiedDestOfServerSideEndpointRelations(Downsampling downsampling, long startTB, long endTB, int destEndpointId) throws IOException {
-        String indexName = ModelName.build(downsampling, EndpointRelationServerSideMetrics.INDEX_NAME);
+        String[] indexNames = TimeSeriesUtils.INSTANCE.rangeIndexNames(ModelName.build(downsampling, EndpointRelationServerSideMetrics.INDEX_NAME), startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.size(0);
@@ -128,16 +128,20 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
 
         sourceBuilder.query(boolQuery);
 
-        return load(sourceBuilder, indexName, DetectPoint.SERVER);
+        return load(sourceBuilder, indexNames, DetectPoint.SERVER);
     }
 
-    private List<Call.CallDetail> load(SearchSourceBuilder sourceBuilder, String indexName,
+    private List<Call.CallDetail> load(SearchSourceBuilder sourceBuilder, String[] indexNames,
         DetectPoint detectPoint) throws IOException {
         sourceBuilder.aggregation(AggregationBuilders.terms(Metrics.ENTITY_ID).field(Metrics.ENTITY_ID).size(1000));
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(indexNames, sourceBuilder);
 
         List<Call.CallDetail> calls = new ArrayList<>();
+        if (Objects.isNull(response.getAggregations())) {
+            // None of the indices in the range exists.
+            return calls;
+        }
         Terms entityTerms = response.getAggregations().get(Metrics.ENTITY_ID);
         for (Terms.Bucket entityBucket : entityTerms.getBuckets()) {
             String entityId = entityBucket.getKeyAsString();
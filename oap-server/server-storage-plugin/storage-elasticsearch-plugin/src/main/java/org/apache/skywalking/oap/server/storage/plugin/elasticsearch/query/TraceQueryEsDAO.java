@@ -24,10 +24,13 @@ import java.util.*;
 import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
 import org.apache.skywalking.oap.server.core.query.entity.*;
 import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBinary;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.util.BooleanUtils;
 import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.*;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
@@ -103,8 +106,9 @@ public class TraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
         }
         sourceBuilder.size(limit);
         sourceBuilder.from(from);
+        sourceBuilder.fetchSource(BASIC_TRACE_COLUMNS, null);
 
-        SearchResponse response = getClient().search(SegmentRecord.INDEX_NAME, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.INSTANCE.rangeIndexNames(SegmentRecord.INDEX_NAME, startSecondTB, endSecondTB), sourceBuilder);
 
         TraceBrief traceBrief = new TraceBrief();
         traceBrief.setTotal((int)response.getHits().totalHits);
@@ -112,12 +116,13 @@ public class TraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
         for (SearchHit searchHit : response.getHits().getHits()) {
             BasicTrace basicTrace = new BasicTrace();
 
-            basicTrace.setSegmentId((String)searchHit.getSourceAsMap().get(SegmentRecord.SEGMENT_ID));
-            basicTrace.setStart(String.valueOf(searchHit.getSourceAsMap().get(SegmentRecord.START_TIME)));
-            basicTrace.getEndpointNames().add((String)searchHit.getSourceAsMap().get(SegmentRecord.ENDPOINT_NAME));
-            basicTrace.setDuration(((Number)searchHit.getSourceAsMap().get(SegmentRecord.LATENCY)).intValue());
-            basicTrace.setError(BooleanUtils.valueToBoolean(((Number)searchHit.getSourceAsMap().get(SegmentRecord.IS_ERROR)).intValue()));
-            basicTrace.getTraceIds().add((String)searchHit.getSourceAsMap().get(SegmentRecord.TRACE_ID));
+            Map<String, Object> source = searchHit.getSourceAsMap();
+            basicTrace.setSegmentId((String)source.get(SegmentRecord.SEGMENT_ID));
+            basicTrace.setStart(String.valueOf(source.get(SegmentRecord.START_TIME)));
+            basicTrace.getEndpointNames().add((String)source.get(SegmentRecord.ENDPOINT_NAME));
+            basicTrace.setDuration(((Number)source.get(SegmentRecord.LATENCY)).intValue());
+            basicTrace.setError(BooleanUtils.valueToBoolean(((Number)source.get(SegmentRecord.IS_ERROR)).intValue()));
+            basicTrace.getTraceIds().add((String)source.get(SegmentRecord.TRACE_ID));
             traceBrief.getTraces().add(basicTrace);
         }
 
@@ -128,30 +133,72 @@ public class TraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.termQuery(SegmentRecord.TRACE_ID, traceId));
         sourceBuilder.size(segmentQueryMaxSize);
+        sourceBuilder.fetchSource(SEGMENT_COLUMNS, null);
 
-        SearchResponse response = getClient().search(SegmentRecord.INDEX_NAME, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.INSTANCE.allQueryIndexNames(SegmentRecord.INDEX_NAME), sourceBuilder);
 
         List<SegmentRecord> segmentRecords = new ArrayList<>();
         for (SearchHit searchHit : response.getHits().getHits()) {
-            SegmentRecord segmentRecord = new SegmentRecord();
-            segmentRecord.setSegmentId((String)searchHit.getSourceAsMap().get(SegmentRecord.SEGMENT_ID));
-            segmentRecord.setTraceId((String)searchHit.getSourceAsMap().get(SegmentRecord.TRACE_ID));
-            segmentRecord.setServiceId(((Number)searchHit.getSourceAsMap().get(SegmentRecord.SERVICE_ID)).intValue());
-            segmentRecord.setEndpointName((String)searchHit.getSourceAsMap().get(SegmentRecord.ENDPOINT_NAME));
-            segmentRecord.setStartTime(((Number)searchHit.getSourceAsMap().get(SegmentRecord.START_TIME)).longValue());
-            segmentRecord.setEndTime(((Number)searchHit.getSourceAsMap().get(SegmentRecord.END_TIME)).longValue());
-            segmentRecord.setLatency(((Number)searchHit.getSourceAsMap().get(SegmentRecord.LATENCY)).intValue());
-            segmentRecord.setIsError(((Number)searchHit.getSourceAsMap().get(SegmentRecord.IS_ERROR)).intValue());
-            String dataBinaryBase64 = (String)searchHit.getSourceAsMap().get(SegmentRecord.DATA_BINARY);
-            if (!Strings.isNullOrEmpty(dataBinaryBase64)) {
-                segmentRecord.setDataBinary(Base64.getDecoder().decode(dataBinaryBase64));
-            }
-            segmentRecord.setVersion(((Number)searchHit.getSourceAsMap().get(SegmentRecord.VERSION)).intValue());
-            segmentRecords.add(segmentRecord);
+            segmentRecords.add(parseSegment(searchHit.getSourceRef()));
         }
         return segmentRecords;
     }
 
+    /**
+     * Read the source by the parser, rather than the map of the whole source, the data binary is decoded from the
+     * Base64 text directly, then decompressed if it is. The unknown fields are skipped.
+     */
+    static SegmentRecord parseSegment(BytesReference source) throws IOException {
+        SegmentRecord segmentRecord = new SegmentRecord();
+        try (XContentParser parser = XContentHelper.createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, source, XContentType.JSON)) {
+            parser.nextToken();
+            while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == XContentParser.Token.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case SegmentRecord.SEGMENT_ID:
+                        segmentRecord.setSegmentId(parser.text());
+                        break;
+                    case SegmentRecord.TRACE_ID:
+                        segmentRecord.setTraceId(parser.text());
+                        break;
+                    case SegmentRecord.SERVICE_ID:
+                        segmentRecord.setServiceId(parser.intValue());
+                        break;
+                    case SegmentRecord.ENDPOINT_NAME:
+                        segmentRecord.setEndpointName(parser.text());
+                        break;
+                    case SegmentRecord.START_TIME:
+                        segmentRecord.setStartTime(parser.longValue());
+                        break;
+                    case SegmentRecord.END_TIME:
+                        segmentRecord.setEndTime(parser.longValue());
+                        break;
+                    case SegmentRecord.LATENCY:
+                        segmentRecord.setLatency(parser.intValue());
+                        break;
+                    case SegmentRecord.IS_ERROR:
+                        segmentRecord.setIsError(parser.intValue());
+                        break;
+                    case SegmentRecord.DATA_BINARY:
+                        byte[] dataBinary = StorageBinary.INSTANCE.decode(parser.binaryValue());
+                        if (dataBinary.length > 0) {
+                            segmentRecord.setDataBinary(dataBinary);
+                        }
+                        break;
+                    case SegmentRecord.VERSION:
+                        segmentRecord.setVersion(parser.intValue());
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        return segmentRecord;
+    }
+
     @Override public List<Span> doFlexibleTraceQuery(String traceId) throws IOException {
         return Collections.emptyList();
     }
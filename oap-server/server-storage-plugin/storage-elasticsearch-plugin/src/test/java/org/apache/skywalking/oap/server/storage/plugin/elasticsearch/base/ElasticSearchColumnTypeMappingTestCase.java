@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueMap;
 import org.junit.*;
 
 /**
@@ -39,5 +40,8 @@ public class ElasticSearchColumnTypeMappingTestCase {
         Assert.assertEquals("double", mapping.transform(Double.class));
 
         Assert.assertEquals("keyword", mapping.transform(String.class));
+
+        Assert.assertEquals("binary", mapping.transform(IntKeyLongValueMap.class));
+        Assert.assertEquals("binary", mapping.transform(byte[].class));
     }
 }
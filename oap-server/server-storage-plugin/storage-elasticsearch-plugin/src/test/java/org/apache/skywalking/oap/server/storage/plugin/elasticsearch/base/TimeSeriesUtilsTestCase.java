@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import org.junit.*;
+
+public class TimeSeriesUtilsTestCase {
+
+    @Test
+    public void indexName() {
+        Assert.assertEquals("segment-20261016", TimeSeriesUtils.INSTANCE.indexName("segment", 20261016235959L));
+        Assert.assertEquals("endpoint_cpm-20261016", TimeSeriesUtils.INSTANCE.indexName("endpoint_cpm", 202610162359L));
+        Assert.assertEquals("endpoint_cpm_hour-202610", TimeSeriesUtils.INSTANCE.indexName("endpoint_cpm_hour", 2026101623L));
+        Assert.assertEquals("endpoint_cpm_day-202610", TimeSeriesUtils.INSTANCE.indexName("endpoint_cpm_day", 20261016L));
+        Assert.assertEquals("endpoint_cpm_month-202610", TimeSeriesUtils.INSTANCE.indexName("endpoint_cpm_month", 202610L));
+
+        Assert.assertEquals("endpoint_cpm-20261016", TimeSeriesUtils.INSTANCE.indexNameOfId("endpoint_cpm", "202610162359_12"));
+        Assert.assertEquals("all_p99-20261016", TimeSeriesUtils.INSTANCE.indexNameOfId("all_p99", "202610162359"));
+    }
+
+    @Test
+    public void rangeIndexNames() {
+        Assert.assertArrayEquals(new String[] {"segment-20261031", "segment-20261101", "segment"},
+            TimeSeriesUtils.INSTANCE.rangeIndexNames("segment", 20261031230000L, 20261101010000L));
+        Assert.assertArrayEquals(new String[] {"service_sla_hour-202612", "service_sla_hour-202701", "service_sla_hour"},
+            TimeSeriesUtils.INSTANCE.rangeIndexNames("service_sla_hour", 2026121500L, 2027010100L));
+
+        Assert.assertArrayEquals(new String[] {"segment-*", "segment"}, TimeSeriesUtils.INSTANCE.rangeIndexNames("segment", 0, 0));
+        Assert.assertArrayEquals(new String[] {"service_sla-*", "service_sla"},
+            TimeSeriesUtils.INSTANCE.rangeIndexNames("service_sla", 202601010000L, 202612310000L));
+    }
+
+    @Test
+    public void partitionOf() {
+        Assert.assertEquals(20261016, TimeSeriesUtils.INSTANCE.partitionOf("endpoint_cpm", "endpoint_cpm-20261016"));
+        Assert.assertEquals(-1, TimeSeriesUtils.INSTANCE.partitionOf("endpoint_cpm", "endpoint_cpm_hour-202610"));
+        Assert.assertEquals(-1, TimeSeriesUtils.INSTANCE.partitionOf("endpoint_cpm", "endpoint_cpm"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.query;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.*;
+import org.junit.*;
+
+public class TraceQueryEsDAOTestCase {
+
+    @Test
+    public void parseSegment() throws IOException {
+        byte[] dataBinary = new byte[4096];
+        for (int i = 0; i < dataBinary.length; i++) {
+            dataBinary[i] = (byte)(i % 7);
+        }
+        SegmentRecord segmentRecord = newSegmentRecord(dataBinary);
+
+        SegmentRecord parsed = TraceQueryEsDAO.parseSegment(toSource(new SegmentRecord.Builder().data2Map(segmentRecord)));
+        assertSegmentRecord(segmentRecord, parsed);
+        Assert.assertArrayEquals(dataBinary, parsed.getDataBinary());
+    }
+
+    @Test
+    public void parseSegmentWithEmptyDataBinary() throws IOException {
+        SegmentRecord segmentRecord = newSegmentRecord(null);
+
+        SegmentRecord parsed = TraceQueryEsDAO.parseSegment(toSource(new SegmentRecord.Builder().data2Map(segmentRecord)));
+        assertSegmentRecord(segmentRecord, parsed);
+        Assert.assertNull(parsed.getDataBinary());
+
+        Map<String, Object> source = new SegmentRecord.Builder().data2Map(segmentRecord);
+        source.put(SegmentRecord.DATA_BINARY, null);
+        parsed = TraceQueryEsDAO.parseSegment(toSource(source));
+        assertSegmentRecord(segmentRecord, parsed);
+        Assert.assertNull(parsed.getDataBinary());
+    }
+
+    @Test
+    public void parseSegmentWithUnknownFields() throws IOException {
+        SegmentRecord segmentRecord = newSegmentRecord(new byte[] {1, 2, 3});
+
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.field("unknown_text", "text");
+        builder.startObject("unknown_object").field(SegmentRecord.TRACE_ID, "nested").endObject();
+        builder.startArray("unknown_array").value(1).startObject().field("a", 1).endObject().endArray();
+        for (Map.Entry<String, Object> entry : new SegmentRecord.Builder().data2Map(segmentRecord).entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.field("unknown_number", 10L);
+        builder.endObject();
+
+        SegmentRecord parsed = TraceQueryEsDAO.parseSegment(BytesReference.bytes(builder));
+        assertSegmentRecord(segmentRecord, parsed);
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, parsed.getDataBinary());
+    }
+
+    private SegmentRecord newSegmentRecord(byte[] dataBinary) {
+        SegmentRecord segmentRecord = new SegmentRecord();
+        segmentRecord.setSegmentId("1.2.3");
+        segmentRecord.setTraceId("4.5.6");
+        segmentRecord.setServiceId(2);
+        segmentRecord.setServiceInstanceId(3);
+        segmentRecord.setEndpointName("/order/create");
+        segmentRecord.setEndpointId(4);
+        segmentRecord.setStartTime(1560000000000L);
+        segmentRecord.setEndTime(1560000000123L);
+        segmentRecord.setLatency(123);
+        segmentRecord.setIsError(1);
+        segmentRecord.setTimeBucket(20190608212000L);
+        segmentRecord.setDataBinary(dataBinary);
+        segmentRecord.setVersion(2);
+        return segmentRecord;
+    }
+
+    private BytesReference toSource(Map<String, Object> source) throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        return BytesReference.bytes(builder);
+    }
+
+    private void assertSegmentRecord(SegmentRecord expected, SegmentRecord actual) {
+        Assert.assertEquals(expected.getSegmentId(), actual.getSegmentId());
+        Assert.assertEquals(expected.getTraceId(), actual.getTraceId());
+        Assert.assertEquals(expected.getServiceId(), actual.getServiceId());
+        Assert.assertEquals(expected.getEndpointName(), actual.getEndpointName());
+        Assert.assertEquals(expected.getStartTime(), actual.getStartTime());
+        Assert.assertEquals(expected.getEndTime(), actual.getEndTime());
+        Assert.assertEquals(expected.getLatency(), actual.getLatency());
+        Assert.assertEquals(expected.getIsError(), actual.getIsError());
+        Assert.assertEquals(expected.getVersion(), actual.getVersion());
+    }
+}
@@ -32,7 +32,7 @@ import org.apache.skywalking.oap.server.core.query.entity.*;
 import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.util.BooleanUtils;
-import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.apache.skywalking.oap.server.storage.plugin.jaeger.JaegerSpanRecord;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.*;
@@ -122,7 +122,7 @@ public class JaegerTraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
         }
         sourceBuilder.aggregation(builder);
 
-        SearchResponse response = getClient().search(JaegerSpanRecord.INDEX_NAME, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.INSTANCE.rangeIndexNames(JaegerSpanRecord.INDEX_NAME, startSecondTB, endSecondTB), sourceBuilder);
 
         TraceBrief traceBrief = new TraceBrief();
 
@@ -156,7 +156,7 @@ public class JaegerTraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
         sourceBuilder.sort(START_TIME, SortOrder.ASC);
         sourceBuilder.size(1000);
 
-        SearchResponse response = getClient().search(JaegerSpanRecord.INDEX_NAME, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.INSTANCE.allQueryIndexNames(JaegerSpanRecord.INDEX_NAME), sourceBuilder);
 
         List<Span> spanList = new ArrayList<>();
 
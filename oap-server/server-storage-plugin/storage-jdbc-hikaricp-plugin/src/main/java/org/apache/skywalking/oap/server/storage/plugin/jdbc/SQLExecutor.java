@@ -41,14 +41,34 @@ public class SQLExecutor {
         this.param = param;
     }
 
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParam() {
+        return param;
+    }
+
     public void invoke(Connection connection) throws SQLException {
         PreparedStatement preparedStatement = connection.prepareStatement(sql);
 
-        for (int i = 0; i < param.size(); i++) {
-            preparedStatement.setObject(i + 1, param.get(i));
-        }
+        setParameters(preparedStatement);
 
         logger.debug("execute aql in batch: {}", sql);
         preparedStatement.execute();
     }
+
+    /**
+     * Add this SQL into the batch of the given statement, which must be prepared by the same SQL text.
+     */
+    public void addBatch(PreparedStatement preparedStatement) throws SQLException {
+        setParameters(preparedStatement);
+        preparedStatement.addBatch();
+    }
+
+    private void setParameters(PreparedStatement preparedStatement) throws SQLException {
+        for (int i = 0; i < param.size(); i++) {
+            preparedStatement.setObject(i + 1, param.get(i));
+        }
+    }
 }
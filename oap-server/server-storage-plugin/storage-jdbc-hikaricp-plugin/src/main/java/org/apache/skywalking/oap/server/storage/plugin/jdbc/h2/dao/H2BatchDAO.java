@@ -18,9 +18,15 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
+import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
@@ -40,7 +46,7 @@ public class H2BatchDAO implements IBatchDAO {
         this.h2Client = h2Client;
     }
 
-    @Override public void batchPersistence(List<?> batchCollection) {
+    @Override public void batchPersistence(List<?> batchCollection) throws IOException {
         if (batchCollection.size() == 0) {
             return;
         }
@@ -49,15 +55,52 @@ public class H2BatchDAO implements IBatchDAO {
             logger.debug("batch sql statements execute, data size: {}", batchCollection.size());
         }
 
-        try (Connection connection = h2Client.getConnection()) {
-            for (Object exe : batchCollection) {
-                SQLExecutor sqlExecutor = (SQLExecutor)exe;
-                sqlExecutor.invoke(connection);
+        Map<String, List<SQLExecutor>> groupedBySQL = new LinkedHashMap<>();
+        for (Object exe : batchCollection) {
+            SQLExecutor sqlExecutor = (SQLExecutor)exe;
+            groupedBySQL.computeIfAbsent(sqlExecutor.getSql(), sql -> new ArrayList<>()).add(sqlExecutor);
+        }
+
+        int failures = 0;
+        try (Connection connection = h2Client.getTransactionConnection()) {
+            for (Map.Entry<String, List<SQLExecutor>> group : groupedBySQL.entrySet()) {
+                try {
+                    executeInBatch(connection, group.getKey(), group.getValue());
+                } catch (SQLException e) {
+                    connection.rollback();
+                    logger.warn("Batch persist {} statements failure, try them one by one, error message: {}", group.getValue().size(), e.getMessage());
+                    for (SQLExecutor sqlExecutor : group.getValue()) {
+                        try {
+                            executeInBatch(connection, group.getKey(), Collections.singletonList(sqlExecutor));
+                        } catch (SQLException ex) {
+                            connection.rollback();
+                            failures++;
+                            logger.error("Persist statement failure, sql: {}, error message: {}", group.getKey(), ex.getMessage());
+                        }
+                    }
+                }
+            }
+        } catch (SQLException | JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        if (failures > 0) {
+            throw new IOException(failures + " of " + batchCollection.size() + " statements are not persisted.");
+        }
+    }
+
+    /**
+     * Execute the statements of the same SQL text in one batch, and commit them in their own transaction, so the
+     * failure of one group doesn't roll back the others.
+     */
+    private void executeInBatch(Connection connection, String sql,
+        List<SQLExecutor> sqlExecutors) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (SQLExecutor sqlExecutor : sqlExecutors) {
+                sqlExecutor.addBatch(preparedStatement);
             }
-        } catch (SQLException e) {
-            logger.error(e.getMessage(), e);
-        } catch (JDBCClientException e) {
-            logger.error(e.getMessage(), e);
+            preparedStatement.executeBatch();
         }
+        connection.commit();
     }
 }
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.EndpointInventory;
 import org.apache.skywalking.oap.server.core.storage.cache.IEndpointInventoryCacheDAO;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
@@ -35,9 +36,8 @@ public class H2EndpointInventoryCacheDAO extends H2SQLExecutor implements IEndpo
         this.h2Client = h2Client;
     }
 
-    @Override public int getEndpointId(int serviceId, String endpointName, int detectPoint) {
-        String id = EndpointInventory.buildId(serviceId, endpointName, detectPoint);
-        return getEntityIDByID(h2Client, EndpointInventory.SEQUENCE, EndpointInventory.INDEX_NAME, id);
+    @Override public Map<String, Integer> getEndpointIds(List<String> ids) {
+        return getEntityIDsByIDs(h2Client, EndpointInventory.SEQUENCE, EndpointInventory.INDEX_NAME, ids);
     }
 
     @Override public EndpointInventory get(int endpointId) {
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
@@ -30,7 +31,7 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
  */
 public class H2MetricsDAO extends H2SQLExecutor implements IMetricsDAO<SQLExecutor, SQLExecutor> {
     private JDBCHikariCPClient h2Client;
-    private StorageBuilder<Metrics> storageBuilder;
+    protected final StorageBuilder<Metrics> storageBuilder;
 
     public H2MetricsDAO(JDBCHikariCPClient h2Client, StorageBuilder<Metrics> storageBuilder) {
         this.h2Client = h2Client;
@@ -41,6 +42,15 @@ public class H2MetricsDAO extends H2SQLExecutor implements IMetricsDAO<SQLExecut
         return (Metrics)getByID(h2Client, modelName, metrics.id(), storageBuilder);
     }
 
+    @Override public List<Metrics> get(String modelName, Collection<Metrics> metrics) throws IOException {
+        List<String> ids = new ArrayList<>(metrics.size());
+        metrics.forEach(data -> ids.add(data.id()));
+
+        List<Metrics> result = new ArrayList<>(ids.size());
+        getByIDs(h2Client, modelName, ids, storageBuilder).forEach(data -> result.add((Metrics)data));
+        return result;
+    }
+
     @Override public SQLExecutor prepareBatchInsert(String modelName, Metrics metrics) throws IOException {
         return getInsertExecutor(modelName, metrics, storageBuilder);
     }
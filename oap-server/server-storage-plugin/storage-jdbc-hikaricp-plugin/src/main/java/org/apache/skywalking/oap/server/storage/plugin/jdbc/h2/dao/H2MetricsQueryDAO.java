@@ -128,6 +128,49 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
         return orderWithDefault0(intValues, ids);
     }
 
+    @Override public IntValues[] getMultipleLinearIntValues(String indName, Downsampling downsampling, List<String> ids,
+        int numOfLinear, String valueCName) throws IOException {
+        String tableName = ModelName.build(downsampling, indName);
+
+        StringBuilder idValues = new StringBuilder();
+        for (int valueIdx = 0; valueIdx < ids.size(); valueIdx++) {
+            if (valueIdx != 0) {
+                idValues.append(",");
+            }
+            idValues.append("'").append(ids.get(valueIdx)).append("'");
+        }
+
+        IntValues[] intValuesArray = new IntValues[numOfLinear];
+        for (int i = 0; i < intValuesArray.length; i++) {
+            intValuesArray[i] = new IntValues();
+        }
+
+        try (Connection connection = h2Client.getConnection()) {
+            try (ResultSet resultSet = h2Client.executeQuery(connection, "select id, " + valueCName + " from " + tableName + " where id in (" + idValues.toString() + ")")) {
+                while (resultSet.next()) {
+                    String id = resultSet.getString("id");
+
+                    IntKeyLongValueMap multipleValues = new IntKeyLongValueMap(numOfLinear);
+                    multipleValues.fromBytes(resultSet.getBytes(valueCName));
+
+                    for (int i = 0; i < numOfLinear; i++) {
+                        KVInt kv = new KVInt();
+                        kv.setId(id);
+                        kv.setValue(multipleValues.get(i));
+                        intValuesArray[i].addKVInt(kv);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+
+        for (int i = 0; i < intValuesArray.length; i++) {
+            intValuesArray[i] = orderWithDefault0(intValuesArray[i], ids);
+        }
+        return intValuesArray;
+    }
+
     /**
      * Make sure the order is same as the expected order, and keep default value as 0.
      *
@@ -177,18 +220,15 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
                     axisYStep = resultSet.getInt("step");
                     String id = resultSet.getString("id");
                     numOfSteps = resultSet.getInt("num_of_steps") + 1;
-                    String value = resultSet.getString("detail_group");
-                    IntKeyLongValueArray intKeyLongValues = new IntKeyLongValueArray(5);
-                    intKeyLongValues.toObject(value);
+                    IntKeyLongValueMap intKeyLongValues = new IntKeyLongValueMap();
+                    intKeyLongValues.fromBytes(resultSet.getBytes("detail_group"));
 
                     List<Long> axisYValues = new ArrayList<>();
                     for (int i = 0; i < numOfSteps; i++) {
                         axisYValues.add(0L);
                     }
 
-                    for (IntKeyLongValue intKeyLongValue : intKeyLongValues) {
-                        axisYValues.set(intKeyLongValue.getKey(), intKeyLongValue.getValue());
-                    }
+                    intKeyLongValues.forEach(axisYValues::set);
 
                     thermodynamicValueMatrix.put(id, axisYValues);
                 }
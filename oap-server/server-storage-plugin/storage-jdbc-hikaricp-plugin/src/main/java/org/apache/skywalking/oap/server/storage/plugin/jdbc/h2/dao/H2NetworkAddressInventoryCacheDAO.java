@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.NetworkAddressInventory;
 import org.apache.skywalking.oap.server.core.storage.cache.INetworkAddressInventoryCacheDAO;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
@@ -36,9 +37,8 @@ public class H2NetworkAddressInventoryCacheDAO extends H2SQLExecutor implements
         this.h2Client = h2Client;
     }
 
-    @Override public int getAddressId(String networkAddress) {
-        String id = NetworkAddressInventory.buildId(networkAddress);
-        return getEntityIDByID(h2Client, NetworkAddressInventory.SEQUENCE, NetworkAddressInventory.INDEX_NAME, id);
+    @Override public Map<String, Integer> getAddressIds(List<String> ids) {
+        return getEntityIDsByIDs(h2Client, NetworkAddressInventory.SEQUENCE, NetworkAddressInventory.INDEX_NAME, ids);
     }
 
     @Override public NetworkAddressInventory get(int addressId) {
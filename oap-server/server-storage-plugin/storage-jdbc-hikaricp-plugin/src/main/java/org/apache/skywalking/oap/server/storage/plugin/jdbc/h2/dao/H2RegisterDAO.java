@@ -20,10 +20,12 @@ package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.io.IOException;
 import java.sql.*;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.register.RegisterSource;
 import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
 import org.slf4j.*;
 
 /**
@@ -45,6 +47,12 @@ public class H2RegisterDAO extends H2SQLExecutor implements IRegisterDAO {
         return (RegisterSource)getByID(h2Client, modelName, id, storageBuilder);
     }
 
+    @Override public List<RegisterSource> get(String modelName, Collection<String> ids) throws IOException {
+        List<RegisterSource> sources = new ArrayList<>(ids.size());
+        getByIDs(h2Client, modelName, new ArrayList<>(ids), storageBuilder).forEach(data -> sources.add((RegisterSource)data));
+        return sources;
+    }
+
     @Override public void forceInsert(String modelName, RegisterSource source) throws IOException {
         try (Connection connection = h2Client.getConnection()) {
             getInsertExecutor(modelName, source, storageBuilder).invoke(connection);
@@ -60,4 +68,45 @@ public class H2RegisterDAO extends H2SQLExecutor implements IRegisterDAO {
             throw new IOException(e.getMessage(), e);
         }
     }
+
+    @Override public void forceInsert(String modelName, List<RegisterSource> sources) throws IOException {
+        List<SQLExecutor> executors = new ArrayList<>(sources.size());
+        for (RegisterSource source : sources) {
+            executors.add(getInsertExecutor(modelName, source, storageBuilder));
+        }
+        executeInBatch(executors);
+    }
+
+    @Override public void forceUpdate(String modelName, List<RegisterSource> sources) throws IOException {
+        List<SQLExecutor> executors = new ArrayList<>(sources.size());
+        for (RegisterSource source : sources) {
+            executors.add(getUpdateExecutor(modelName, source, storageBuilder));
+        }
+        executeInBatch(executors);
+    }
+
+    /**
+     * All the executors share the same sql, so they are executed as one batch of a prepared statement, in one
+     * transaction.
+     */
+    private void executeInBatch(List<SQLExecutor> executors) throws IOException {
+        if (executors.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = h2Client.getTransactionConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(executors.get(0).getSql())) {
+                for (SQLExecutor executor : executors) {
+                    executor.addBatch(preparedStatement);
+                }
+                preparedStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
 }
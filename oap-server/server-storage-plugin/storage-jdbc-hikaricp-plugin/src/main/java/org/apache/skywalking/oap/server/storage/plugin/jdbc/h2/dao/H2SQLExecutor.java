@@ -23,10 +23,12 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueMap;
 import org.apache.skywalking.oap.server.core.register.ServiceInstanceInventory;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
 import org.apache.skywalking.oap.server.core.storage.StorageData;
@@ -59,6 +61,38 @@ public class H2SQLExecutor {
         }
     }
 
+    protected List<StorageData> getByIDs(JDBCHikariCPClient h2Client, String modelName, List<String> ids,
+        StorageBuilder storageBuilder) throws IOException {
+        List<StorageData> storageDataList = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return storageDataList;
+        }
+
+        SQLBuilder sql = new SQLBuilder("SELECT * FROM " + modelName + " WHERE id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i == 0) {
+                sql.append("?");
+            } else {
+                sql.append(",?");
+            }
+        }
+        sql.append(")");
+
+        try (Connection connection = h2Client.getConnection()) {
+            try (ResultSet rs = h2Client.executeQuery(connection, sql.toString(), ids.toArray(new Object[0]))) {
+                StorageData storageData;
+                while ((storageData = toStorageData(rs, modelName, storageBuilder)) != null) {
+                    storageDataList.add(storageData);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return storageDataList;
+    }
+
     protected StorageData getByColumn(JDBCHikariCPClient h2Client, String modelName, String columnName, Object value,
         StorageBuilder storageBuilder) throws IOException {
         try (Connection connection = h2Client.getConnection()) {
@@ -78,7 +112,7 @@ public class H2SQLExecutor {
             Map data = new HashMap();
             List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
             for (ModelColumn column : columns) {
-                data.put(column.getColumnName().getName(), rs.getObject(column.getColumnName().getStorageName()));
+                data.put(column.getColumnName().getName(), getValue(rs, column));
             }
             return storageBuilder.map2Data(data);
         }
@@ -100,6 +134,37 @@ public class H2SQLExecutor {
         return Const.NONE;
     }
 
+    protected Map<String, Integer> getEntityIDsByIDs(JDBCHikariCPClient h2Client, String entityColumnName,
+        String modelName, List<String> ids) {
+        Map<String, Integer> entityIDs = new HashMap<>();
+        if (ids.isEmpty()) {
+            return entityIDs;
+        }
+
+        SQLBuilder sql = new SQLBuilder("SELECT ID, " + entityColumnName + " FROM " + modelName + " WHERE ID IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i == 0) {
+                sql.append("?");
+            } else {
+                sql.append(",?");
+            }
+        }
+        sql.append(")");
+
+        try (Connection connection = h2Client.getConnection()) {
+            try (ResultSet rs = h2Client.executeQuery(connection, sql.toString(), ids.toArray(new Object[0]))) {
+                while (rs.next()) {
+                    entityIDs.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(e.getMessage(), e);
+        } catch (JDBCClientException e) {
+            logger.error(e.getMessage(), e);
+        }
+        return entityIDs;
+    }
+
     protected SQLExecutor getInsertExecutor(String modelName, StorageData metrics,
         StorageBuilder storageBuilder) throws IOException {
         Map<String, Object> objectMap = storageBuilder.data2Map(metrics);
@@ -116,12 +181,7 @@ public class H2SQLExecutor {
                 sqlBuilder.append(",");
             }
 
-            Object value = objectMap.get(column.getColumnName().getName());
-            if (value instanceof StorageDataType) {
-                param.add(((StorageDataType)value).toStorageData());
-            } else {
-                param.add(value);
-            }
+            param.add(toParam(objectMap.get(column.getColumnName().getName())));
         }
         sqlBuilder.append(")");
 
@@ -142,16 +202,36 @@ public class H2SQLExecutor {
                 sqlBuilder.append(",");
             }
 
-            Object value = objectMap.get(column.getColumnName().getName());
-            if (value instanceof StorageDataType) {
-                param.add(((StorageDataType)value).toStorageData());
-            } else {
-                param.add(value);
-            }
+            param.add(toParam(objectMap.get(column.getColumnName().getName())));
         }
         sqlBuilder.append(" WHERE id = ?");
         param.add(metrics.id());
 
         return new SQLExecutor(sqlBuilder.toString(), param);
     }
+
+    /**
+     * {@link IntKeyLongValueMap} is saved in the binary column as its packed message, other {@link StorageDataType}s
+     * in text.
+     */
+    private Object toParam(Object value) {
+        if (value instanceof IntKeyLongValueMap) {
+            return ((IntKeyLongValueMap)value).toBytes();
+        } else if (value instanceof StorageDataType) {
+            return ((StorageDataType)value).toStorageData();
+        }
+        return value;
+    }
+
+    /**
+     * The {@link StorageBuilder} reads {@link IntKeyLongValueMap} from its storage data, the Base64 text.
+     */
+    private Object getValue(ResultSet rs, ModelColumn column) throws SQLException {
+        String storageName = column.getColumnName().getStorageName();
+        if (IntKeyLongValueMap.class.equals(column.getType())) {
+            byte[] data = rs.getBytes(storageName);
+            return data == null ? null : Base64.getEncoder().encodeToString(data);
+        }
+        return rs.getObject(storageName);
+    }
 }
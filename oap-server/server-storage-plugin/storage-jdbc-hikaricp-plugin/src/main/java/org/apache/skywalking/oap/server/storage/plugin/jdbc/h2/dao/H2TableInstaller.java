@@ -21,7 +21,11 @@ package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueArray;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueMap;
 import org.apache.skywalking.oap.server.core.storage.StorageException;
 import org.apache.skywalking.oap.server.core.storage.model.ColumnName;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
@@ -60,8 +64,44 @@ public class H2TableInstaller extends ModelInstaller {
         return false;
     }
 
+    /**
+     * The byte array and {@link IntKeyLongValueMap} columns were text in the previous versions, they can't be read as
+     * binary, so the table created by them must be dropped before start.
+     */
     @Override protected void columnCheck(Client client, Model model) throws StorageException {
+        JDBCHikariCPClient h2Client = (JDBCHikariCPClient)client;
+        Map<String, Integer> columnTypes = new HashMap<>();
+        try (Connection conn = h2Client.getConnection()) {
+            // The unquoted names are in upper case in H2.
+            for (String tableName : new String[] {model.getName(), model.getName().toUpperCase()}) {
+                try (ResultSet rset = conn.getMetaData().getColumns(null, null, tableName, null)) {
+                    while (rset.next()) {
+                        columnTypes.put(rset.getString("COLUMN_NAME").toLowerCase(), rset.getInt("DATA_TYPE"));
+                    }
+                }
+                if (!columnTypes.isEmpty()) {
+                    break;
+                }
+            }
+        } catch (SQLException | JDBCClientException e) {
+            throw new StorageException(e.getMessage(), e);
+        }
 
+        for (ModelColumn column : model.getColumns()) {
+            if (!byte[].class.equals(column.getType()) && !IntKeyLongValueMap.class.equals(column.getType())) {
+                continue;
+            }
+            String storageName = column.getColumnName().getStorageName();
+            Integer columnType = columnTypes.get(storageName.toLowerCase());
+            if (columnType != null && !isBinary(columnType)) {
+                throw new StorageException("Column " + storageName + " of table " + model.getName() + " isn't binary, "
+                    + "the table is created by a previous version, drop it before start.");
+            }
+        }
+    }
+
+    private boolean isBinary(int columnType) {
+        return columnType == Types.BLOB || columnType == Types.LONGVARBINARY || columnType == Types.VARBINARY || columnType == Types.BINARY;
     }
 
     @Override protected void deleteTable(Client client, Model model) throws StorageException {
@@ -104,8 +144,10 @@ public class H2TableInstaller extends ModelInstaller {
             return "VARCHAR(2000)";
         } else if (IntKeyLongValueArray.class.equals(type)) {
             return "VARCHAR(20000)";
+        } else if (IntKeyLongValueMap.class.equals(type)) {
+            return "BLOB";
         } else if (byte[].class.equals(type)) {
-            return "VARCHAR(20000)";
+            return "BLOB";
         } else {
             throw new IllegalArgumentException("Unsupported data type: " + type.getName());
         }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2MetricsDAO;
+
+/**
+ * Write metrics by INSERT ... ON DUPLICATE KEY UPDATE, whether they exist or not. All metrics of one model share the
+ * same SQL, so the batch of them is rewritten into multi-row inserts by the MySQL driver, when
+ * rewriteBatchedStatements is enabled in datasource-settings.properties.
+ */
+public class MySQLMetricsDAO extends H2MetricsDAO {
+
+    public MySQLMetricsDAO(JDBCHikariCPClient mysqlClient, StorageBuilder<Metrics> storageBuilder) {
+        super(mysqlClient, storageBuilder);
+    }
+
+    @Override public SQLExecutor prepareBatchInsert(String modelName, Metrics metrics) throws IOException {
+        return getUpsertExecutor(modelName, metrics);
+    }
+
+    @Override public SQLExecutor prepareBatchUpdate(String modelName, Metrics metrics) throws IOException {
+        return getUpsertExecutor(modelName, metrics);
+    }
+
+    private SQLExecutor getUpsertExecutor(String modelName, Metrics metrics) throws IOException {
+        SQLExecutor insertExecutor = getInsertExecutor(modelName, metrics, storageBuilder);
+
+        SQLBuilder sqlBuilder = new SQLBuilder(insertExecutor.getSql());
+        sqlBuilder.append("ON DUPLICATE KEY UPDATE ");
+        List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            String columnName = columns.get(i).getColumnName().getStorageName();
+            sqlBuilder.append(columnName).append("=VALUES(").append(columnName).append(")");
+            if (i != columns.size() - 1) {
+                sqlBuilder.append(",");
+            }
+        }
+
+        return new SQLExecutor(sqlBuilder.toString(), insertExecutor.getParam());
+    }
+}
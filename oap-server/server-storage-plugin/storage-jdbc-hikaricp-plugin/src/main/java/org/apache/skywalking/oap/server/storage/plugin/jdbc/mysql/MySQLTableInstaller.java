@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql;
 import java.sql.Connection;
 import java.sql.SQLException;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueArray;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntKeyLongValueMap;
 import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
 import org.apache.skywalking.oap.server.core.register.RegisterSource;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
@@ -86,8 +87,10 @@ public class MySQLTableInstaller extends H2TableInstaller {
             return "VARCHAR(2000)";
         } else if (IntKeyLongValueArray.class.equals(type)) {
             return "MEDIUMTEXT";
+        } else if (IntKeyLongValueMap.class.equals(type)) {
+            return "MEDIUMBLOB";
         } else if (byte[].class.equals(type)) {
-            return "MEDIUMTEXT";
+            return "MEDIUMBLOB";
         } else {
             throw new IllegalArgumentException("Unsupported data type: " + type.getName());
         }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.Downsampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.*;
+import org.apache.skywalking.oap.server.core.query.entity.Thermodynamic;
+import org.apache.skywalking.oap.server.core.storage.StorageException;
+import org.apache.skywalking.oap.server.core.storage.model.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.junit.*;
+
+public class H2TableInstallerTest {
+
+    private static final String METRICS_NAME = "service_heatmap";
+    private static final String TABLE_NAME = "service_heatmap_hour";
+
+    private JDBCHikariCPClient h2Client;
+    private H2TableInstaller installer;
+    private Model model;
+
+    @Before
+    public void before() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:table-installer-test;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "sa");
+        h2Client = new JDBCHikariCPClient(settings);
+        h2Client.connect();
+        installer = new H2TableInstaller(null);
+
+        List<ModelColumn> columns = new ArrayList<>();
+        columns.add(new ModelColumn(new ColumnName(ThermodynamicMetrics.STEP), int.class, false));
+        columns.add(new ModelColumn(new ColumnName(ThermodynamicMetrics.NUM_OF_STEPS), int.class, false));
+        columns.add(new ModelColumn(new ColumnName(ThermodynamicMetrics.DETAIL_GROUP), IntKeyLongValueMap.class, false));
+        model = new Model(METRICS_NAME, columns, true, 0, Downsampling.Hour);
+
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "DROP TABLE IF EXISTS " + TABLE_NAME);
+        }
+    }
+
+    @Test(expected = StorageException.class)
+    public void testTextHistogramColumnOfPreviousVersion() throws Exception {
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "CREATE TABLE " + TABLE_NAME + " (id VARCHAR(300) PRIMARY KEY, "
+                + ThermodynamicMetrics.STEP + " INT, " + ThermodynamicMetrics.NUM_OF_STEPS + " INT, "
+                + ThermodynamicMetrics.DETAIL_GROUP + " VARCHAR(20000))");
+        }
+        installer.columnCheck(h2Client, model);
+    }
+
+    @Test
+    public void testBinaryHistogramColumn() throws Exception {
+        installer.createTable(h2Client, model);
+        installer.columnCheck(h2Client, model);
+
+        IntKeyLongValueMap detailGroup = new IntKeyLongValueMap();
+        detailGroup.put(0, 3);
+        detailGroup.put(2, 5);
+        try (Connection connection = h2Client.getConnection()) {
+            new SQLExecutor("INSERT INTO " + TABLE_NAME + " VALUES (?, ?, ?, ?)",
+                Arrays.asList("2019060821_1", 100, 2, detailGroup.toBytes())).invoke(connection);
+        }
+
+        Thermodynamic thermodynamic = new H2MetricsQueryDAO(h2Client).getThermodynamic(METRICS_NAME, Downsampling.Hour,
+            Arrays.asList("2019060821_1", "2019060822_1"), ThermodynamicMetrics.DETAIL_GROUP);
+        Assert.assertFalse(thermodynamic.isAbsent(0));
+        Assert.assertTrue(thermodynamic.isAbsent(1));
+        Assert.assertEquals(Arrays.asList(0L, 0L, 3L), thermodynamic.getNodes().get(0));
+        Assert.assertEquals(Arrays.asList(0L, 2L, 5L), thermodynamic.getNodes().get(2));
+    }
+}
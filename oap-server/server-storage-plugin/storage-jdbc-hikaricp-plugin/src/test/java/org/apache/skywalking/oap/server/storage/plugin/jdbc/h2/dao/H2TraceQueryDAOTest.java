@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.io.IOException;
+import java.sql.*;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.junit.*;
+
+public class H2TraceQueryDAOTest {
+
+    private JDBCHikariCPClient h2Client;
+    private H2TraceQueryDAO traceQueryDAO;
+
+    @Before
+    public void before() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:trace-query-test;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "sa");
+        h2Client = new JDBCHikariCPClient(settings);
+        h2Client.connect();
+        traceQueryDAO = new H2TraceQueryDAO(h2Client);
+
+        try (Connection connection = h2Client.getConnection()) {
+            h2Client.execute(connection, "DROP TABLE IF EXISTS " + SegmentRecord.INDEX_NAME);
+            h2Client.execute(connection, "CREATE TABLE " + SegmentRecord.INDEX_NAME + " (id VARCHAR(300) PRIMARY KEY, "
+                + SegmentRecord.SEGMENT_ID + " VARCHAR(2000), " + SegmentRecord.TRACE_ID + " VARCHAR(2000), "
+                + SegmentRecord.SERVICE_ID + " INT, " + SegmentRecord.SERVICE_INSTANCE_ID + " INT, "
+                + SegmentRecord.ENDPOINT_NAME + " VARCHAR(2000), " + SegmentRecord.ENDPOINT_ID + " INT, "
+                + SegmentRecord.START_TIME + " BIGINT, " + SegmentRecord.END_TIME + " BIGINT, "
+                + SegmentRecord.LATENCY + " INT, " + SegmentRecord.IS_ERROR + " INT, "
+                + SegmentRecord.TIME_BUCKET + " BIGINT, " + SegmentRecord.DATA_BINARY + " BLOB, "
+                + SegmentRecord.VERSION + " INT)");
+        }
+    }
+
+    @Test
+    public void queryByTraceId() throws Exception {
+        byte[] dataBinary = new byte[4096];
+        for (int i = 0; i < dataBinary.length; i++) {
+            dataBinary[i] = (byte)(i % 7);
+        }
+        insert(newSegmentRecord("1.2.3", dataBinary));
+        insert(newSegmentRecord("1.2.4", null));
+
+        List<SegmentRecord> segmentRecords = traceQueryDAO.queryByTraceId("4.5.6");
+        Assert.assertEquals(2, segmentRecords.size());
+        segmentRecords.sort(Comparator.comparing(SegmentRecord::getSegmentId));
+
+        SegmentRecord segmentRecord = segmentRecords.get(0);
+        Assert.assertEquals("1.2.3", segmentRecord.getSegmentId());
+        Assert.assertEquals("4.5.6", segmentRecord.getTraceId());
+        Assert.assertEquals(2, segmentRecord.getServiceId());
+        Assert.assertEquals("/order/create", segmentRecord.getEndpointName());
+        Assert.assertEquals(1560000000000L, segmentRecord.getStartTime());
+        Assert.assertEquals(1560000000123L, segmentRecord.getEndTime());
+        Assert.assertEquals(123, segmentRecord.getLatency());
+        Assert.assertEquals(1, segmentRecord.getIsError());
+        Assert.assertEquals(2, segmentRecord.getVersion());
+        Assert.assertArrayEquals(dataBinary, segmentRecord.getDataBinary());
+
+        Assert.assertEquals("1.2.4", segmentRecords.get(1).getSegmentId());
+        Assert.assertNull(segmentRecords.get(1).getDataBinary());
+    }
+
+    @Test
+    public void queryBasicTraces() throws Exception {
+        insert(newSegmentRecord("1.2.3", new byte[] {1, 2, 3}));
+
+        TraceBrief traceBrief = traceQueryDAO.queryBasicTraces(0, 0, 0, 0, null, 0, 0, 0, null, 20, 0, TraceState.ALL, QueryOrder.BY_START_TIME);
+        Assert.assertEquals(1, traceBrief.getTotal());
+        BasicTrace basicTrace = traceBrief.getTraces().get(0);
+        Assert.assertEquals("1.2.3", basicTrace.getSegmentId());
+        Assert.assertEquals("1560000000000", basicTrace.getStart());
+        Assert.assertEquals("/order/create", basicTrace.getEndpointNames().get(0));
+        Assert.assertEquals(123, basicTrace.getDuration());
+        Assert.assertTrue(basicTrace.isError());
+        Assert.assertEquals("4.5.6", basicTrace.getTraceIds().get(0));
+    }
+
+    private SegmentRecord newSegmentRecord(String segmentId, byte[] dataBinary) {
+        SegmentRecord segmentRecord = new SegmentRecord();
+        segmentRecord.setSegmentId(segmentId);
+        segmentRecord.setTraceId("4.5.6");
+        segmentRecord.setServiceId(2);
+        segmentRecord.setServiceInstanceId(3);
+        segmentRecord.setEndpointName("/order/create");
+        segmentRecord.setEndpointId(4);
+        segmentRecord.setStartTime(1560000000000L);
+        segmentRecord.setEndTime(1560000000123L);
+        segmentRecord.setLatency(123);
+        segmentRecord.setIsError(1);
+        segmentRecord.setTimeBucket(20190608212000L);
+        segmentRecord.setDataBinary(dataBinary);
+        segmentRecord.setVersion(2);
+        return segmentRecord;
+    }
+
+    private void insert(SegmentRecord segmentRecord) throws SQLException, IOException {
+        Map<String, Object> values = new SegmentRecord.Builder().data2Map(segmentRecord);
+        StringBuilder columns = new StringBuilder("id");
+        StringBuilder placeholders = new StringBuilder("?");
+        List<Object> params = new ArrayList<>();
+        params.add(segmentRecord.id());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            columns.append(", ").append(entry.getKey());
+            placeholders.append(", ?");
+            params.add(entry.getValue());
+        }
+
+        try (Connection connection = h2Client.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO " + SegmentRecord.INDEX_NAME + " (" + columns + ") VALUES (" + placeholders + ")")) {
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            statement.execute();
+        }
+    }
+}